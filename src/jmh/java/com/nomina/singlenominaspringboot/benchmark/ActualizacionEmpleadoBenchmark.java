@@ -0,0 +1,144 @@
+package com.nomina.singlenominaspringboot.benchmark;
+
+import com.nomina.singlenominaspringboot.SingleNominaSpringBootApplication;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.service.EmpleadoService;
+import com.nomina.singlenominaspringboot.service.IndiceBusquedaEmpleados;
+import com.nomina.singlenominaspringboot.service.InstantaneaEmpleados;
+import com.nomina.singlenominaspringboot.service.ResumenNominasService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las escrituras de empleados (alta, modificación y baja) sobre una base de datos H2 embebida en modo
+ * MariaDB. Además del tiempo, cada benchmark cuenta con las estadísticas de Hibernate las sentencias preparadas y
+ * las transacciones confirmadas, que JMH muestra junto a las operaciones de la iteración: dividiendo "sentencias" y
+ * "transacciones" entre "operaciones" se obtiene el número de idas y vueltas y de commits por escritura.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActualizacionEmpleadoBenchmark {
+
+    private static final int EMPLEADOS = 1000;
+
+    private static final long ID_NOMINAS_INICIALES = 1_000_000_000L;
+
+    private ConfigurableApplicationContext contexto;
+
+    private EmpleadoService empleadoService;
+
+    private Statistics estadisticas;
+
+    private int contador;
+
+    @Setup(Level.Trial)
+    public void arranca() {
+        this.contexto = new SpringApplicationBuilder(SingleNominaSpringBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true")
+                .run();
+        this.empleadoService = this.contexto.getBean(EmpleadoService.class);
+        this.estadisticas = this.contexto.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        JdbcTemplate jdbcTemplate = this.contexto.getBean(JdbcTemplate.class);
+        List<Object[]> filasEmpleados = new ArrayList<>();
+        List<Object[]> filasNominas = new ArrayList<>();
+        for (int i = 0; i < EMPLEADOS; i++) {
+            String dni = String.format("%08dA", i);
+            filasEmpleados.add(new Object[]{dni, "Empleado " + i, i % 2 == 0 ? "F" : "M", 1, 0});
+            // Identificadores lejos de los que reserva la secuencia para las altas del benchmark
+            filasNominas.add(new Object[]{ID_NOMINAS_INICIALES + i, dni, 50000.0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO empleados (dni, nombre, sexo, categoria, anyos, estado_empleado)"
+                + " VALUES (?, ?, ?, ?, ?, TRUE)", filasEmpleados);
+        jdbcTemplate.batchUpdate("INSERT INTO nominas (id, dni, salario) VALUES (?, ?, ?)", filasNominas);
+        this.contexto.getBean(IndiceBusquedaEmpleados.class).reconstruye();
+        this.contexto.getBean(InstantaneaEmpleados.class).reconstruye();
+        this.contexto.getBean(ResumenNominasService.class).reconcilia();
+    }
+
+    @TearDown(Level.Trial)
+    public void cierra() {
+        this.contexto.close();
+    }
+
+    /**
+     * Contadores de sentencias y transacciones acumulados durante cada iteración.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Contadores {
+
+        public long operaciones;
+
+        public long sentencias;
+
+        public long transacciones;
+
+        @Setup(Level.Iteration)
+        public void reinicia() {
+            this.operaciones = 0;
+            this.sentencias = 0;
+            this.transacciones = 0;
+        }
+    }
+
+    @Benchmark
+    public Empleado actualizaEmpleado(Contadores contadores) throws DatosNoCorrectosException {
+        int i = this.contador++;
+        Empleado empl = new Empleado("Empleado " + i % EMPLEADOS, String.format("%08dA", i % EMPLEADOS),
+                "F", 1 + i % 9, i % 30);
+        return this.mide(contadores, () -> this.empleadoService.actualizaEmpleado(empl));
+    }
+
+    @Benchmark
+    public Empleado registraYEliminaEmpleado(Contadores contadores) throws DatosNoCorrectosException {
+        String dni = String.format("%08dB", this.contador++ % EMPLEADOS);
+        Empleado empl = new Empleado("Nuevo", dni, "M", 2, 1);
+        this.mide(contadores, () -> this.empleadoService.registraEmpleado(empl));
+        return this.mide(contadores, () -> this.empleadoService.eliminarEmpleado(dni));
+    }
+
+    private interface Escritura {
+        Empleado ejecuta();
+    }
+
+    private Empleado mide(Contadores contadores, Escritura escritura) {
+        long sentencias = this.estadisticas.getPrepareStatementCount();
+        long transacciones = this.estadisticas.getSuccessfulTransactionCount();
+        Empleado empleado = escritura.ejecuta();
+        contadores.operaciones++;
+        contadores.sentencias += this.estadisticas.getPrepareStatementCount() - sentencias;
+        contadores.transacciones += this.estadisticas.getSuccessfulTransactionCount() - transacciones;
+        return empleado;
+    }
+}
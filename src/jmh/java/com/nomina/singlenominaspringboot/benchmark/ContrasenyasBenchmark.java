@@ -0,0 +1,51 @@
+package com.nomina.singlenominaspringboot.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la comprobación de la contraseña de un login con BCrypt para varios costes. El tiempo de cada
+ * comprobación es el tiempo de CPU que consume cada login, con el que dimensionar los núcleos necesarios para atender
+ * los logins simultáneos de un cambio de turno con el coste configurado en "nominas.contrasenyas.coste-bcrypt".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContrasenyasBenchmark {
+
+    private static final String CONTRASENYA = "contraseña del administrador";
+
+    @Param({"8", "10", "12"})
+    private int coste;
+
+    private BCryptPasswordEncoder codificador;
+
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void prepara() {
+        this.codificador = new BCryptPasswordEncoder(this.coste);
+        this.hash = this.codificador.encode(CONTRASENYA);
+    }
+
+    @Benchmark
+    public boolean compruebaContrasenya() {
+        return this.codificador.matches(CONTRASENYA, this.hash);
+    }
+}
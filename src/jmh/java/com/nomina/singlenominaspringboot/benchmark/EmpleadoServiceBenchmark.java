@@ -0,0 +1,134 @@
+package com.nomina.singlenominaspringboot.benchmark;
+
+import com.nomina.singlenominaspringboot.SingleNominaSpringBootApplication;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EmpleadoListado;
+import com.nomina.singlenominaspringboot.model.PaginaEmpleados;
+import com.nomina.singlenominaspringboot.repository.EmpleadoRepository;
+import com.nomina.singlenominaspringboot.service.EmpleadoService;
+import com.nomina.singlenominaspringboot.service.IndiceBusquedaEmpleados;
+import com.nomina.singlenominaspringboot.service.InstantaneaEmpleados;
+import com.nomina.singlenominaspringboot.service.ResumenNominasService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las consultas de empleados con ida y vuelta a la base de datos, sobre una base de datos H2 embebida
+ * en modo MariaDB con la configuración de los tests y el número de empleados indicado en el parámetro "empleados".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmpleadoServiceBenchmark {
+
+    // Valor de ejemplo para cada campo por el que se puede filtrar el listado
+    private static final Map<String, String> VALORES = Map.of(
+            "todos", "",
+            "sexo", "F",
+            "categoria", "5",
+            "salario", "150000",
+            "anyos", "12",
+            "nombre", "empleado 12",
+            "dni", "0001");
+
+    @Param({"10000"})
+    private int empleados;
+
+    private ConfigurableApplicationContext contexto;
+
+    private EmpleadoService empleadoService;
+
+    private EmpleadoRepository empleadoRepository;
+
+    private int contador;
+
+    @Setup(Level.Trial)
+    public void arranca() {
+        this.contexto = new SpringApplicationBuilder(SingleNominaSpringBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        this.empleadoService = this.contexto.getBean(EmpleadoService.class);
+        this.empleadoRepository = this.contexto.getBean(EmpleadoRepository.class);
+        JdbcTemplate jdbcTemplate = this.contexto.getBean(JdbcTemplate.class);
+        List<Object[]> filasEmpleados = new ArrayList<>();
+        List<Object[]> filasNominas = new ArrayList<>();
+        for (int i = 0; i < this.empleados; i++) {
+            String dni = String.format("%08dA", i);
+            int categoria = 1 + i % 9;
+            int anyos = i % 30;
+            filasEmpleados.add(new Object[]{dni, "Empleado " + i, i % 2 == 0 ? "F" : "M", categoria, anyos});
+            filasNominas.add(new Object[]{i + 1, dni, 50000.0 + 20000 * (categoria - 1) + 5000 * anyos});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO empleados (dni, nombre, sexo, categoria, anyos, estado_empleado)"
+                + " VALUES (?, ?, ?, ?, ?, TRUE)", filasEmpleados);
+        jdbcTemplate.batchUpdate("INSERT INTO nominas (id, dni, salario) VALUES (?, ?, ?)", filasNominas);
+        this.contexto.getBean(IndiceBusquedaEmpleados.class).reconstruye();
+        this.contexto.getBean(InstantaneaEmpleados.class).reconstruye();
+        this.contexto.getBean(ResumenNominasService.class).reconcilia();
+    }
+
+    @TearDown(Level.Trial)
+    public void cierra() {
+        this.contexto.close();
+    }
+
+    /**
+     * Campo por el que se filtra el listado, separado del estado principal para que sólo multiplique las ejecuciones
+     * del benchmark del listado.
+     */
+    @State(Scope.Benchmark)
+    public static class Filtro {
+
+        @Param({"todos", "sexo", "categoria", "salario", "anyos", "nombre", "dni"})
+        private String campo;
+    }
+
+    @Benchmark
+    public List<EmpleadoListado> obtenerListaEmpleados(Filtro filtro) {
+        return this.empleadoService.obtenerListaEmpleados(filtro.campo, VALORES.get(filtro.campo));
+    }
+
+    @Benchmark
+    public PaginaEmpleados obtenerPaginaEmpleados() {
+        String desde = String.format("%08dA", this.contador++ % this.empleados);
+        return this.empleadoService.obtenerPaginaEmpleados(desde, null, EmpleadoService.TAMANYO_PAGINA_DEFECTO);
+    }
+
+    @Benchmark
+    public Optional<Empleado> obtenerEmpleadoPorDni() {
+        return this.empleadoService.obtenerEmpleadoPorDni(String.format("%08dA", this.contador++ % this.empleados));
+    }
+
+    @Benchmark
+    public Optional<Empleado> buscaEmpleadoPorDni() {
+        return this.empleadoRepository.findByDniAndEstadoEmpleadoIsTrue(String.format("%08dA", this.contador++ % this.empleados));
+    }
+}
@@ -0,0 +1,82 @@
+package com.nomina.singlenominaspringboot.benchmark;
+
+import com.nomina.singlenominaspringboot.model.EmpleadoListado;
+import com.nomina.singlenominaspringboot.model.PaginaEmpleados;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del renderizado con Thymeleaf de la plantilla "content/listado-empleados.html" con el número de empleados
+ * indicado en el parámetro "empleados", usando el mismo motor de plantillas con SpEL que la aplicación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListadoEmpleadosBenchmark {
+
+    @Param({"10000"})
+    private int empleados;
+
+    private SpringTemplateEngine motor;
+
+    private WebContext contexto;
+
+    @Setup(Level.Trial)
+    public void prepara() {
+        ClassLoaderTemplateResolver resolutor = new ClassLoaderTemplateResolver();
+        resolutor.setPrefix("templates/");
+        resolutor.setTemplateMode(TemplateMode.HTML);
+        resolutor.setCharacterEncoding("UTF-8");
+        resolutor.setCacheable(true);
+        this.motor = new SpringTemplateEngine();
+        this.motor.setTemplateResolver(resolutor);
+
+        List<EmpleadoListado> listaEmpleados = new ArrayList<>();
+        for (int i = 0; i < this.empleados; i++) {
+            listaEmpleados.add(new EmpleadoListado(String.format("%08dA", i), "Empleado " + i, i % 2 == 0 ? "F" : "M",
+                    1 + i % 9, (double) (i % 30)));
+        }
+
+        MockServletContext contextoServlet = new MockServletContext();
+        this.contexto = new WebContext(JakartaServletWebApplication.buildApplication(contextoServlet)
+                .buildExchange(new MockHttpServletRequest(contextoServlet), new MockHttpServletResponse()), Locale.getDefault());
+        this.contexto.setVariable("usuarioCreado", false);
+        this.contexto.setVariable("paginaActual", "listado");
+        this.contexto.setVariable("listaEmpleados", listaEmpleados);
+        this.contexto.setVariable("pagina", new PaginaEmpleados(listaEmpleados, listaEmpleados.size(), true, true));
+    }
+
+    @Benchmark
+    public int renderizaListado() {
+        StringWriter salida = new StringWriter(1 << 20);
+        this.motor.process("content/listado-empleados.html", this.contexto, salida);
+        return salida.getBuffer().length();
+    }
+}
@@ -0,0 +1,70 @@
+package com.nomina.singlenominaspringboot.benchmark;
+
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.Nomina;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del cálculo del sueldo de una nómina y del alta de un empleado en memoria (construcción y validación
+ * de sus restricciones), sin acceso a la base de datos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NominaBenchmark {
+
+    private ValidatorFactory factoriaValidacion;
+
+    private Validator validador;
+
+    private Nomina nomina;
+
+    private int contador;
+
+    @Setup(Level.Trial)
+    public void prepara() throws DatosNoCorrectosException {
+        this.factoriaValidacion = Validation.buildDefaultValidatorFactory();
+        this.validador = this.factoriaValidacion.getValidator();
+        this.nomina = new Nomina();
+        this.nomina.setEmpleado(new Empleado("Empleado", "00000001A", "F", 5, 12));
+    }
+
+    @TearDown(Level.Trial)
+    public void cierra() {
+        this.factoriaValidacion.close();
+    }
+
+    @Benchmark
+    public double calculaSueldo() {
+        return this.nomina.calculaSueldo();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Empleado>> construyeYValidaEmpleado() throws DatosNoCorrectosException {
+        int i = this.contador++;
+        Empleado empl = new Empleado("Empleado " + i, String.format("%08dA", i % 100_000_000), "M", 1 + i % 9, i % 30);
+        return this.validador.validate(empl);
+    }
+}
@@ -0,0 +1,262 @@
+package com.nomina.singlenominaspringboot.benchmark;
+
+import com.nomina.singlenominaspringboot.SingleNominaSpringBootApplication;
+import com.nomina.singlenominaspringboot.config.HilosVirtualesConfig;
+import com.nomina.singlenominaspringboot.service.InstantaneaEmpleados;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga que compara el rendimiento y la latencia p99 de la aplicación con hilos de plataforma y con hilos
+ * virtuales en los flujos de listado de empleados y de consulta de salario.
+ * Para cada modo arranca la aplicación sobre la base de datos H2 de los tests, con una latencia fija añadida a cada
+ * sentencia SQL para simular la red hasta MariaDB, e inicia sesión con un administrador de prueba. Después lanza un
+ * número fijo de clientes concurrentes que repiten las peticiones sin pausa durante el tiempo indicado, descartando
+ * el calentamiento inicial. El modo virtual sólo se ejecuta si la máquina virtual lo admite (Java 21 o superior).
+ * Se configura con las propiedades del sistema "carga.clientes", "carga.segundos", "carga.calentamiento",
+ * "carga.latencia-bd-ms", "carga.empleados" y "carga.pool", y los resultados se guardan en JSON en "carga.resultados".
+ */
+public class PruebaCargaHilos {
+
+    private static final String[] FLUJOS = {"listado", "consulta"};
+
+    private static final String ADMIN_DNI = "00000000T";
+
+    private static final String ADMIN_EMAIL = "carga@nominas.com";
+
+    private static final String ADMIN_CONTRASENYA = "carga";
+
+    public static void main(String[] args) throws Exception {
+        int clientes = Integer.getInteger("carga.clientes", 400);
+        int segundos = Integer.getInteger("carga.segundos", 30);
+        int calentamiento = Integer.getInteger("carga.calentamiento", 10);
+        int empleados = Integer.getInteger("carga.empleados", 10000);
+        Path resultados = Path.of(System.getProperty("carga.resultados", "target/carga-hilos.json"));
+
+        List<String> json = new ArrayList<>();
+        System.out.printf("%-10s %-9s %12s %10s %10s %10s%n", "modo", "flujo", "peticiones/s", "p50 ms", "p99 ms", "errores");
+        for (boolean virtual : new boolean[]{false, true}) {
+            if (virtual && !HilosVirtualesConfig.disponibles()) {
+                System.out.println("Modo virtual omitido: requiere Java 21 o superior (versión actual: " + Runtime.version() + ")");
+                continue;
+            }
+            String modo = virtual ? "virtual" : "plataforma";
+            try (ConfigurableApplicationContext contexto = arranca(virtual, empleados)) {
+                int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+                Resultado[] medidos = mide(puerto, clientes, calentamiento, segundos, empleados);
+                for (int i = 0; i < FLUJOS.length; i++) {
+                    Resultado resultado = medidos[i];
+                    double porSegundo = resultado.latencias.size() / (double) segundos;
+                    System.out.printf(Locale.ROOT, "%-10s %-9s %12.1f %10.2f %10.2f %10d%n", modo, FLUJOS[i],
+                            porSegundo, resultado.percentil(50), resultado.percentil(99), resultado.errores);
+                    json.add(String.format(Locale.ROOT, "{\"modo\":\"%s\",\"flujo\":\"%s\",\"clientes\":%d,"
+                                    + "\"peticionesPorSegundo\":%.1f,\"p50Ms\":%.3f,\"p99Ms\":%.3f,\"errores\":%d}",
+                            modo, FLUJOS[i], clientes, porSegundo, resultado.percentil(50), resultado.percentil(99),
+                            resultado.errores));
+                }
+            }
+        }
+        Files.createDirectories(resultados.toAbsolutePath().getParent());
+        try (PrintWriter salida = new PrintWriter(Files.newBufferedWriter(resultados))) {
+            salida.println("[" + String.join(",\n", json) + "]");
+        }
+        System.out.println("Resultados guardados en " + resultados.toAbsolutePath());
+    }
+
+    /**
+     * Arranca la aplicación en un puerto libre en el modo indicado y carga los datos de prueba.
+     *
+     * @param virtual   true para atender las peticiones con hilos virtuales.
+     * @param empleados El número de empleados a cargar.
+     * @return El contexto de la aplicación arrancada.
+     */
+    private static ConfigurableApplicationContext arranca(boolean virtual, int empleados) {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(
+                SingleNominaSpringBootApplication.class, LatenciaBaseDatos.class)
+                .properties("server.port=0",
+                        "management.server.port=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.jpa.open-in-view=false",
+                        "spring.datasource.hikari.maximum-pool-size=" + Integer.getInteger("carga.pool", 40),
+                        "spring.datasource.url=jdbc:h2:mem:carga-" + (virtual ? "virtual" : "plataforma")
+                                + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "nominas.hilos-virtuales.habilitados=" + virtual)
+                .run();
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO administradores (dni, email, contrasenya) VALUES (?, ?, ?)",
+                ADMIN_DNI, ADMIN_EMAIL, contexto.getBean(BCryptPasswordEncoder.class).encode(ADMIN_CONTRASENYA));
+        List<Object[]> filasEmpleados = new ArrayList<>();
+        List<Object[]> filasNominas = new ArrayList<>();
+        for (int i = 0; i < empleados; i++) {
+            String dni = String.format("%08dA", i);
+            int categoria = 1 + i % 9;
+            int anyos = i % 30;
+            filasEmpleados.add(new Object[]{dni, "Empleado " + i, i % 2 == 0 ? "F" : "M", categoria, anyos});
+            filasNominas.add(new Object[]{i + 1, dni, 50000.0 + 20000 * (categoria - 1) + 5000 * anyos});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO empleados (dni, nombre, sexo, categoria, anyos, estado_empleado)"
+                + " VALUES (?, ?, ?, ?, ?, TRUE)", filasEmpleados);
+        jdbcTemplate.batchUpdate("INSERT INTO nominas (id, dni, salario) VALUES (?, ?, ?)", filasNominas);
+        contexto.getBean(InstantaneaEmpleados.class).reconstruye();
+        return contexto;
+    }
+
+    /**
+     * Inicia sesión y lanza los clientes concurrentes, que alternan una petición del listado y una consulta de salario
+     * de un empleado al azar. Sólo se registran las peticiones que empiezan después del calentamiento.
+     *
+     * @return Los resultados de cada flujo, en el orden de FLUJOS.
+     */
+    private static Resultado[] mide(int puerto, int clientes, int calentamiento, int segundos, int empleados)
+            throws IOException, InterruptedException {
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager())
+                .build();
+        String base = "http://localhost:" + puerto + "/index";
+        cliente.send(HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("opcion=login&dni=" + ADMIN_DNI + "&email=" + ADMIN_EMAIL
+                        + "&contrasenya=" + ADMIN_CONTRASENYA))
+                .build(), HttpResponse.BodyHandlers.discarding());
+
+        long inicioMedida = System.nanoTime() + TimeUnit.SECONDS.toNanos(calentamiento);
+        long fin = inicioMedida + TimeUnit.SECONDS.toNanos(segundos);
+        Resultado[][] parciales = new Resultado[clientes][];
+        CountDownLatch terminados = new CountDownLatch(clientes);
+        for (int c = 0; c < clientes; c++) {
+            int numero = c;
+            Thread hilo = new Thread(() -> {
+                Resultado[] propios = {new Resultado(), new Resultado()};
+                parciales[numero] = propios;
+                try {
+                    for (int i = 0; System.nanoTime() < fin; i++) {
+                        int flujo = i % 2;
+                        String uri = flujo == 0 ? base + "?opcion=listado"
+                                : base + "?opcion=consulta&dni=" + String.format("%08dA", ThreadLocalRandom.current().nextInt(empleados));
+                        long inicio = System.nanoTime();
+                        boolean correcta;
+                        try {
+                            correcta = cliente.send(HttpRequest.newBuilder(URI.create(uri)).build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (IOException e) {
+                            correcta = false;
+                        }
+                        if (inicio >= inicioMedida) {
+                            propios[flujo].registra(System.nanoTime() - inicio, correcta);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    terminados.countDown();
+                }
+            }, "cliente-carga-" + c);
+            hilo.start();
+        }
+        terminados.await();
+
+        Resultado[] totales = {new Resultado(), new Resultado()};
+        for (Resultado[] propios : parciales) {
+            for (int i = 0; i < totales.length; i++) {
+                totales[i].latencias.addAll(propios[i].latencias);
+                totales[i].errores += propios[i].errores;
+            }
+        }
+        return totales;
+    }
+
+    /**
+     * Latencias en nanosegundos de las peticiones correctas de un flujo y número de peticiones fallidas.
+     */
+    private static class Resultado {
+
+        private final List<Long> latencias = new ArrayList<>();
+
+        private long errores;
+
+        private void registra(long nanos, boolean correcta) {
+            if (correcta) {
+                this.latencias.add(nanos);
+            } else {
+                this.errores++;
+            }
+        }
+
+        private double percentil(int percentil) {
+            if (this.latencias.isEmpty()) {
+                return 0;
+            }
+            long[] ordenadas = this.latencias.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(ordenadas);
+            int posicion = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, posicion)] / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Añade una espera fija antes de cada sentencia SQL para simular la latencia de red hasta la base de datos, que
+     * es lo que mantiene bloqueado el hilo de la petición durante las llamadas JDBC.
+     */
+    @Configuration
+    static class LatenciaBaseDatos {
+
+        @Bean
+        static BeanPostProcessor latenciaDataSource() {
+            long latencia = Long.getLong("carga.latencia-bd-ms", 5);
+            QueryExecutionListener espera = new QueryExecutionListener() {
+                @Override
+                public void beforeQuery(ExecutionInfo ejecucion, List<QueryInfo> sentencias) {
+                    try {
+                        Thread.sleep(latencia);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void afterQuery(ExecutionInfo ejecucion, List<QueryInfo> sentencias) {
+                }
+            };
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nombre) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(nombre, dataSource).listener(espera).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.nomina.singlenominaspringboot.benchmark;
+
+import com.nomina.singlenominaspringboot.model.EscenarioSalarial;
+import com.nomina.singlenominaspringboot.model.PlantillaSalarial;
+import com.nomina.singlenominaspringboot.model.ResultadoSimulacion;
+import com.nomina.singlenominaspringboot.model.TablaSalarial;
+import com.nomina.singlenominaspringboot.service.SimulacionSalarialService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la simulación de una escala salarial sobre una plantilla en memoria, sin base de datos ni contexto de
+ * Spring, con una subida del sueldo base de todas las categorías y la promoción de la categoría 1 a la 2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimulacionSalarialBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int empleados;
+
+    private final SimulacionSalarialService simulacionService = new SimulacionSalarialService();
+
+    private PlantillaSalarial plantilla;
+
+    private EscenarioSalarial escenario;
+
+    @Setup(Level.Trial)
+    public void prepara() {
+        int[] categorias = new int[this.empleados];
+        double[] anyos = new double[this.empleados];
+        double[] salarios = new double[this.empleados];
+        for (int i = 0; i < this.empleados; i++) {
+            categorias[i] = 1 + i % 9;
+            anyos[i] = i % 30;
+            salarios[i] = TablaSalarial.INICIAL.calculaSueldo(categorias[i], anyos[i]);
+        }
+        this.plantilla = new PlantillaSalarial(categorias, anyos, salarios);
+        int[] sueldos = TablaSalarial.INICIAL.getSueldosBase();
+        for (int categoria = 0; categoria < sueldos.length; categoria++) {
+            sueldos[categoria] += 1500;
+        }
+        this.escenario = new EscenarioSalarial(sueldos, 5200, Map.of(1, 2));
+    }
+
+    @Benchmark
+    public ResultadoSimulacion simula() {
+        return this.simulacionService.simula(this.plantilla, this.escenario);
+    }
+}
@@ -2,8 +2,10 @@ package com.nomina.singlenominaspringboot;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SingleNominaSpringBootApplication {
 
     public static void main(String[] args) {
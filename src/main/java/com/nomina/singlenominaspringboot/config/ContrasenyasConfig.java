@@ -0,0 +1,23 @@
+package com.nomina.singlenominaspringboot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@Configuration
+public class ContrasenyasConfig {
+
+    /**
+     * Codificador de las contraseñas de los administradores con BCrypt, que genera una sal aleatoria por contraseña y la
+     * guarda junto al hash. El coste ("nominas.contrasenyas.coste-bcrypt", entre 4 y 31) es el logaritmo en base 2 del
+     * número de rondas: cada unidad más duplica el tiempo de CPU de cada login.
+     *
+     * @param coste El coste de BCrypt.
+     * @return El codificador de contraseñas.
+     */
+    @Bean
+    public BCryptPasswordEncoder codificadorContrasenyas(@Value("${nominas.contrasenyas.coste-bcrypt:10}") int coste) {
+        return new BCryptPasswordEncoder(coste);
+    }
+}
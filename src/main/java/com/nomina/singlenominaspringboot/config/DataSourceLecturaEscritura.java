@@ -0,0 +1,196 @@
+package com.nomina.singlenominaspringboot.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource que envía las transacciones de sólo lectura a la réplica y todo lo demás a la base de datos principal.
+ * La conexión real se pide en la primera sentencia, cuando ya se sabe si la transacción es de sólo lectura.
+ * Tras confirmar una transacción de escritura en una petición web, las lecturas de esa petición y las de la misma
+ * sesión durante la ventana indicada se siguen enviando a la principal, para que quien ha escrito lea lo que acaba de
+ * escribir aunque la réplica aún no lo haya recibido; las lecturas de los demás usuarios y de los procesos en segundo
+ * plano siguen yendo a la réplica. El fin de la ventana se guarda en la sesión con la hora del sistema, de modo que se
+ * respeta aunque la siguiente petición la atienda otra instancia. Si la réplica no entrega una conexión, la lectura se
+ * hace en la principal y no se vuelve a intentar la réplica hasta pasada la espera de reintento.
+ */
+public class DataSourceLecturaEscritura extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final String PRINCIPAL = "principal";
+
+    private static final String REPLICA = "replica";
+
+    // Atributo de la petición que indica que ha escrito y de la sesión con el fin de su ventana de escritura (en ms)
+    private static final String ATRIBUTO_VENTANA_ESCRITURA = DataSourceLecturaEscritura.class.getName() + ".ventanaEscritura";
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceLecturaEscritura.class);
+
+    private final DataSource principal;
+
+    private final DataSource replica;
+
+    private final long ventanaEscrituraMs;
+
+    private final long esperaReintentoNanos;
+
+    private volatile long replicaNoDisponibleHasta;
+
+    private volatile boolean replicaNoDisponible;
+
+    /**
+     * Crea el DataSource a partir de los de la base de datos principal y la réplica.
+     *
+     * @param principal              DataSource de la base de datos principal.
+     * @param replica                DataSource de la réplica de lectura.
+     * @param ventanaEscrituraMs     Milisegundos tras una escritura durante los que las lecturas de la misma sesión van
+     *                               a la principal, o 0 para no enviarlas.
+     * @param esperaReintentoMs      Milisegundos sin usar la réplica tras un fallo al conectar con ella.
+     */
+    public DataSourceLecturaEscritura(DataSource principal, DataSource replica, long ventanaEscrituraMs,
+                                      long esperaReintentoMs) {
+        this.principal = principal;
+        this.replica = replica;
+        this.ventanaEscrituraMs = ventanaEscrituraMs;
+        this.esperaReintentoNanos = TimeUnit.MILLISECONDS.toNanos(esperaReintentoMs);
+        Enrutador enrutador = new Enrutador();
+        enrutador.setTargetDataSources(Map.of(PRINCIPAL, principal, REPLICA, replica));
+        enrutador.setDefaultTargetDataSource(principal);
+        enrutador.afterPropertiesSet();
+        this.setTargetDataSource(enrutador);
+        this.afterPropertiesSet();
+    }
+
+    /**
+     * Obtiene el DataSource de la base de datos principal, sin enrutado.
+     *
+     * @return El DataSource de la base de datos principal.
+     */
+    public DataSource getPrincipal() {
+        return this.principal;
+    }
+
+    /**
+     * Cierra los DataSource de la principal y la réplica si se pueden cerrar.
+     */
+    @Override
+    public void close() {
+        cierra(this.principal);
+        cierra(this.replica);
+    }
+
+    /**
+     * Decide a qué base de datos va la conexión que se está pidiendo. Si es para una transacción de escritura, se
+     * registra que al confirmarla empieza la ventana en la que las lecturas de quien ha escrito se hacen en la principal.
+     *
+     * @return PRINCIPAL o REPLICA.
+     */
+    private String eligeDestino() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRINCIPAL;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int estado) {
+                        if (estado == STATUS_COMMITTED) {
+                            abreVentanaEscritura();
+                        }
+                    }
+                });
+            }
+            return PRINCIPAL;
+        }
+        if (this.enVentanaEscritura()
+                || (this.replicaNoDisponible && System.nanoTime() - this.replicaNoDisponibleHasta < 0)) {
+            return PRINCIPAL;
+        }
+        return REPLICA;
+    }
+
+    /**
+     * Abre la ventana de escritura de la petición web en curso y de su sesión. Fuera de una petición no hay nadie que
+     * vaya a leer lo escrito, así que no se hace nada.
+     */
+    private void abreVentanaEscritura() {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        if (peticion == null || this.ventanaEscrituraMs <= 0) {
+            return;
+        }
+        peticion.setAttribute(ATRIBUTO_VENTANA_ESCRITURA, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        peticion.setAttribute(ATRIBUTO_VENTANA_ESCRITURA, System.currentTimeMillis() + this.ventanaEscrituraMs,
+                RequestAttributes.SCOPE_SESSION);
+    }
+
+    /**
+     * Indica si la petición web en curso ha escrito o si su sesión sigue dentro de la ventana de escritura.
+     *
+     * @return true si las lecturas deben hacerse en la principal; false en caso contrario.
+     */
+    private boolean enVentanaEscritura() {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        if (peticion == null) {
+            return false;
+        }
+        if (peticion.getAttribute(ATRIBUTO_VENTANA_ESCRITURA, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        return peticion.getAttribute(ATRIBUTO_VENTANA_ESCRITURA, RequestAttributes.SCOPE_SESSION) instanceof Long fin
+                && System.currentTimeMillis() < fin;
+    }
+
+    private static void cierra(DataSource dataSource) {
+        if (dataSource instanceof Closeable cerrable) {
+            try {
+                cerrable.close();
+            } catch (Exception e) {
+                log.warn("No se ha podido cerrar el DataSource", e);
+            }
+        }
+    }
+
+    private class Enrutador extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return eligeDestino();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!REPLICA.equals(this.determineCurrentLookupKey())) {
+                return principal.getConnection();
+            }
+            try {
+                Connection conexion = replica.getConnection();
+                if (replicaNoDisponible) {
+                    replicaNoDisponible = false;
+                    log.info("Réplica de lectura disponible de nuevo");
+                }
+                return conexion;
+            } catch (SQLException e) {
+                replicaNoDisponibleHasta = System.nanoTime() + esperaReintentoNanos;
+                replicaNoDisponible = true;
+                log.warn("Réplica de lectura no disponible, se lee de la base de datos principal: {}", e.getMessage());
+                return principal.getConnection();
+            }
+        }
+
+        @Override
+        public Connection getConnection(String usuario, String contrasenya) throws SQLException {
+            return this.getConnection();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.nomina.singlenominaspringboot.config;
+
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Formato binario compacto de los atributos de sesión guardados en la base de datos. El primer byte indica el tipo:
+ * los Long, Integer, Boolean y String se escriben directamente (un Long ocupa 9 bytes en lugar de los más de 80 de la
+ * serialización de Java) y el resto de objetos con la serialización de Java.
+ */
+public final class FormatoSesion {
+
+    private static final byte LONG = 1;
+
+    private static final byte INTEGER = 2;
+
+    private static final byte BOOLEAN = 3;
+
+    private static final byte STRING = 4;
+
+    private static final byte JAVA = 5;
+
+    private static final SerializingConverter SERIALIZADOR = new SerializingConverter();
+
+    private static final DeserializingConverter DESERIALIZADOR = new DeserializingConverter();
+
+    private FormatoSesion() {
+    }
+
+    /**
+     * Codifica el valor de un atributo de sesión.
+     *
+     * @param valor El valor del atributo.
+     * @return Los bytes del valor precedidos del byte de tipo.
+     */
+    public static byte[] codifica(Object valor) {
+        if (valor instanceof Long numero) {
+            return ByteBuffer.allocate(1 + Long.BYTES).put(LONG).putLong(numero).array();
+        }
+        if (valor instanceof Integer numero) {
+            return ByteBuffer.allocate(1 + Integer.BYTES).put(INTEGER).putInt(numero).array();
+        }
+        if (valor instanceof Boolean booleano) {
+            return new byte[]{BOOLEAN, (byte) (booleano ? 1 : 0)};
+        }
+        if (valor instanceof String texto) {
+            return conTipo(STRING, texto.getBytes(StandardCharsets.UTF_8));
+        }
+        return conTipo(JAVA, SERIALIZADOR.convert(valor));
+    }
+
+    /**
+     * Decodifica el valor de un atributo de sesión codificado con codifica().
+     *
+     * @param bytes Los bytes guardados.
+     * @return El valor del atributo.
+     * @throws RuntimeException Si el byte de tipo no es válido.
+     */
+    public static Object decodifica(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        switch (bytes[0]) {
+            case LONG:
+                return buffer.getLong();
+            case INTEGER:
+                return buffer.getInt();
+            case BOOLEAN:
+                return bytes[1] != 0;
+            case STRING:
+                return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+            case JAVA:
+                return DESERIALIZADOR.convert(Arrays.copyOfRange(bytes, 1, bytes.length));
+            default:
+                throw new RuntimeException("Tipo de atributo de sesión desconocido: " + bytes[0]);
+        }
+    }
+
+    private static byte[] conTipo(byte tipo, byte[] contenido) {
+        byte[] bytes = new byte[contenido.length + 1];
+        bytes[0] = tipo;
+        System.arraycopy(contenido, 0, bytes, 1, contenido.length);
+        return bytes;
+    }
+}
@@ -0,0 +1,89 @@
+package com.nomina.singlenominaspringboot.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Modo de ejecución con hilos virtuales, activado con la propiedad "nominas.hilos-virtuales.habilitados=true"
+ * (perfil "virtual"). Cada petición de Tomcat y cada tarea asíncrona (como la descarga de la exportación) se ejecuta
+ * en un hilo virtual nuevo, de modo que las esperas de las llamadas JDBC no ocupan un hilo de plataforma y el número
+ * de peticiones concurrentes deja de estar limitado por el tamaño del pool de hilos de Tomcat. El límite pasa a ser
+ * el pool de conexiones, que se dimensiona en el perfil.
+ * Requiere Java 21 o superior; los hilos virtuales se crean por reflexión para que el proyecto siga compilando con Java 17.
+ */
+@Configuration
+@ConditionalOnProperty(name = "nominas.hilos-virtuales.habilitados", havingValue = "true")
+public class HilosVirtualesConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(HilosVirtualesConfig.class);
+
+    /**
+     * Sustituye el pool de hilos de Tomcat por un ejecutor que crea un hilo virtual por petición.
+     *
+     * @return El personalizador del protocolo de Tomcat.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> ejecutorVirtualTomcat() {
+        ExecutorService ejecutor = ejecutorVirtual("peticion-");
+        log.info("Peticiones atendidas en hilos virtuales");
+        return protocolo -> protocolo.setExecutor(ejecutor);
+    }
+
+    /**
+     * Ejecutor de las tareas asíncronas de la aplicación y de Spring MVC con un hilo virtual por tarea.
+     *
+     * @return El ejecutor de tareas.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(ejecutorVirtual("tarea-"));
+    }
+
+    /**
+     * Crea un ejecutor que lanza cada tarea en un hilo virtual nuevo con el prefijo de nombre indicado.
+     *
+     * @param prefijo El prefijo del nombre de los hilos, seguido de un contador.
+     * @return El ejecutor de hilos virtuales.
+     * @throws IllegalStateException Si la máquina virtual no admite hilos virtuales.
+     */
+    public static ExecutorService ejecutorVirtual(String prefijo) {
+        try {
+            Class<?> constructor = Class.forName("java.lang.Thread$Builder");
+            Object hilos = Thread.class.getMethod("ofVirtual").invoke(null);
+            hilos = constructor.getMethod("name", String.class, long.class).invoke(hilos, prefijo, 0L);
+            ThreadFactory factoria = (ThreadFactory) constructor.getMethod("factory").invoke(hilos);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factoria);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Los hilos virtuales requieren Java 21 o superior (versión actual: "
+                    + Runtime.version() + ")", e);
+        }
+    }
+
+    /**
+     * Indica si la máquina virtual actual admite hilos virtuales.
+     *
+     * @return true si existe Thread.ofVirtual(); false en caso contrario.
+     */
+    public static boolean disponibles() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
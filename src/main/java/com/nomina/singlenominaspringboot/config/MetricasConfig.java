@@ -0,0 +1,93 @@
+package com.nomina.singlenominaspringboot.config;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import java.util.Set;
+
+@Configuration
+public class MetricasConfig {
+
+    public static final String ETIQUETA_OPCION = "opcion";
+
+    public static final String METRICA_PETICIONES = "http.server.requests";
+
+    public static final String METRICA_ERRORES = "nominas.opcion.errores";
+
+    // Opciones atendidas por IndexController; cualquier otro valor recibido se agrupa para acotar el número de series
+    private static final Set<String> OPCIONES = Set.of("registro", "importa", "listado", "busqueda", "resumen",
+            "consulta", "actualiza", "exporta", "recalcula", "escalas", "escala", "simula", "historico", "periodo", "login",
+            "cierraSesion", "bienvenida");
+
+    /**
+     * Aspecto que mide la duración de los métodos de las clases y métodos anotados con @Timed.
+     *
+     * @param registro El registro de métricas de la aplicación.
+     * @return El aspecto de medición.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registro) {
+        return new TimedAspect(registro);
+    }
+
+    /**
+     * Convención de las métricas de peticiones HTTP que añade la etiqueta "opcion" con la opción del controlador
+     * a la que se ha despachado la petición, de modo que las peticiones a "/index" se puedan distinguir por opción.
+     *
+     * @return La convención de observación de las peticiones.
+     */
+    @Bean
+    public ServerRequestObservationConvention convencionPeticiones() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                        .and(ETIQUETA_OPCION, etiquetaOpcion(context.getCarrier().getParameter("opcion")));
+            }
+        };
+    }
+
+    /**
+     * Filtro que publica el histograma de percentiles de las peticiones de las opciones indicadas en la propiedad
+     * "nominas.metricas.opciones-histograma", para poder calcular sus percentiles agregados en Prometheus.
+     *
+     * @param opciones Las opciones con histograma.
+     * @return El filtro de métricas.
+     */
+    @Bean
+    public MeterFilter histogramaOpciones(
+            @Value("${nominas.metricas.opciones-histograma:registro,listado,consulta,actualiza}") Set<String> opciones) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().equals(METRICA_PETICIONES) && opciones.contains(id.getTag(ETIQUETA_OPCION))) {
+                    return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+                }
+                return config;
+            }
+        };
+    }
+
+    /**
+     * Obtiene el valor de la etiqueta "opcion" de una métrica.
+     *
+     * @param opcion La opción recibida en la petición.
+     * @return La opción si es una de las conocidas, "ninguna" si no se ha indicado y "otra" en caso contrario.
+     */
+    public static String etiquetaOpcion(String opcion) {
+        if (opcion == null || opcion.isEmpty()) {
+            return "ninguna";
+        }
+        return OPCIONES.contains(opcion) ? opcion : "otra";
+    }
+}
@@ -0,0 +1,81 @@
+package com.nomina.singlenominaspringboot.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escucha las sentencias SQL ejecutadas a través del DataSource: suma su duración a los tiempos de la petición en curso
+ * y registra con sus parámetros las que superan el umbral de sentencia lenta, sólo para la fracción de muestreo
+ * indicada, de modo que el registro no se ejecute en el hilo de cada petición como hacía "show-sql".
+ */
+public class RegistroSentenciasLentas implements QueryExecutionListener {
+
+    private static final String INICIO = "inicioNanos";
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroSentenciasLentas.class);
+
+    private final long umbralNanos;
+
+    private final double muestreo;
+
+    private final int maximoConjuntosParametros;
+
+    public RegistroSentenciasLentas(long umbralMilisegundos, double muestreo, int maximoConjuntosParametros) {
+        this.umbralNanos = TimeUnit.MILLISECONDS.toNanos(umbralMilisegundos);
+        this.muestreo = muestreo;
+        this.maximoConjuntosParametros = maximoConjuntosParametros;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo ejecucion, List<QueryInfo> sentencias) {
+        ejecucion.addCustomValue(INICIO, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo ejecucion, List<QueryInfo> sentencias) {
+        Long inicio = ejecucion.getCustomValue(INICIO, Long.class);
+        long nanos = inicio == null ? TimeUnit.MILLISECONDS.toNanos(ejecucion.getElapsedTime()) : System.nanoTime() - inicio;
+        TiemposPeticion.sumaSentencia(nanos);
+        if (nanos >= this.umbralNanos && log.isWarnEnabled()
+                && (this.muestreo >= 1 || ThreadLocalRandom.current().nextDouble() < this.muestreo)) {
+            log.warn("Sentencia SQL lenta ({} ms{}): {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                    ejecucion.isBatch() ? ", lote de " + ejecucion.getBatchSize() : "", this.describe(sentencias));
+        }
+    }
+
+    /**
+     * Describe las sentencias de una ejecución con sus parámetros, limitando los conjuntos de parámetros de un lote.
+     *
+     * @param sentencias Las sentencias ejecutadas.
+     * @return El texto de las sentencias seguidas de sus parámetros.
+     */
+    private String describe(List<QueryInfo> sentencias) {
+        StringBuilder descripcion = new StringBuilder();
+        for (QueryInfo sentencia : sentencias) {
+            descripcion.append(sentencia.getQuery());
+            List<List<ParameterSetOperation>> conjuntos = sentencia.getParametersList();
+            for (int i = 0; i < conjuntos.size() && i < this.maximoConjuntosParametros; i++) {
+                descripcion.append(" [");
+                List<ParameterSetOperation> parametros = conjuntos.get(i);
+                for (int j = 0; j < parametros.size(); j++) {
+                    Object[] argumentos = parametros.get(j).getArgs();
+                    descripcion.append(j == 0 ? "" : ", ").append(argumentos.length > 1 ? argumentos[1] : null);
+                }
+                descripcion.append(']');
+            }
+            if (conjuntos.size() > this.maximoConjuntosParametros) {
+                descripcion.append(" ... ").append(conjuntos.size() - this.maximoConjuntosParametros).append(" más");
+            }
+            descripcion.append("; ");
+        }
+        return descripcion.toString();
+    }
+}
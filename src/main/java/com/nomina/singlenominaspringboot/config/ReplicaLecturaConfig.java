@@ -0,0 +1,71 @@
+package com.nomina.singlenominaspringboot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.session.jdbc.config.annotation.SpringSessionDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@ConditionalOnProperty(name = "nominas.replica.url")
+public class ReplicaLecturaConfig {
+
+    /**
+     * DataSource de la aplicación cuando se configura una réplica de lectura con "nominas.replica.url": las
+     * transacciones de sólo lectura se envían a la réplica y el resto a la base de datos de "spring.datasource.*".
+     * Cada base de datos tiene su propio pool, configurable con "spring.datasource.hikari.*" y
+     * "nominas.replica.hikari.*". Por defecto la réplica espera como mucho un segundo a dar una conexión, para que la
+     * lectura pase pronto a la principal si no está disponible.
+     *
+     * @param propiedades Las propiedades del DataSource principal.
+     * @param entorno     El entorno con las propiedades de la aplicación.
+     * @return El DataSource que enruta entre la principal y la réplica.
+     */
+    @Bean
+    @Primary
+    public DataSourceLecturaEscritura dataSource(DataSourceProperties propiedades, Environment entorno) {
+        Binder binder = Binder.get(entorno);
+        HikariDataSource principal = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        principal.setPoolName("principal");
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(principal));
+
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(entorno.getRequiredProperty("nominas.replica.url"))
+                .username(entorno.getProperty("nominas.replica.username", propiedades.determineUsername()))
+                .password(entorno.getProperty("nominas.replica.password", propiedades.determinePassword()))
+                .driverClassName(entorno.getProperty("nominas.replica.driver-class-name",
+                        propiedades.determineDriverClassName()))
+                .build();
+        replica.setPoolName("replica");
+        replica.setConnectionTimeout(1000);
+        binder.bind("nominas.replica.hikari", Bindable.ofInstance(replica));
+
+        return new DataSourceLecturaEscritura(principal, replica,
+                entorno.getProperty("nominas.replica.ventana-escritura-ms", Long.class, 2000L),
+                entorno.getProperty("nominas.replica.espera-reintento-ms", Long.class, 30000L));
+    }
+
+    /**
+     * Las sesiones se guardan directamente en la base de datos principal, sin pasar por el enrutado: así guardar la
+     * sesión en cada petición no cuenta como una escritura que obligue a leer de la principal durante la ventana.
+     *
+     * @param dataSource El DataSource que enruta entre la principal y la réplica, envuelto en el proxy de medición.
+     * @return El DataSource de la base de datos principal.
+     * @throws SQLException Si el DataSource no es el que enruta entre la principal y la réplica.
+     */
+    @Bean
+    @SpringSessionDataSource
+    public DataSource dataSourceSesiones(@Qualifier("dataSource") DataSource dataSource) throws SQLException {
+        return dataSource.unwrap(DataSourceLecturaEscritura.class).getPrincipal();
+    }
+}
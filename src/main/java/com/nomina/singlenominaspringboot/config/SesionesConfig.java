@@ -0,0 +1,24 @@
+package com.nomina.singlenominaspringboot.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+
+@Configuration
+public class SesionesConfig {
+
+    /**
+     * Conversión de los atributos de las sesiones guardadas en la base de datos (Spring Session JDBC) al formato
+     * binario compacto de FormatoSesion, en lugar de la serialización de Java que se usa por defecto.
+     *
+     * @return El servicio de conversión que usa Spring Session para leer y escribir los atributos.
+     */
+    @Bean("springSessionConversionService")
+    public ConversionService conversionesSesion() {
+        GenericConversionService conversiones = new GenericConversionService();
+        conversiones.addConverter(Object.class, byte[].class, FormatoSesion::codifica);
+        conversiones.addConverter(byte[].class, Object.class, FormatoSesion::decodifica);
+        return conversiones;
+    }
+}
@@ -0,0 +1,106 @@
+package com.nomina.singlenominaspringboot.config;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Acumulador de los tiempos de una petición: tiempo y número de sentencias SQL, tiempo de validación y tiempo de
+ * renderizado de la vista. Se asocia al hilo que atiende la petición mientras dura, y se publica al terminar en la
+ * cabecera "Server-Timing" de la respuesta. Fuera de una petición medida, los métodos de acumulación no hacen nada.
+ */
+public class TiemposPeticion {
+
+    public static final String CABECERA = "Server-Timing";
+
+    private static final ThreadLocal<TiemposPeticion> ACTUAL = new ThreadLocal<>();
+
+    private final long inicio = System.nanoTime();
+
+    private long nanosBaseDatos;
+
+    private int sentencias;
+
+    private long nanosValidacion;
+
+    private long nanosRenderizado;
+
+    /**
+     * Comienza la medición de una petición en el hilo actual.
+     *
+     * @return El acumulador de la petición.
+     */
+    public static TiemposPeticion inicia() {
+        TiemposPeticion tiempos = new TiemposPeticion();
+        ACTUAL.set(tiempos);
+        return tiempos;
+    }
+
+    /**
+     * Termina la medición de la petición del hilo actual.
+     */
+    public static void finaliza() {
+        ACTUAL.remove();
+    }
+
+    /**
+     * Suma una sentencia SQL ejecutada y su duración a la petición del hilo actual.
+     *
+     * @param nanos La duración de la sentencia en nanosegundos.
+     */
+    public static void sumaSentencia(long nanos) {
+        TiemposPeticion tiempos = ACTUAL.get();
+        if (tiempos != null) {
+            tiempos.sentencias++;
+            tiempos.nanosBaseDatos += nanos;
+        }
+    }
+
+    /**
+     * Suma el tiempo de renderizado de la vista a la petición del hilo actual.
+     *
+     * @param nanos La duración del renderizado en nanosegundos.
+     */
+    public static void sumaRenderizado(long nanos) {
+        TiemposPeticion tiempos = ACTUAL.get();
+        if (tiempos != null) {
+            tiempos.nanosRenderizado += nanos;
+        }
+    }
+
+    /**
+     * Ejecuta una validación y suma su duración a la petición del hilo actual.
+     *
+     * @param validacion La validación a ejecutar.
+     * @return El resultado de la validación.
+     */
+    public static <T> T mideValidacion(Supplier<T> validacion) {
+        long inicioValidacion = System.nanoTime();
+        try {
+            return validacion.get();
+        } finally {
+            TiemposPeticion tiempos = ACTUAL.get();
+            if (tiempos != null) {
+                tiempos.nanosValidacion += System.nanoTime() - inicioValidacion;
+            }
+        }
+    }
+
+    /**
+     * Compone el valor de la cabecera "Server-Timing" con los tiempos acumulados en milisegundos.
+     *
+     * @return Las métricas "db" (con el número de sentencias), "val", "render" y "total" de la petición.
+     */
+    public String getServerTiming() {
+        return String.format(Locale.ROOT, "db;desc=\"%d sentencias\";dur=%.2f, val;dur=%.2f, render;dur=%.2f, total;dur=%.2f",
+                this.sentencias, milisegundos(this.nanosBaseDatos), milisegundos(this.nanosValidacion),
+                milisegundos(this.nanosRenderizado), milisegundos(System.nanoTime() - this.inicio));
+    }
+
+    public int getSentencias() {
+        return this.sentencias;
+    }
+
+    private static double milisegundos(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,115 @@
+package com.nomina.singlenominaspringboot.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+@Configuration
+public class TiemposPeticionConfig implements WebMvcConfigurer {
+
+    private static final String INICIO_RENDERIZADO = TiemposPeticionConfig.class.getName() + ".inicioRenderizado";
+
+    /**
+     * Envuelve el DataSource de la aplicación en un proxy que mide cada sentencia SQL ejecutada, para sumarla a los
+     * tiempos de la petición y registrar las lentas según las propiedades "nominas.sql.umbral-lento-ms",
+     * "nominas.sql.muestreo-lento" y "nominas.sql.max-conjuntos-parametros".
+     *
+     * @param entorno El entorno con las propiedades de la aplicación.
+     * @return El postprocesador que envuelve los DataSource.
+     */
+    @Bean
+    public static BeanPostProcessor medicionSentenciasDataSource(Environment entorno) {
+        RegistroSentenciasLentas registro = new RegistroSentenciasLentas(
+                entorno.getProperty("nominas.sql.umbral-lento-ms", Long.class, 200L),
+                entorno.getProperty("nominas.sql.muestreo-lento", Double.class, 1.0),
+                entorno.getProperty("nominas.sql.max-conjuntos-parametros", Integer.class, 5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(nombre, dataSource).listener(registro).build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Filtro que mide las peticiones a "/index" y añade sus tiempos en la cabecera "Server-Timing". La respuesta se
+     * retiene hasta terminar la petición para poder añadir la cabecera después del renderizado; por eso se excluye
+     * la exportación, cuya respuesta se envía según se genera.
+     *
+     * @return El registro del filtro.
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> filtroTiemposPeticion() {
+        OncePerRequestFilter filtro = new OncePerRequestFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return "exporta".equals(request.getParameter("opcion"));
+            }
+
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                TiemposPeticion tiempos = TiemposPeticion.inicia();
+                ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+                try {
+                    chain.doFilter(request, respuesta);
+                } finally {
+                    TiemposPeticion.finaliza();
+                    if (!respuesta.isCommitted()) {
+                        respuesta.setHeader(TiemposPeticion.CABECERA, tiempos.getServerTiming());
+                    }
+                    respuesta.copyBodyToResponse();
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns("/index");
+        return registro;
+    }
+
+    /**
+     * Registra el interceptor que mide el renderizado de la vista: desde que termina el controlador hasta que se
+     * completa la petición.
+     *
+     * @param registry El registro de interceptores.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                   ModelAndView modelAndView) {
+                request.setAttribute(INICIO_RENDERIZADO, System.nanoTime());
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                Object inicio = request.getAttribute(INICIO_RENDERIZADO);
+                if (inicio != null) {
+                    TiemposPeticion.sumaRenderizado(System.nanoTime() - (Long) inicio);
+                }
+            }
+        }).addPathPatterns("/index");
+    }
+}
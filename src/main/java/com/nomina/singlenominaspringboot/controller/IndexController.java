@@ -1,22 +1,53 @@
 package com.nomina.singlenominaspringboot.controller;
 
+import com.nomina.singlenominaspringboot.config.MetricasConfig;
 import com.nomina.singlenominaspringboot.model.Administrador;
 import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EmpleadoListado;
+import com.nomina.singlenominaspringboot.model.EscenarioSalarial;
+import com.nomina.singlenominaspringboot.model.EscalaSalarial;
+import com.nomina.singlenominaspringboot.model.FiltroEmpleados;
+import com.nomina.singlenominaspringboot.model.PaginaEmpleados;
+import com.nomina.singlenominaspringboot.model.PeriodoNomina;
+import com.nomina.singlenominaspringboot.model.ResultadoImportacion;
+import com.nomina.singlenominaspringboot.model.ResultadoRecalculo;
 import com.nomina.singlenominaspringboot.service.AdministradorService;
 import com.nomina.singlenominaspringboot.service.EmpleadoService;
+import com.nomina.singlenominaspringboot.service.ExportacionService;
+import com.nomina.singlenominaspringboot.service.HistoricoNominasService;
+import com.nomina.singlenominaspringboot.service.ImportacionService;
+import com.nomina.singlenominaspringboot.service.NominaService;
+import com.nomina.singlenominaspringboot.service.ResumenNominasService;
+import com.nomina.singlenominaspringboot.service.SimulacionSalarialService;
+import com.nomina.singlenominaspringboot.service.TablaSalarialService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
-
-import java.util.Date;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @Controller
 public class IndexController {
@@ -27,6 +58,30 @@ public class IndexController {
     @Autowired
     AdministradorService administradorService;
 
+    @Autowired
+    NominaService nominaService;
+
+    @Autowired
+    ImportacionService importacionService;
+
+    @Autowired
+    ExportacionService exportacionService;
+
+    @Autowired
+    ResumenNominasService resumenNominasService;
+
+    @Autowired
+    TablaSalarialService tablaSalarialService;
+
+    @Autowired
+    SimulacionSalarialService simulacionSalarialService;
+
+    @Autowired
+    HistoricoNominasService historicoNominasService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     /**
      * Maneja las peticiones GET en la ruta "/index". Determina las acciones a realizar según la opción proporcionada,
      * establece atributos comunes en el modelo y devuelve la vista correspondiente.
@@ -35,7 +90,8 @@ public class IndexController {
      * @return La vista correspondiente a la opción seleccionada o una vista predeterminada ("index" por defecto).
      * En caso de necesitar inicio de sesión, redirige a la página de inicio de sesión.
      * Si la opción "actualiza" redirige a una vista diferente, devuelve la vista redirigida.
-     * Las opciones disponibles son: "registro", "listado", "consulta", "actualiza", "login", "cierraSesion" y "bienvenida".
+     * Las opciones disponibles son: "registro", "importa", "listado", "busqueda", "resumen", "escalas", "consulta",
+     * "actualiza", "login", "cierraSesion" y "bienvenida".
      */
     @GetMapping("/index")
     public String doGet(Model model) {
@@ -48,9 +104,24 @@ public class IndexController {
             case "registro":
                 this.doGetRegistro(model);
                 break;
+            case "importa":
+                this.doGetImporta(model);
+                break;
             case "listado":
                 this.doGetListado(model);
                 break;
+            case "busqueda":
+                this.doGetBusqueda(model);
+                break;
+            case "resumen":
+                this.doGetResumen(model);
+                break;
+            case "escalas":
+                this.doGetEscalas(model);
+                break;
+            case "historico":
+                this.doGetHistorico(model);
+                break;
             case "consulta":
                 this.doGetConsulta(model);
                 break;
@@ -74,6 +145,36 @@ public class IndexController {
         return view;
     }
 
+    /**
+     * Maneja las peticiones GET en la ruta "/index" con la opción "exporta", que descarga en CSV los empleados activos
+     * y su salario. Admite los mismos parámetros "campo" y "valor" que el listado de actualización y, si se indica el
+     * parámetro "gzip=true", comprime la descarga. El fichero se escribe en la respuesta según se lee de la base de datos.
+     *
+     * @return La descarga del fichero CSV, o una redirección a la página de inicio de sesión si no está logueado.
+     */
+    @GetMapping(value = "/index", params = "opcion=exporta")
+    public ResponseEntity<StreamingResponseBody> doGetExporta() {
+        if (this.necesitaLogin()) {
+            return ResponseEntity.status(HttpStatus.FOUND).location(URI.create("/index?opcion=login")).build();
+        }
+        String campo = this.getRequestParameter("campo");
+        String valor = this.getRequestParameter("valor");
+        boolean gzip = "true".equals(this.getRequestParameter("gzip"));
+        StreamingResponseBody cuerpo = salida -> {
+            if (gzip) {
+                GZIPOutputStream comprimido = new GZIPOutputStream(salida);
+                this.exportacionService.exportaNominas(campo, valor, comprimido);
+                comprimido.finish();
+            } else {
+                this.exportacionService.exportaNominas(campo, valor, salida);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"nominas.csv" + (gzip ? ".gz" : "") + "\"")
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(cuerpo);
+    }
+
     /**
      * Maneja las peticiones POST en la ruta "/index". Evalúa la opción proporcionada y realiza acciones correspondientes
      * en función de la misma, estableciendo atributos comunes en el modelo y devolviendo la vista resultante.
@@ -83,7 +184,7 @@ public class IndexController {
      * En caso de necesitar inicio de sesión, redirige a la página de inicio de sesión.
      * Si la opción "registro", "actualiza" o "login" redirige a una vista diferente, devuelve la vista redirigida.
      * Si la opción es diferente a las mencionadas, realiza una acción predeterminada.
-     * Las opciones disponibles son: "registro", "actualiza" y "login".
+     * Las opciones disponibles son: "registro", "importa", "actualiza", "recalcula", "escala", "simula", "periodo" y "login".
      */
     @PostMapping("/index")
     public String doPost(Model model) {
@@ -107,6 +208,21 @@ public class IndexController {
                     view = redirect;
                 }
                 break;
+            case "importa":
+                this.doPostImporta(model);
+                break;
+            case "recalcula":
+                this.doPostRecalcula(model);
+                break;
+            case "escala":
+                this.doPostEscala(model);
+                break;
+            case "simula":
+                this.doPostSimula(model);
+                break;
+            case "periodo":
+                this.doPostPeriodo(model);
+                break;
             case "login":
                 redirect = this.doPostLogin(model);
                 if (redirect != null) {
@@ -127,7 +243,7 @@ public class IndexController {
      */
     private Boolean necesitaLogin() {
         String opcion = this.getOpcion();
-        Boolean logueado = this.estaLogueado();
+        boolean logueado = this.estaLogueado();
         return !logueado && (opcion == null || !opcion.equals("login"));
     }
 
@@ -141,22 +257,146 @@ public class IndexController {
     }
 
     /**
-     * Prepara el modelo para la vista de listado de empleados, obteniendo la lista de empleados
+     * Prepara el modelo para la vista de importación masiva de empleados desde un fichero CSV.
+     *
+     * @param model El modelo al que se agrega el atributo "contenido" con el valor "content/importacion.html".
+     */
+    private void doGetImporta(Model model) {
+        model.addAttribute("contenido", "content/importacion.html");
+    }
+
+    /**
+     * Prepara el modelo para la vista de listado de empleados, obteniendo una página de empleados
      * desde el servicio correspondiente y estableciendo atributos en el modelo para su visualización.
      *
      * @param model El modelo al que se agregan los atributos necesarios para la vista de listado de empleados:
      *              - "usuarioCreado": indica si se confirma la creación de un usuario (true/false).
-     *              - "listaEmpleados": la lista de objetos Empleado obtenida del servicio.
+     *              - "pagina": la página de empleados obtenida del servicio, con los cursores de navegación.
+     *              - "listaEmpleados": los datos de listado de los empleados de la página actual.
      *              - "contenido": la ruta del archivo HTML que contiene el listado de empleados ("content/listado-empleados.html").
      */
     private void doGetListado(Model model) {
-        List<Empleado> listaEmpleados = this.empleadoService.obtenerListaEmpleados();
+        PaginaEmpleados pagina = this.obtenerPaginaSolicitada();
         Boolean creacion = this.getRequestParameter("confirmar-creacion") != null;
         model.addAttribute("usuarioCreado", creacion);
-        model.addAttribute("listaEmpleados", listaEmpleados);
+        model.addAttribute("pagina", pagina);
+        model.addAttribute("listaEmpleados", pagina.getEmpleados());
         model.addAttribute("contenido", "content/listado-empleados.html");
     }
 
+    /**
+     * Obtiene del servicio la página de empleados indicada por los parámetros "desde", "antes" y "tamanyo" de la solicitud.
+     *
+     * @return La página de empleados solicitada, o la primera página si no se indica ningún cursor.
+     */
+    private PaginaEmpleados obtenerPaginaSolicitada() {
+        String desde = this.getRequestParameter("desde");
+        String antes = this.getRequestParameter("antes");
+        return this.empleadoService.obtenerPaginaEmpleados(desde, antes, this.getTamanyoPagina());
+    }
+
+    /**
+     * Obtiene el tamaño de página del parámetro "tamanyo" de la solicitud.
+     *
+     * @return El tamaño de página indicado o el tamaño por defecto si no se indica o no es un número válido.
+     */
+    private int getTamanyoPagina() {
+        String tamanyo = this.getRequestParameter("tamanyo");
+        try {
+            return tamanyo != null ? Integer.parseInt(tamanyo) : EmpleadoService.TAMANYO_PAGINA_DEFECTO;
+        } catch (NumberFormatException e) {
+            return EmpleadoService.TAMANYO_PAGINA_DEFECTO;
+        }
+    }
+
+    /**
+     * Prepara el modelo para la vista de búsqueda avanzada de empleados. Si se ha enviado el formulario de búsqueda,
+     * construye el filtro combinado con los parámetros recibidos y obtiene los empleados que lo cumplen.
+     *
+     * @param model El modelo al que se agregan los atributos necesarios para la vista de búsqueda:
+     *              - "filtro": los criterios de búsqueda recibidos, para volver a mostrarlos en el formulario.
+     *              - "listaEmpleados": los empleados encontrados, o null si todavía no se ha buscado.
+     *              - "contenido": la ruta del archivo HTML de la búsqueda ("content/busqueda-empleados.html").
+     *              En caso de que algún criterio no sea un número válido, se agrega el mensaje de error al modelo.
+     */
+    private void doGetBusqueda(Model model) {
+        FiltroEmpleados filtro = new FiltroEmpleados();
+        model.addAttribute("filtro", filtro);
+        model.addAttribute("contenido", "content/busqueda-empleados.html");
+        if (this.getRequestParameter("buscar") == null) {
+            return;
+        }
+        try {
+            String[] categorias = this.getHttpRequest().getParameterValues("categoria");
+            if (categorias != null) {
+                filtro.setCategorias(Arrays.stream(categorias).map(Integer::valueOf).toList());
+            }
+            filtro.setSalarioMinimo(this.getRequestParameterDouble("salarioMinimo"));
+            filtro.setSalarioMaximo(this.getRequestParameterDouble("salarioMaximo"));
+            filtro.setAnyosMinimo(this.getRequestParameterDouble("anyosMinimo"));
+            filtro.setAnyosMaximo(this.getRequestParameterDouble("anyosMaximo"));
+            filtro.setSexo(this.getRequestParameter("sexo"));
+            filtro.setPrefijoNombre(this.getRequestParameter("prefijoNombre"));
+            if (this.getRequestParameter("orden") != null) {
+                filtro.setOrden(this.getRequestParameter("orden"));
+            }
+            filtro.setDescendente(this.getRequestParameter("descendente") != null);
+            if (this.getRequestParameter("limite") != null && !this.getRequestParameter("limite").isBlank()) {
+                filtro.setLimite(Integer.parseInt(this.getRequestParameter("limite").trim()));
+            }
+            model.addAttribute("listaEmpleados", this.empleadoService.buscaEmpleados(filtro));
+        } catch (NumberFormatException e) {
+            this.manejaException(model, "Los criterios de búsqueda numéricos no son válidos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prepara el modelo para la vista del resumen de nóminas, con el coste total, el número de empleados y el salario
+     * medio por categoría y por sexo obtenidos de los agregados materializados.
+     *
+     * @param model El modelo al que se agregan los atributos necesarios para la vista del resumen:
+     *              - "panel": el panel con los totales por categoría, por sexo y de toda la plantilla.
+     *              - "contenido": la ruta del archivo HTML del resumen ("content/resumen-nominas.html").
+     */
+    private void doGetResumen(Model model) {
+        model.addAttribute("panel", this.resumenNominasService.obtenerPanel());
+        model.addAttribute("contenido", "content/resumen-nominas.html");
+    }
+
+    /**
+     * Prepara el modelo para la vista de la escala salarial, con la tabla vigente, las versiones registradas y el
+     * formulario para registrar una versión nueva.
+     *
+     * @param model El modelo al que se agregan los atributos necesarios para la vista de la escala salarial:
+     *              - "tabla": la tabla salarial vigente.
+     *              - "versiones": las versiones registradas de la escala salarial, de la más reciente a la más antigua.
+     *              - "contenido": la ruta del archivo HTML de la escala salarial ("content/escalas-salariales.html").
+     */
+    private void doGetEscalas(Model model) {
+        model.addAttribute("tabla", this.tablaSalarialService.obtenerTablaVigente());
+        model.addAttribute("versiones", this.tablaSalarialService.obtenerVersiones());
+        model.addAttribute("contenido", "content/escalas-salariales.html");
+    }
+
+    /**
+     * Prepara el modelo para la vista del histórico de nóminas, con los últimos periodos generados y, si se indica el
+     * parámetro "dni", las nóminas de ese empleado en los últimos meses.
+     *
+     * @param model El modelo al que se agregan los atributos necesarios para la vista del histórico:
+     *              - "periodos": los últimos periodos generados con su número de nóminas y coste total.
+     *              - "dni" e "historicoEmpleado": el DNI consultado y sus nóminas, si se ha indicado un DNI.
+     *              - "contenido": la ruta del archivo HTML del histórico ("content/historico-nominas.html").
+     */
+    private void doGetHistorico(Model model) {
+        model.addAttribute("periodos", this.historicoNominasService.obtenerPeriodos());
+        String dni = this.getRequestParameter("dni");
+        if (dni != null && !dni.isBlank()) {
+            model.addAttribute("dni", dni);
+            model.addAttribute("historicoEmpleado", this.historicoNominasService.obtenerHistoricoEmpleado(dni));
+        }
+        model.addAttribute("contenido", "content/historico-nominas.html");
+    }
+
     /**
      * Prepara el modelo para la vista de consulta de salario de un empleado, basándose en el número de DNI proporcionado.
      * Si no se proporciona un DNI o se deja en blanco, muestra el buscador de DNI en la vista.
@@ -217,21 +457,28 @@ public class IndexController {
      *              - "eliminado": indica si se confirma la eliminación de un empleado (true/false).
      *              - "campo": el campo por el cual se filtrará la lista de empleados, si se especifica alguno.
      *              - "valor": el valor del campo por el cual se filtrará la lista de empleados, si se especifica alguno.
-     *              - "listaEmpleados": la lista actualizada de objetos Empleado obtenida del servicio, filtrada por el campo y valor especificados.
-     *              Si no se proporciona ningún campo y valor, se obtiene la lista completa de empleados.
+     *              - "listaEmpleados": los datos de listado de los empleados obtenidos del servicio, filtrados por el campo y valor especificados.
+     *              - "pagina": la página de empleados mostrada cuando no se filtra, con los cursores de navegación.
+     *              Si no se proporciona ningún campo y valor, se obtiene la lista de empleados paginada.
      */
     private void redireccionaListado(Model model) {
         String campo = this.getRequestParameter("campo");
         String valor = this.getRequestParameter("valor");
         String actualizado = this.getRequestParameter("confirmar-actualizacion");
         String eliminado = this.getRequestParameter("confirmar-eliminacion");
-        List<Empleado> listaEmpleados = null;
+        List<EmpleadoListado> listaEmpleados = null;
         model.addAttribute("contenido", "content/listado-actualizacion-empleados.html");
         model.addAttribute("actualizado", actualizado != null);
         model.addAttribute("eliminado", eliminado != null);
         model.addAttribute("campo", campo != null ? campo : "");
         model.addAttribute("valor", valor != null ? valor : "");
-        listaEmpleados = this.empleadoService.obtenerListaEmpleados(campo, valor);
+        if (campo == null || valor == null || valor.isEmpty()) {
+            PaginaEmpleados pagina = this.obtenerPaginaSolicitada();
+            model.addAttribute("pagina", pagina);
+            listaEmpleados = pagina.getEmpleados();
+        } else {
+            listaEmpleados = this.empleadoService.obtenerListaEmpleados(campo, valor);
+        }
         model.addAttribute("listaEmpleados", listaEmpleados);
     }
 
@@ -283,8 +530,10 @@ public class IndexController {
      * @return La redirección a la página de inicio de sesión después de invalidar la sesión actual.
      */
     private String doGetCierraSesion() {
-        HttpSession sesion = this.getSession();
-        sesion.invalidate();
+        HttpSession sesion = this.getHttpRequest().getSession(false);
+        if (sesion != null) {
+            sesion.invalidate();
+        }
         return this.loginRedirect();
     }
 
@@ -331,6 +580,8 @@ public class IndexController {
 
     /**
      * Procesa la solicitud POST para actualizar los datos de un empleado con la información proporcionada.
+     * Si otro usuario o un proceso ha modificado el empleado desde que se abrió el formulario, no se guardan los cambios
+     * y se vuelve a mostrar el formulario con los datos actuales y los valores que se intentaban guardar ("conflicto").
      *
      * @param model El modelo utilizado para procesar la actualización del empleado y redirigir según el resultado.
      * @return Una redirección a la página de actualización con un indicador de confirmación de actualización,
@@ -343,20 +594,22 @@ public class IndexController {
         String sexo = this.getRequestParameter("sexo");
         String categoria = this.getRequestParameter("categoria");
         String anyos = this.getRequestParameter("anyos");
+        String version = this.getRequestParameter("version");
 
         String redireccion = null;
+        Empleado empl = null;
 
         try {
             Optional<Empleado> result = this.empleadoService.obtenerEmpleadoPorDni(dniOriginal);
             Empleado empleadoActualizado = null;
             if (!result.isEmpty()) {
-                Empleado empl = result.get();
-
-                empl.setNombre(nombre);
-                empl.setSexo(sexo);
+                empl = new Empleado(nombre, dni, sexo);
                 empl.setCategoria(Integer.parseInt(categoria));
                 empl.setAnyos(Double.parseDouble(anyos));
                 empl.setDni(dni);
+                if (version != null && !version.isEmpty()) {
+                    empl.setVersion(Long.parseLong(version));
+                }
                 empleadoActualizado = this.empleadoService.actualizaEmpleado(empl);
             }
 
@@ -365,6 +618,9 @@ public class IndexController {
             } else {
                 this.manejaException(model, "Error al actualizar el empleado en la base de datos");
             }
+        } catch (OptimisticLockingFailureException e) {
+            this.redireccionaActualiza(dniOriginal, model);
+            model.addAttribute("conflicto", empl);
         } catch (RuntimeException e) {
             this.manejaException(model, "Error al actualizar el empleado en la base de datos: " + e.getMessage());
         } finally {
@@ -372,6 +628,130 @@ public class IndexController {
         }
     }
 
+    /**
+     * Procesa la solicitud POST para importar empleados desde un fichero CSV. El fichero se envía como cuerpo de la
+     * petición (tipo "text/csv") y se lee directamente del flujo de entrada, sin almacenarlo completo en memoria ni en disco.
+     *
+     * @param model El modelo al que se agregan los atributos necesarios para la vista del resultado:
+     *              - "resultado": el resultado de la importación con las filas importadas y los errores por fila.
+     *              - "contenido": la ruta del archivo HTML que muestra el resultado ("content/importacion-resultado.html").
+     *              En caso de error al leer el fichero, se maneja la excepción y se agrega el mensaje de error al modelo.
+     */
+    private void doPostImporta(Model model) {
+        try {
+            ResultadoImportacion resultado = this.importacionService.importaEmpleados(this.getHttpRequest().getInputStream());
+            model.addAttribute("resultado", resultado);
+            model.addAttribute("contenido", "content/importacion-resultado.html");
+        } catch (IOException | RuntimeException e) {
+            this.manejaException(model, "Error al importar los empleados: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Procesa la solicitud POST para recalcular el salario de todas las nóminas según la categoría y antigüedad actuales.
+     *
+     * @param model El modelo al que se agregan los atributos necesarios para la vista del resultado:
+     *              - "resultado": el resultado del recálculo con las filas actualizadas y su rendimiento.
+     *              - "contenido": la ruta del archivo HTML que muestra el resultado ("content/recalculo-nominas.html").
+     *              En caso de error durante el recálculo, se maneja la excepción y se agrega el mensaje de error al modelo.
+     */
+    private void doPostRecalcula(Model model) {
+        try {
+            ResultadoRecalculo resultado = this.nominaService.recalculaNominas();
+            model.addAttribute("resultado", resultado);
+            model.addAttribute("contenido", "content/recalculo-nominas.html");
+        } catch (RuntimeException e) {
+            this.manejaException(model, "Error al recalcular las nóminas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Procesa la solicitud POST para registrar una nueva versión de la escala salarial con el sueldo base de cada
+     * categoría (parámetros "sueldo1", "sueldo2"...), el incremento por año ("incremento") y la fecha de vigencia
+     * ("vigenteDesde"). Si la versión está ya en vigor, se activa y se recalculan las nóminas afectadas.
+     *
+     * @param model El modelo al que se agregan los atributos de la vista de la escala salarial y, además:
+     *              - "escalaRegistrada": la versión registrada.
+     *              En caso de que algún dato no sea válido, se maneja la excepción y se agrega el mensaje de error al modelo.
+     */
+    private void doPostEscala(Model model) {
+        try {
+            int[] sueldosBase = this.getSueldosBase();
+            int incremento = Integer.parseInt(this.getRequestParameter("incremento"));
+            LocalDate vigenteDesde = LocalDate.parse(this.getRequestParameter("vigenteDesde"));
+            EscalaSalarial escala = this.tablaSalarialService.registraVersion(sueldosBase, incremento, vigenteDesde);
+            this.doGetEscalas(model);
+            model.addAttribute("escalaRegistrada", escala);
+        } catch (RuntimeException e) {
+            this.manejaException(model, "Error al registrar la escala salarial: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Procesa la solicitud POST para simular el coste de la plantilla con una escala salarial hipotética, sin guardar
+     * nada. Recibe los mismos parámetros que el registro de una versión de la escala ("sueldo1", "sueldo2"... e
+     * "incremento") y, opcionalmente, la categoría a la que se promociona a los empleados de cada categoría
+     * ("promocion1", "promocion2"...).
+     *
+     * @param model El modelo al que se agregan los atributos de la vista de la escala salarial y, además:
+     *              - "simulacion": el resultado de la simulación.
+     *              En caso de que algún dato no sea válido, se maneja la excepción y se agrega el mensaje de error al modelo.
+     */
+    private void doPostSimula(Model model) {
+        try {
+            int[] sueldosBase = this.getSueldosBase();
+            Map<Integer, Integer> promociones = new HashMap<>();
+            for (int categoria = 1; categoria <= sueldosBase.length; categoria++) {
+                String promocion = this.getRequestParameter("promocion" + categoria);
+                if (promocion != null && !promocion.isEmpty() && Integer.parseInt(promocion) != categoria) {
+                    promociones.put(categoria, Integer.parseInt(promocion));
+                }
+            }
+            int incremento = Integer.parseInt(this.getRequestParameter("incremento"));
+            EscenarioSalarial escenario = new EscenarioSalarial(sueldosBase, incremento, promociones);
+            this.doGetEscalas(model);
+            model.addAttribute("simulacion", this.simulacionSalarialService.simula(escenario));
+        } catch (RuntimeException e) {
+            this.manejaException(model, "Error al simular la escala salarial: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Procesa la solicitud POST para generar las nóminas de un mes ("periodo", con el formato AAAA-MM) y guardarlas en el
+     * histórico. Si no se indica el mes, se generan las del mes en curso.
+     *
+     * @param model El modelo al que se agregan los atributos de la vista del histórico de nóminas y, además:
+     *              - "periodoGenerado": el periodo generado con su número de nóminas y coste total.
+     *              En caso de que el mes no sea válido o ya se haya generado, se maneja la excepción y se agrega el
+     *              mensaje de error al modelo.
+     */
+    private void doPostPeriodo(Model model) {
+        try {
+            String periodo = this.getRequestParameter("periodo");
+            YearMonth mes = periodo == null || periodo.isEmpty() ? YearMonth.now() : YearMonth.parse(periodo);
+            PeriodoNomina generado = this.historicoNominasService.generaPeriodo(mes);
+            this.doGetHistorico(model);
+            model.addAttribute("periodoGenerado", generado);
+        } catch (RuntimeException e) {
+            this.manejaException(model, "Error al generar las nóminas del periodo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene los sueldos base por categoría enviados en los parámetros "sueldo1", "sueldo2"... de la solicitud, uno por
+     * cada categoría de la tabla salarial vigente.
+     *
+     * @return Los sueldos base, ordenados por categoría.
+     * @throws NumberFormatException Si falta algún sueldo o no es un número entero.
+     */
+    private int[] getSueldosBase() {
+        int[] sueldosBase = new int[this.tablaSalarialService.obtenerTablaVigente().getNumeroCategorias()];
+        for (int categoria = 1; categoria <= sueldosBase.length; categoria++) {
+            sueldosBase[categoria - 1] = Integer.parseInt(this.getRequestParameter("sueldo" + categoria));
+        }
+        return sueldosBase;
+    }
+
     /**
      * Procesa la solicitud POST para iniciar sesión de un administrador con las credenciales proporcionadas.
      *
@@ -390,8 +770,7 @@ public class IndexController {
         Optional<Administrador> result = this.administradorService.accederSesion(admin);
         if (!result.isEmpty()) {
             sesion.setMaxInactiveInterval(900);
-            Date expiracion = new Date(new Date().getTime() + sesion.getMaxInactiveInterval() * 1000);
-            sesion.setAttribute("expiracion", expiracion.toGMTString());
+            sesion.setAttribute("expiracion", System.currentTimeMillis() + sesion.getMaxInactiveInterval() * 1000L);
         } else {
             sesion.invalidate();
         }
@@ -408,15 +787,19 @@ public class IndexController {
     }
 
     /**
-     * Verifica si el usuario está actualmente logueado comprobando la sesión y su tiempo de expiración.
+     * Verifica si el usuario está actualmente logueado comprobando la sesión y su tiempo de expiración, guardado como
+     * milisegundos desde la época para compararlo directamente con la hora actual. No crea la sesión si no existe,
+     * para no guardar en la base de datos una sesión por cada visitante sin login.
      *
      * @return true si hay una sesión activa y no ha expirado; false en caso contrario.
      */
-    private Boolean estaLogueado() {
-        HttpSession sesion = this.getSession();
-        String expiracion = (String) sesion.getAttribute("expiracion");
-        Date actual = new Date();
-        return expiracion != null && actual.before(new Date(Date.parse(expiracion)));
+    private boolean estaLogueado() {
+        HttpSession sesion = this.getHttpRequest().getSession(false);
+        if (sesion == null) {
+            return false;
+        }
+        Object expiracion = sesion.getAttribute("expiracion");
+        return expiracion instanceof Long milisegundos && System.currentTimeMillis() < milisegundos;
     }
 
     /**
@@ -455,7 +838,7 @@ public class IndexController {
      *              - "logueado": indica si el usuario está logueado o no.
      */
     private void estableceAtributosComunes(Model model) {
-        Boolean logueado = this.estaLogueado();
+        boolean logueado = this.estaLogueado();
         model.addAttribute("paginaActual", this.getOpcion());
         model.addAttribute("logueado", logueado);
     }
@@ -480,13 +863,31 @@ public class IndexController {
         HttpServletRequest request = this.getHttpRequest();
         return request.getParameter(parameter);
     }
+    /**
+     * Obtiene el valor numérico de un parámetro de la solicitud HTTP actual, admitiendo la coma como separador decimal.
+     *
+     * @param parameter El nombre del parámetro que se desea obtener.
+     * @return El valor numérico del parámetro, o null si no está presente o está en blanco.
+     * @throws NumberFormatException Si el valor del parámetro no es un número.
+     */
+    private Double getRequestParameterDouble(String parameter) {
+        String valor = this.getRequestParameter(parameter);
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        return Double.parseDouble(valor.trim().replace(",", "."));
+    }
+
     /**
      * Maneja una excepción estableciendo un mensaje de error y redirigiendo a la vista de manejo de excepciones.
+     * El error se contabiliza en la métrica de errores de la opción actual, ya que la respuesta sigue siendo correcta.
      *
      * @param model   El modelo al que se agrega el mensaje de error.
      * @param mensaje El mensaje de error a ser mostrado.
      */
     private void manejaException(Model model, String mensaje) {
+        this.meterRegistry.counter(MetricasConfig.METRICA_ERRORES,
+                MetricasConfig.ETIQUETA_OPCION, MetricasConfig.etiquetaOpcion(this.getOpcion())).increment();
         model.addAttribute("mensajeError", mensaje);
         model.addAttribute("contenido", "/exception/error.html");
     }
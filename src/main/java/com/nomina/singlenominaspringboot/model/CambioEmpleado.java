@@ -0,0 +1,43 @@
+package com.nomina.singlenominaspringboot.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio confirmado de un empleado o de su nómina, registrado por la instancia que lo hizo para que las demás lo
+ * apliquen a sus datos en memoria. Los cambios sólo se insertan, con un identificador creciente que cada instancia usa
+ * para leer los que todavía no ha aplicado.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "cambios_empleados")
+public class CambioEmpleado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // DNI del empleado modificado, o null si el cambio afecta a todos los empleados (procesos masivos)
+    private String dni;
+
+    // Identificador de la instancia que hizo el cambio
+    private String instancia;
+
+    private LocalDateTime registrado;
+
+    public CambioEmpleado(String dni, String instancia) {
+        this(null, dni, instancia, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,37 @@
+package com.nomina.singlenominaspringboot.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Punto de control de un proceso masivo que recorre los empleados por DNI. Se guarda en la misma transacción que cada
+ * lote procesado, de modo que si el proceso se interrumpe puede reanudarse a partir del último DNI confirmado.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "checkpoints_proceso")
+public class CheckpointProceso {
+
+    @Id
+    private String proceso;
+
+    private String ultimoDni;
+
+    private Long filas;
+
+    private LocalDateTime actualizado;
+
+    public CheckpointProceso(String proceso) {
+        this(proceso, "", 0L, null);
+    }
+}
@@ -6,6 +6,8 @@ import jakarta.validation.constraints.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 
 @NoArgsConstructor
@@ -13,7 +15,15 @@ import org.hibernate.annotations.ColumnDefault;
 @Setter
 @Entity
 @Table(name = "empleados")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Empleado {
+
+    /**
+     * Categoría más alta que puede tener un empleado. Toda escala salarial debe indicar el sueldo base hasta ella.
+     */
+    public static final int CATEGORIA_MAXIMA = 9;
+
     @Id
     @Pattern(regexp = "\\d{8}[A-Z]", message = "El DNI debe tener 8 dígitos seguidos de una letra mayúscula")
     private String dni;
@@ -26,7 +36,7 @@ public class Empleado {
     private String sexo;
 
     @Min(value = 1, message = "La categoría debe ser al menos 1")
-    @Max(value = 9, message = "La categoría no puede ser mayor que 9")
+    @Max(value = CATEGORIA_MAXIMA, message = "La categoría no puede ser mayor que 9")
     private Integer categoria;
 
     @Min(value = 0, message = "Los años deben ser al menos 0")
@@ -41,6 +51,16 @@ public class Empleado {
     @PrimaryKeyJoinColumn
     private Nomina nomina;
 
+    // Versión para el control optimista de concurrencia: dos ediciones simultáneas del mismo empleado no se
+    // sobrescriben, la segunda en confirmarse falla y se informa del conflicto
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    // Año de la última acumulación anual de antigüedad aplicada al empleado, para no aplicarla dos veces en el mismo año
+    // aunque el proceso se repita o se reanude
+    private Integer anyoAcumulacion;
+
     /**
      * Constructor con todos los parámetros heredados de la clase Persona.
      * Por defecto se le asigna la categoría 1 y los años de antigüedad en 0
@@ -0,0 +1,35 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Datos de un empleado que muestran los listados. Las consultas de listado lo construyen directamente en la sentencia
+ * SELECT, de modo que sólo se leen estas columnas, no se carga la nómina y los resultados no se registran en el
+ * contexto de persistencia ni se comprueban al confirmar la transacción.
+ */
+@AllArgsConstructor
+@Getter
+public class EmpleadoListado {
+
+    private String dni;
+
+    private String nombre;
+
+    private String sexo;
+
+    private Integer categoria;
+
+    private Double anyos;
+
+    public String getSexoFormato() {
+        String sexo = getSexo().toLowerCase();
+        if (sexo.equals("f")) {
+            return "Femenino";
+        } else if (sexo.equals("m")) {
+            return "Masculino";
+        } else {
+            return "N/C";
+        }
+    }
+}
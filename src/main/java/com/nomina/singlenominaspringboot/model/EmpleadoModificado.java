@@ -0,0 +1,26 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento publicado al guardar o dar de baja un empleado, para que las estructuras en memoria que dependen de los
+ * empleados activos se actualicen cuando se confirma la transacción. El empleado se lee después de confirmar, de modo
+ * que su versión y el salario de su nómina son ya los guardados en la base de datos.
+ */
+@AllArgsConstructor
+@Getter
+public class EmpleadoModificado {
+
+    private Empleado empleado;
+
+    private boolean activo;
+
+    public String getDni() {
+        return this.empleado.getDni();
+    }
+
+    public String getNombre() {
+        return this.empleado.getNombre();
+    }
+}
@@ -0,0 +1,18 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Error producido al importar una fila del fichero CSV de empleados.
+ */
+@AllArgsConstructor
+@Getter
+public class ErrorImportacion {
+
+    private long fila;
+
+    private String dni;
+
+    private String mensaje;
+}
@@ -0,0 +1,57 @@
+package com.nomina.singlenominaspringboot.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Versión de la escala salarial: el sueldo base de cada categoría y el incremento por año de antigüedad, con la fecha
+ * a partir de la cual está en vigor. Las versiones no se modifican una vez guardadas; un cambio de la política salarial
+ * se registra como una versión nueva, de modo que se conserva la escala con la que se calculó cada salario.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "escalas_salariales")
+public class EscalaSalarial {
+
+    @Id
+    private Integer version;
+
+    private LocalDate vigenteDesde;
+
+    private Integer incrementoAnyo;
+
+    // Momento en que la versión pasó a ser la escala vigente y se recalcularon las nóminas, o null si aún no lo ha sido
+    private LocalDateTime activada;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "escalas_salariales_sueldos", joinColumns = @JoinColumn(name = "version"))
+    @MapKeyColumn(name = "categoria")
+    @Column(name = "sueldo_base")
+    private Map<Integer, Integer> sueldosBase = new TreeMap<>();
+
+    public EscalaSalarial(Integer version, LocalDate vigenteDesde, int[] sueldosBase, Integer incrementoAnyo) {
+        this.version = version;
+        this.vigenteDesde = vigenteDesde;
+        this.incrementoAnyo = incrementoAnyo;
+        for (int categoria = 1; categoria <= sueldosBase.length; categoria++) {
+            this.sueldosBase.put(categoria, sueldosBase[categoria - 1]);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Escala salarial hipotética que se quiere simular: el sueldo base de cada categoría, el incremento por año de
+ * antigüedad y, opcionalmente, las promociones de categoría que se aplican a todos los empleados de una categoría
+ * (categoría actual a categoría de destino).
+ */
+@AllArgsConstructor
+@Getter
+public class EscenarioSalarial {
+
+    private final int[] sueldosBase;
+
+    private final int incrementoAnyo;
+
+    private final Map<Integer, Integer> promociones;
+}
@@ -0,0 +1,51 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criterios combinados de búsqueda de empleados activos. Los criterios sin valor no se aplican.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+public class FiltroEmpleados {
+
+    public static final int LIMITE_DEFECTO = 100;
+
+    public static final int LIMITE_MAXIMO = 1000;
+
+    private List<Integer> categorias = new ArrayList<>();
+
+    private Double salarioMinimo;
+
+    private Double salarioMaximo;
+
+    private Double anyosMinimo;
+
+    private Double anyosMaximo;
+
+    private String sexo;
+
+    private String prefijoNombre;
+
+    // Campo de ordenación: "dni", "nombre", "categoria", "anyos" o "salario"
+    private String orden = "dni";
+
+    private boolean descendente;
+
+    private int limite = LIMITE_DEFECTO;
+
+    /**
+     * Obtiene el número máximo de empleados a devolver, ajustado al rango 1 - LIMITE_MAXIMO.
+     *
+     * @return El límite de resultados.
+     */
+    public int getLimiteNormalizado() {
+        return Math.max(1, Math.min(this.limite, LIMITE_MAXIMO));
+    }
+}
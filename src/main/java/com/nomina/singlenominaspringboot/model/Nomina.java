@@ -6,6 +6,9 @@ import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.UUID;
 
@@ -14,12 +17,15 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "nominas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Nomina {
 
-    private static final int SUELDO_BASE[] = {50000, 70000, 90000, 110000, 130000, 150000, 170000, 190000, 210000, 230000};
-
+    // Secuencia con asignación agrupada: Hibernate reserva 50 identificadores por consulta a la secuencia,
+    // lo que permite agrupar las inserciones de nóminas en lotes JDBC
     @Id
-    @GeneratedValue(strategy= GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "nominas_seq")
+    @SequenceGenerator(name = "nominas_seq", sequenceName = "nominas_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -29,13 +35,46 @@ public class Nomina {
     @Min(value = 0, message = "El salario debe ser al menos 0")
     private Double salario;
 
+    // Versión para el control optimista de concurrencia; el recálculo masivo por SQL también la incrementa
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     /**
-     * Método que genera el sueldo del empleado en función a su categoría y antigüedad
+     * Método que genera el sueldo del empleado en función a su categoría y antigüedad, según la tabla salarial vigente
      *
      * @return double
      */
     public double calculaSueldo() {
-        return SUELDO_BASE[this.getEmpleado().getCategoria() - 1] + 5000 * this.getEmpleado().getAnyos();
+        return TablaSalarial.vigente().calculaSueldo(this.getEmpleado().getCategoria(), this.getEmpleado().getAnyos());
+    }
+
+    /**
+     * Método que devuelve el sueldo base de una categoría en la tabla salarial vigente
+     *
+     * @param categoria
+     * @return int
+     */
+    public static int getSueldoBase(int categoria) {
+        return TablaSalarial.vigente().getSueldoBase(categoria);
+    }
+
+    /**
+     * Método que devuelve el número de categorías con sueldo base definido en la tabla salarial vigente
+     *
+     * @return int
+     */
+    public static int getNumeroCategorias() {
+        return TablaSalarial.vigente().getNumeroCategorias();
+    }
+
+    /**
+     * Método que devuelve el incremento del sueldo por año de antigüedad en la tabla salarial vigente
+     *
+     * @return int
+     */
+    public static int getIncrementoAnyo() {
+        return TablaSalarial.vigente().getIncrementoAnyo();
     }
 
     public void actualizaSueldo() {
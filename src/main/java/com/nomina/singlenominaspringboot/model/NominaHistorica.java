@@ -0,0 +1,69 @@
+package com.nomina.singlenominaspringboot.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * Nómina de un empleado en un periodo mensual ya generado: los datos del empleado y su salario tal y como estaban al
+ * generar el periodo. Las filas del histórico sólo se insertan, nunca se modifican ni se borran.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Entity
+@Immutable
+@IdClass(NominaHistorica.Clave.class)
+@Table(name = "nominas_historico", indexes = @Index(name = "idx_nominas_historico_dni_periodo", columnList = "dni, periodo"))
+public class NominaHistorica {
+
+    // Periodo de la nómina como año y mes (AAAAMM), por el que se particiona la tabla
+    @Id
+    private Integer periodo;
+
+    @Id
+    private String dni;
+
+    @Column(nullable = false)
+    private String nombre;
+
+    @Column(nullable = false)
+    private Integer categoria;
+
+    @Column(nullable = false)
+    private Double anyos;
+
+    // Salario anual del empleado al generar el periodo
+    @Column(nullable = false)
+    private Double salario;
+
+    // Importe de la nómina del mes: la doceava parte del salario anual, redondeada a céntimos
+    @Column(nullable = false)
+    private Double importe;
+
+    /**
+     * Clave primaria de la nómina histórica: el periodo y el DNI del empleado.
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @EqualsAndHashCode
+    public static class Clave implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Integer periodo;
+
+        private String dni;
+    }
+}
@@ -0,0 +1,41 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página de un listado de empleados recorrido por clave (DNI). En lugar de un desplazamiento numérico, cada página
+ * conoce el primer y el último DNI que contiene, que sirven de cursor para pedir la página anterior o la siguiente.
+ */
+@AllArgsConstructor
+@Getter
+public class PaginaEmpleados {
+
+    private List<EmpleadoListado> empleados;
+
+    private int tamanyo;
+
+    private boolean hayAnterior;
+
+    private boolean haySiguiente;
+
+    /**
+     * Obtiene el DNI del primer empleado de la página, usado como cursor para la página anterior.
+     *
+     * @return El DNI del primer empleado o null si la página está vacía.
+     */
+    public String getPrimerDni() {
+        return this.empleados.isEmpty() ? null : this.empleados.get(0).getDni();
+    }
+
+    /**
+     * Obtiene el DNI del último empleado de la página, usado como cursor para la página siguiente.
+     *
+     * @return El DNI del último empleado o null si la página está vacía.
+     */
+    public String getUltimoDni() {
+        return this.empleados.isEmpty() ? null : this.empleados.get(this.empleados.size() - 1).getDni();
+    }
+}
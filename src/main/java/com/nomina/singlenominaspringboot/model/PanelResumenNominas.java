@@ -0,0 +1,45 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Panel con el coste total, el número de empleados y el salario medio de la plantilla activa por categoría, por sexo
+ * y en total. Se construye a partir de los agregados materializados por categoría y sexo, cuyo número está acotado por
+ * las categorías y sexos posibles, sin recorrer los empleados.
+ */
+@Getter
+public class PanelResumenNominas {
+
+    private final List<TotalNominas> porCategoria = new ArrayList<>();
+
+    private final List<TotalNominas> porSexo = new ArrayList<>();
+
+    private final TotalNominas total;
+
+    public PanelResumenNominas(List<ResumenNomina> resumenes) {
+        Map<Integer, long[]> empleadosCategoria = new TreeMap<>();
+        Map<Integer, double[]> salariosCategoria = new TreeMap<>();
+        Map<String, long[]> empleadosSexo = new TreeMap<>();
+        Map<String, double[]> salariosSexo = new TreeMap<>();
+        long empleados = 0;
+        double salarios = 0;
+        for (ResumenNomina resumen : resumenes) {
+            empleadosCategoria.computeIfAbsent(resumen.getCategoria(), c -> new long[1])[0] += resumen.getEmpleados();
+            salariosCategoria.computeIfAbsent(resumen.getCategoria(), c -> new double[1])[0] += resumen.getTotalSalarios();
+            empleadosSexo.computeIfAbsent(resumen.getSexo(), s -> new long[1])[0] += resumen.getEmpleados();
+            salariosSexo.computeIfAbsent(resumen.getSexo(), s -> new double[1])[0] += resumen.getTotalSalarios();
+            empleados += resumen.getEmpleados();
+            salarios += resumen.getTotalSalarios();
+        }
+        empleadosCategoria.forEach((categoria, numero) -> this.porCategoria.add(
+                new TotalNominas(categoria.toString(), numero[0], salariosCategoria.get(categoria)[0])));
+        empleadosSexo.forEach((sexo, numero) -> this.porSexo.add(
+                new TotalNominas(sexo, numero[0], salariosSexo.get(sexo)[0])));
+        this.total = new TotalNominas("Total", empleados, salarios);
+    }
+}
@@ -0,0 +1,52 @@
+package com.nomina.singlenominaspringboot.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodo mensual de nóminas generado, con el número de nóminas y su coste total (la suma de sus importes),
+ * calculados una sola vez al generarlo para no recorrer el histórico cada vez que se consultan.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Entity
+@Immutable
+@Table(name = "nominas_periodos")
+public class PeriodoNomina {
+
+    // Año y mes del periodo (AAAAMM)
+    @Id
+    private Integer periodo;
+
+    private Long empleados;
+
+    private Double costeTotal;
+
+    private LocalDateTime generado;
+
+    /**
+     * Obtiene el año del periodo.
+     *
+     * @return El año.
+     */
+    public int getAnyo() {
+        return this.periodo / 100;
+    }
+
+    /**
+     * Obtiene el mes del periodo.
+     *
+     * @return El mes, de 1 a 12.
+     */
+    public int getMes() {
+        return this.periodo % 100;
+    }
+}
@@ -0,0 +1,24 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Categoría, antigüedad y salario actual de los empleados activos en arrays de tipos primitivos alineados por posición,
+ * para los cálculos que recorren toda la plantilla sin crear objetos por empleado. Los arrays se comparten con la
+ * instantánea de empleados de la que proceden y no deben modificarse. Un salario NaN indica un empleado sin nómina.
+ */
+@AllArgsConstructor
+@Getter
+public class PlantillaSalarial {
+
+    private final int[] categorias;
+
+    private final double[] anyos;
+
+    private final double[] salarios;
+
+    public int getEmpleados() {
+        return this.categorias.length;
+    }
+}
@@ -0,0 +1,37 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de empleados: filas leídas, filas importadas y errores de cada fila rechazada.
+ */
+@Getter
+public class ResultadoImportacion {
+
+    private long filasLeidas;
+
+    private long filasImportadas;
+
+    private long milisegundos;
+
+    private final List<ErrorImportacion> errores = new ArrayList<>();
+
+    public void sumaFilaLeida() {
+        this.filasLeidas++;
+    }
+
+    public void sumaFilasImportadas(long filas) {
+        this.filasImportadas += filas;
+    }
+
+    public void anyadeError(long fila, String dni, String mensaje) {
+        this.errores.add(new ErrorImportacion(fila, dni, mensaje));
+    }
+
+    public void finaliza(long milisegundos) {
+        this.milisegundos = milisegundos;
+    }
+}
@@ -0,0 +1,27 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado de un recálculo masivo de nóminas: filas actualizadas, tiempo empleado y si se reanudó un recálculo previo.
+ */
+@AllArgsConstructor
+@Getter
+public class ResultadoRecalculo {
+
+    private long filas;
+
+    private long milisegundos;
+
+    private boolean reanudado;
+
+    /**
+     * Obtiene el rendimiento del recálculo.
+     *
+     * @return El número de filas actualizadas por segundo.
+     */
+    public double getFilasPorSegundo() {
+        return this.milisegundos > 0 ? this.filas * 1000.0 / this.milisegundos : this.filas;
+    }
+}
@@ -0,0 +1,64 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resultado de simular una escala salarial sobre la plantilla activa: el coste actual y el simulado en total y por
+ * categoría actual de los empleados, y cuántos empleados quedan en cada tramo de variación de su salario.
+ */
+@AllArgsConstructor
+@Getter
+public class ResultadoSimulacion {
+
+    private final SimulacionGrupo total;
+
+    private final List<SimulacionGrupo> porCategoria;
+
+    private final List<TramoVariacion> distribucion;
+
+    private final long milisegundos;
+
+    /**
+     * Coste actual y simulado de un grupo de empleados.
+     */
+    @AllArgsConstructor
+    @Getter
+    public static class SimulacionGrupo {
+
+        private final String grupo;
+
+        private final long empleados;
+
+        private final double costeActual;
+
+        private final double costeSimulado;
+
+        public double getDiferencia() {
+            return this.costeSimulado - this.costeActual;
+        }
+
+        /**
+         * Obtiene la variación del coste del grupo en porcentaje sobre el coste actual.
+         *
+         * @return El porcentaje de variación, o 0 si el coste actual es 0.
+         */
+        public double getPorcentaje() {
+            return this.costeActual > 0 ? this.getDiferencia() * 100 / this.costeActual : 0;
+        }
+    }
+
+    /**
+     * Número de empleados cuya variación de salario está en un tramo.
+     */
+    @AllArgsConstructor
+    @Getter
+    public static class TramoVariacion {
+
+        private final String tramo;
+
+        private final long empleados;
+    }
+}
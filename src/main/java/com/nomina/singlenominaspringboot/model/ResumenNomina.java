@@ -0,0 +1,71 @@
+package com.nomina.singlenominaspringboot.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Agregado materializado de las nóminas de los empleados activos de una categoría y un sexo: número de empleados y
+ * suma de sus salarios. Se mantiene de forma incremental con cada alta, modificación y baja, y se reconcilia
+ * periódicamente contra las tablas de empleados y nóminas.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+@IdClass(ResumenNominaId.class)
+@Table(name = "resumen_nominas")
+public class ResumenNomina {
+
+    /**
+     * Categoría en la que se agregan los empleados sin categoría, que el esquema original admitía.
+     */
+    public static final int SIN_CATEGORIA = 0;
+
+    /**
+     * Sexo en el que se agregan los empleados sin sexo, que el esquema original admitía.
+     */
+    public static final String SIN_SEXO = "I";
+
+    @Id
+    private Integer categoria;
+
+    @Id
+    private String sexo;
+
+    private Long empleados;
+
+    private Double totalSalarios;
+
+    /**
+     * Obtiene la aportación de un empleado a los agregados: un empleado con el salario de su nómina, en el agregado
+     * de su categoría y sexo, o en los de {@link #SIN_CATEGORIA} y {@link #SIN_SEXO} si no los tiene.
+     *
+     * @param nomina La nómina del empleado, con el empleado asociado.
+     * @return La aportación del empleado, o null si la nómina no tiene empleado.
+     */
+    public static ResumenNomina de(Nomina nomina) {
+        if (nomina == null || nomina.getEmpleado() == null) {
+            return null;
+        }
+        Empleado empleado = nomina.getEmpleado();
+        return new ResumenNomina(empleado.getCategoria() == null ? SIN_CATEGORIA : empleado.getCategoria(),
+                empleado.getSexo() == null ? SIN_SEXO : empleado.getSexo(), 1L,
+                nomina.getSalario() == null ? 0.0 : nomina.getSalario());
+    }
+
+    /**
+     * Obtiene la clave del agregado.
+     *
+     * @return La clave formada por la categoría y el sexo.
+     */
+    public ResumenNominaId getClave() {
+        return new ResumenNominaId(this.categoria, this.sexo);
+    }
+}
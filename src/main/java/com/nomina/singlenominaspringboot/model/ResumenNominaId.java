@@ -0,0 +1,24 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Clave del resumen de nóminas: la combinación de categoría y sexo de los empleados agregados.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class ResumenNominaId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer categoria;
+
+    private String sexo;
+}
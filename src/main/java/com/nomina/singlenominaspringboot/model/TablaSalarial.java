@@ -0,0 +1,109 @@
+package com.nomina.singlenominaspringboot.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tabla salarial inmutable con el sueldo base de cada categoría y el incremento por año de antigüedad de una versión de
+ * la escala salarial. La tabla vigente se guarda en una referencia atómica y se sustituye entera al activar otra versión,
+ * de modo que el cálculo del sueldo de las nóminas la lee sin bloquearse ni consultar la base de datos, y un cálculo
+ * nunca mezcla valores de dos versiones.
+ */
+public final class TablaSalarial {
+
+    /**
+     * Escala salarial con la que se creó la aplicación, vigente mientras no se haya cargado ninguna versión guardada.
+     */
+    public static final TablaSalarial INICIAL = new TablaSalarial(0,
+            new int[]{50000, 70000, 90000, 110000, 130000, 150000, 170000, 190000, 210000, 230000}, 5000);
+
+    private static final AtomicReference<TablaSalarial> VIGENTE = new AtomicReference<>(INICIAL);
+
+    private final int version;
+
+    private final int[] sueldosBase;
+
+    private final int incrementoAnyo;
+
+    private TablaSalarial(int version, int[] sueldosBase, int incrementoAnyo) {
+        this.version = version;
+        this.sueldosBase = sueldosBase;
+        this.incrementoAnyo = incrementoAnyo;
+    }
+
+    /**
+     * Crea la tabla salarial de una versión guardada de la escala.
+     *
+     * @param escala La versión de la escala salarial, con un sueldo base para cada categoría desde la 1.
+     * @return La tabla salarial de la versión.
+     * @throws IllegalArgumentException Si falta el sueldo base de alguna categoría.
+     */
+    public static TablaSalarial de(EscalaSalarial escala) {
+        Map<Integer, Integer> sueldos = escala.getSueldosBase();
+        int[] sueldosBase = new int[sueldos.size()];
+        for (int categoria = 1; categoria <= sueldosBase.length; categoria++) {
+            Integer sueldo = sueldos.get(categoria);
+            if (sueldo == null) {
+                throw new IllegalArgumentException("Falta el sueldo base de la categoría " + categoria
+                        + " en la versión " + escala.getVersion() + " de la escala salarial");
+            }
+            sueldosBase[categoria - 1] = sueldo;
+        }
+        return new TablaSalarial(escala.getVersion(), sueldosBase, escala.getIncrementoAnyo());
+    }
+
+    /**
+     * Obtiene la tabla salarial vigente.
+     *
+     * @return La tabla salarial vigente.
+     */
+    public static TablaSalarial vigente() {
+        return VIGENTE.get();
+    }
+
+    /**
+     * Sustituye la tabla salarial vigente.
+     *
+     * @param tabla La nueva tabla salarial vigente.
+     */
+    public static void publica(TablaSalarial tabla) {
+        VIGENTE.set(tabla);
+    }
+
+    /**
+     * Calcula el sueldo de un empleado según esta tabla.
+     *
+     * @param categoria La categoría del empleado.
+     * @param anyos     Los años de antigüedad del empleado.
+     * @return El sueldo base de la categoría más el incremento por cada año de antigüedad.
+     */
+    public double calculaSueldo(int categoria, double anyos) {
+        return this.sueldosBase[categoria - 1] + this.incrementoAnyo * anyos;
+    }
+
+    public int getVersion() {
+        return this.version;
+    }
+
+    public int getSueldoBase(int categoria) {
+        return this.sueldosBase[categoria - 1];
+    }
+
+    public int getNumeroCategorias() {
+        return this.sueldosBase.length;
+    }
+
+    public int getIncrementoAnyo() {
+        return this.incrementoAnyo;
+    }
+
+    /**
+     * Obtiene una copia de los sueldos base, ordenados por categoría.
+     *
+     * @return Los sueldos base de las categorías 1 en adelante.
+     */
+    public int[] getSueldosBase() {
+        return Arrays.copyOf(this.sueldosBase, this.sueldosBase.length);
+    }
+}
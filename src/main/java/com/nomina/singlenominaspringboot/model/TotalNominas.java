@@ -0,0 +1,27 @@
+package com.nomina.singlenominaspringboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Total de nóminas de un grupo de empleados activos (una categoría, un sexo o toda la plantilla) para el panel de resumen.
+ */
+@AllArgsConstructor
+@Getter
+public class TotalNominas {
+
+    private String grupo;
+
+    private long empleados;
+
+    private double totalSalarios;
+
+    /**
+     * Obtiene el salario medio del grupo.
+     *
+     * @return El total de salarios dividido entre el número de empleados, o 0 si el grupo no tiene empleados.
+     */
+    public double getSalarioMedio() {
+        return this.empleados == 0 ? 0 : this.totalSalarios / this.empleados;
+    }
+}
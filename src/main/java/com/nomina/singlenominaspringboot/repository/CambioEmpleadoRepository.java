@@ -0,0 +1,28 @@
+package com.nomina.singlenominaspringboot.repository;
+
+import com.nomina.singlenominaspringboot.model.CambioEmpleado;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CambioEmpleadoRepository extends CrudRepository<CambioEmpleado, Long> {
+
+    List<CambioEmpleado> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limite);
+
+    List<CambioEmpleado> findByIdIn(Collection<Long> ids);
+
+    @Query("select max(c.id) from CambioEmpleado c")
+    Optional<Long> findUltimoId();
+
+    @Modifying
+    @Query("delete from CambioEmpleado c where c.registrado < :limite")
+    int eliminaAnteriores(LocalDateTime limite);
+}
@@ -0,0 +1,13 @@
+package com.nomina.singlenominaspringboot.repository;
+
+import com.nomina.singlenominaspringboot.model.CheckpointProceso;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CheckpointProcesoRepository extends CrudRepository<CheckpointProceso, String> {
+
+    List<CheckpointProceso> findByProcesoStartingWith(String prefijo);
+}
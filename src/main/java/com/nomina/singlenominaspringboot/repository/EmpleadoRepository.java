@@ -1,30 +1,64 @@
 package com.nomina.singlenominaspringboot.repository;
 
 import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EmpleadoListado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmpleadoRepository extends CrudRepository<Empleado, String> {
-    List<Empleado> findAllByEstadoEmpleadoIsTrue();
+public interface EmpleadoRepository extends CrudRepository<Empleado, String>, EmpleadoRepositoryCustom {
+    // Las páginas del listado devuelven directamente los datos que muestran (EmpleadoListado) mediante una expresión
+    // constructora: sólo se leen las columnas necesarias, sin la nómina y sin entidades gestionadas por el contexto de
+    // persistencia. El listado completo y sus filtros se sirven desde la instantánea en memoria (InstantaneaEmpleados).
+    // Las consultas de lectura usan la caché de consultas de Hibernate; sus resultados se invalidan automáticamente
+    // cuando Hibernate escribe en "empleados" o "nominas". Las consultas de escritura e importación leen siempre
+    // de la base de datos.
+    // Las consultas que devuelven la entidad cargan la nómina en la misma sentencia: al ser el lado inverso de una
+    // relación uno a uno que se carga en modo EAGER, sin el grafo Hibernate lanzaría una consulta adicional.
+    @EntityGraph(attributePaths = "nomina")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Optional<Empleado> findByDniAndEstadoEmpleadoIsTrue(String dni);
 
-    List<Empleado> findAllByEstadoEmpleadoIsTrueAndCategoria(Integer categoria);
+    // Empleado activo o dado de baja junto con su nómina, para modificarlos en la misma transacción
+    @EntityGraph(attributePaths = "nomina")
+    Optional<Empleado> findConNominaByDni(String dni);
 
-    List<Empleado> findAllByEstadoEmpleadoIsTrueAndNomina_Salario(Double salario);
+    // Empleados modificados desde otra instancia, con su nómina, para aplicar los cambios en memoria
+    @EntityGraph(attributePaths = "nomina")
+    List<Empleado> findConNominaByDniIn(Collection<String> dnis);
 
-    List<Empleado> findAllByEstadoEmpleadoIsTrueAndAnyos(Double anyos);
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<EmpleadoListado> findListadoByEstadoEmpleadoIsTrueOrderByDniAsc(Pageable limite);
 
-    List<Empleado> findAllByEstadoEmpleadoIsTrueAndNombreContainingIgnoreCase(String nombre);
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<EmpleadoListado> findListadoByEstadoEmpleadoIsTrueAndDniGreaterThanOrderByDniAsc(String dni, Pageable limite);
 
-    List<Empleado> findAllByEstadoEmpleadoIsTrueAndSexo(String sexo);
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<EmpleadoListado> findListadoByEstadoEmpleadoIsTrueAndDniLessThanOrderByDniDesc(String dni, Pageable limite);
 
-    List<Empleado> findAllByEstadoEmpleadoIsTrueAndDniContainingIgnoreCase(String dni);
+    @Query("select e.dni, e.nombre from Empleado e where e.estadoEmpleado = true")
+    List<Object[]> findDniYNombreDeActivos();
 
-    Optional<Empleado> findByDniAndEstadoEmpleadoIsTrue(String dni);
+    // Columnas de la instantánea en memoria de los empleados activos, ordenadas por DNI
+    @Query("select e.dni, e.nombre, e.sexo, e.categoria, e.anyos, n.salario, e.version from Empleado e"
+            + " left join e.nomina n where e.estadoEmpleado = true order by e.dni")
+    List<Object[]> findInstantaneaDeActivos();
+
+    @Query("select e.dni from Empleado e where e.dni in :dnis")
+    List<String> findDnisExistentes(Collection<String> dnis);
 
+    // Baja lógica: se guarda como una modificación de la entidad, de modo que Hibernate actualiza la caché de segundo
+    // nivel del empleado e invalida los resultados cacheados de las consultas sobre "empleados"
     @Override
     default void delete(Empleado empl) {
         empl.setEstadoEmpleado(false);
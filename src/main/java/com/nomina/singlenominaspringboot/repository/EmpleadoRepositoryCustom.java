@@ -0,0 +1,12 @@
+package com.nomina.singlenominaspringboot.repository;
+
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.FiltroEmpleados;
+
+import java.util.List;
+
+public interface EmpleadoRepositoryCustom {
+
+    List<Empleado> buscaPorFiltro(FiltroEmpleados filtro);
+
+}
@@ -0,0 +1,84 @@
+package com.nomina.singlenominaspringboot.repository;
+
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.FiltroEmpleados;
+import com.nomina.singlenominaspringboot.model.Nomina;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmpleadoRepositoryCustomImpl implements EmpleadoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Busca los empleados activos que cumplen todos los criterios del filtro, construyendo una única consulta con sólo
+     * las condiciones indicadas, ordenada y limitada en la base de datos. La nómina se carga en la misma consulta.
+     * El prefijo del nombre se compara con LIKE 'prefijo%' sin funciones sobre la columna, de forma que pueda usar
+     * el índice sobre el nombre; la distinción de mayúsculas depende de la intercalación de la columna.
+     *
+     * @param filtro Los criterios de búsqueda.
+     * @return La lista de empleados encontrados, como máximo el límite del filtro.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Empleado> buscaPorFiltro(FiltroEmpleados filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Empleado> consulta = cb.createQuery(Empleado.class);
+        Root<Empleado> empleado = consulta.from(Empleado.class);
+        Join<Empleado, Nomina> nomina = (Join<Empleado, Nomina>) empleado.<Empleado, Nomina>fetch("nomina", JoinType.LEFT);
+
+        List<Predicate> condiciones = new ArrayList<>();
+        condiciones.add(cb.isTrue(empleado.get("estadoEmpleado")));
+        if (filtro.getCategorias() != null && !filtro.getCategorias().isEmpty()) {
+            condiciones.add(empleado.get("categoria").in(filtro.getCategorias()));
+        }
+        if (filtro.getSalarioMinimo() != null) {
+            condiciones.add(cb.greaterThanOrEqualTo(nomina.get("salario"), filtro.getSalarioMinimo()));
+        }
+        if (filtro.getSalarioMaximo() != null) {
+            condiciones.add(cb.lessThanOrEqualTo(nomina.get("salario"), filtro.getSalarioMaximo()));
+        }
+        if (filtro.getAnyosMinimo() != null) {
+            condiciones.add(cb.greaterThanOrEqualTo(empleado.get("anyos"), filtro.getAnyosMinimo()));
+        }
+        if (filtro.getAnyosMaximo() != null) {
+            condiciones.add(cb.lessThanOrEqualTo(empleado.get("anyos"), filtro.getAnyosMaximo()));
+        }
+        if (filtro.getSexo() != null && !filtro.getSexo().isEmpty()) {
+            condiciones.add(cb.equal(empleado.get("sexo"), filtro.getSexo()));
+        }
+        if (filtro.getPrefijoNombre() != null && !filtro.getPrefijoNombre().isEmpty()) {
+            String prefijo = filtro.getPrefijoNombre().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            condiciones.add(cb.like(empleado.get("nombre"), prefijo + "%", '\\'));
+        }
+        consulta.select(empleado).where(condiciones.toArray(new Predicate[0]));
+
+        Expression<?> campoOrden = switch (filtro.getOrden() == null ? "" : filtro.getOrden()) {
+            case "nombre" -> empleado.get("nombre");
+            case "categoria" -> empleado.get("categoria");
+            case "anyos" -> empleado.get("anyos");
+            case "salario" -> nomina.get("salario");
+            default -> empleado.get("dni");
+        };
+        if (filtro.isDescendente()) {
+            consulta.orderBy(cb.desc(campoOrden), cb.desc(empleado.get("dni")));
+        } else {
+            consulta.orderBy(cb.asc(campoOrden), cb.asc(empleado.get("dni")));
+        }
+
+        return entityManager.createQuery(consulta)
+                .setMaxResults(filtro.getLimiteNormalizado())
+                .getResultList();
+    }
+}
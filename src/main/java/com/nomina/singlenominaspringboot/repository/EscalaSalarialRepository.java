@@ -0,0 +1,22 @@
+package com.nomina.singlenominaspringboot.repository;
+
+import com.nomina.singlenominaspringboot.model.EscalaSalarial;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EscalaSalarialRepository extends CrudRepository<EscalaSalarial, Integer> {
+
+    // Versión en vigor en una fecha: la de fecha de vigencia más reciente que no sea posterior y, a igual fecha, la última
+    Optional<EscalaSalarial> findFirstByVigenteDesdeLessThanEqualOrderByVigenteDesdeDescVersionDesc(LocalDate fecha);
+
+    List<EscalaSalarial> findAllByOrderByVersionDesc();
+
+    @Query("select coalesce(max(e.version), 0) from EscalaSalarial e")
+    int findUltimaVersion();
+}
@@ -0,0 +1,13 @@
+package com.nomina.singlenominaspringboot.repository;
+
+import com.nomina.singlenominaspringboot.model.NominaHistorica;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NominaHistoricaRepository extends JpaRepository<NominaHistorica, NominaHistorica.Clave> {
+
+    List<NominaHistorica> findByDniAndPeriodoGreaterThanEqualOrderByPeriodoDesc(String dni, Integer periodo);
+}
@@ -0,0 +1,14 @@
+package com.nomina.singlenominaspringboot.repository;
+
+import com.nomina.singlenominaspringboot.model.PeriodoNomina;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PeriodoNominaRepository extends JpaRepository<PeriodoNomina, Integer> {
+
+    List<PeriodoNomina> findAllByOrderByPeriodoDesc(Pageable limite);
+}
@@ -0,0 +1,45 @@
+package com.nomina.singlenominaspringboot.repository;
+
+import com.nomina.singlenominaspringboot.model.ResumenNomina;
+import com.nomina.singlenominaspringboot.model.ResumenNominaId;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ResumenNominaRepository extends CrudRepository<ResumenNomina, ResumenNominaId> {
+
+    List<ResumenNomina> findAllByOrderByCategoriaAscSexoAsc();
+
+    // Suma atómica en la base de datos, sin leer antes la fila, para que las actualizaciones concurrentes no se pisen.
+    // Si todavía no existe el agregado de la categoría y el sexo, se crea en la misma sentencia: comprobar antes si
+    // existe dejaría que dos primeras altas concurrentes intentaran crearlo a la vez. La sentencia sólo afecta a
+    // "resumen_nominas", por lo que Hibernate no vacía el resto de la caché de segundo nivel al ejecutarla.
+    @Modifying
+    @Query(value = "insert into resumen_nominas (categoria, sexo, empleados, total_salarios)"
+            + " values (:categoria, :sexo, :empleados, :salarios)"
+            + " on duplicate key update empleados = empleados + :empleados, total_salarios = total_salarios + :salarios",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "resumen_nominas"))
+    int sumaAgregado(@Param("categoria") Integer categoria, @Param("sexo") String sexo,
+                     @Param("empleados") long empleados, @Param("salarios") double salarios);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ResumenNomina r")
+    List<ResumenNomina> bloqueaTodos();
+
+    // Los empleados sin categoría o sin sexo se agregan como en ResumenNomina.de
+    @Query("select new com.nomina.singlenominaspringboot.model.ResumenNomina(coalesce(e.categoria, 0), coalesce(e.sexo, 'I'),"
+            + " count(e), coalesce(sum(n.salario), 0.0)) from Empleado e left join e.nomina n where e.estadoEmpleado = true"
+            + " group by coalesce(e.categoria, 0), coalesce(e.sexo, 'I')")
+    List<ResumenNomina> calculaDesdeEmpleados();
+}
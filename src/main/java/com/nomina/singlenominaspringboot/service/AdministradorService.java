@@ -2,26 +2,79 @@ package com.nomina.singlenominaspringboot.service;
 
 import com.nomina.singlenominaspringboot.model.Administrador;
 import com.nomina.singlenominaspringboot.repository.AdministradorRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 @Service
+@Timed("nominas.servicio")
 public class AdministradorService implements AdministradorServiceInterface {
 
+    private static final Pattern HASH_BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
     @Autowired
     private  AdministradorRepository  administradorRepository;
 
+    @Autowired
+    private BCryptPasswordEncoder codificador;
+
+    /**
+     * Hash de una contraseña cualquiera con el que se compara cuando el DNI no existe, para que el login tarde lo mismo
+     * tanto si el administrador existe como si no.
+     */
+    private volatile String hashFicticio;
+
     /**
-     * Accede a la sesión de un administrador comparando el DNI, email y contraseña proporcionados.
+     * Accede a la sesión de un administrador buscándolo por su DNI (la clave primaria, servida desde la caché de
+     * segundo nivel) y comprobando su email y la contraseña proporcionada contra el hash con sal guardado.
+     * La búsqueda es de sólo lectura, por lo que se ejecuta en la réplica de lectura si está configurada.
+     * Si la contraseña guardada aún está en claro, o su hash se calculó con un coste menor que el configurado, tras un
+     * login correcto se guarda el hash con el coste actual.
      *
      * @param admin Objeto Administrador con los datos de sesión a verificar.
-     * @return Un Optional que puede contener el administrador si se encuentra en la sesión, o vacío si no.
+     * @return Un Optional que puede contener el administrador si las credenciales son correctas, o vacío si no.
      */
-
     @Override
     public Optional<Administrador> accederSesion(Administrador admin) {
-        return administradorRepository.findByDniAndEmailAndContrasenya(admin.getDni(),admin.getEmail(), admin.getContrasenya());
+        Optional<Administrador> guardado = administradorRepository.findById(admin.getDni());
+        if (guardado.isEmpty() || admin.getContrasenya() == null) {
+            codificador.matches("", this.getHashFicticio());
+            return Optional.empty();
+        }
+        Administrador administrador = guardado.get();
+        String contrasenya = administrador.getContrasenya();
+        boolean esHash = contrasenya != null && HASH_BCRYPT.matcher(contrasenya).find();
+        boolean correcta = esHash ? codificador.matches(admin.getContrasenya(), contrasenya)
+                : contrasenya != null && MessageDigest.isEqual(contrasenya.getBytes(StandardCharsets.UTF_8),
+                        admin.getContrasenya().getBytes(StandardCharsets.UTF_8));
+        if (!correcta || !Objects.equals(administrador.getEmail(), admin.getEmail())) {
+            return Optional.empty();
+        }
+        if (!esHash || codificador.upgradeEncoding(contrasenya)) {
+            administrador.setContrasenya(codificador.encode(admin.getContrasenya()));
+            administrador = administradorRepository.save(administrador);
+        }
+        return Optional.of(administrador);
+    }
+
+    /**
+     * Obtiene el hash ficticio, calculándolo con el coste configurado la primera vez que se necesita.
+     *
+     * @return El hash de una contraseña cualquiera.
+     */
+    private String getHashFicticio() {
+        String hash = this.hashFicticio;
+        if (hash == null) {
+            hash = codificador.encode("contraseña ficticia");
+            this.hashFicticio = hash;
+        }
+        return hash;
     }
 }
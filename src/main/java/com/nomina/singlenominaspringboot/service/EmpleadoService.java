@@ -1,145 +1,316 @@
 package com.nomina.singlenominaspringboot.service;
 
+import com.nomina.singlenominaspringboot.config.TiemposPeticion;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
 import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EmpleadoListado;
+import com.nomina.singlenominaspringboot.model.EmpleadoModificado;
+import com.nomina.singlenominaspringboot.model.FiltroEmpleados;
 import com.nomina.singlenominaspringboot.model.Nomina;
+import com.nomina.singlenominaspringboot.model.PaginaEmpleados;
+import com.nomina.singlenominaspringboot.model.ResumenNomina;
 import com.nomina.singlenominaspringboot.repository.EmpleadoRepository;
-import com.nomina.singlenominaspringboot.repository.NominaRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 @Service
+@Timed("nominas.servicio")
 public class EmpleadoService implements EmpleadoServiceInterface {
 
+    public static final int TAMANYO_PAGINA_DEFECTO = 50;
+
+    public static final int TAMANYO_PAGINA_MAXIMO = 500;
+
     @Autowired
     private EmpleadoRepository empleadoRepository;
 
-    @Autowired
-    private NominaRepository nominaRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
     private Validator validador;
 
+    @Autowired
+    private IndiceBusquedaEmpleados indiceBusqueda;
+
+    @Autowired
+    private InstantaneaEmpleados instantanea;
+
+    @Autowired
+    private ResumenNominasService resumenNominas;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
     /**
-     * Obtiene una lista de empleados activos.
+     * Obtiene una lista de empleados activos desde la instantánea en memoria, sin consultar la base de datos.
      *
-     * @return Una lista de objetos Empleado cuyo estado de empleado es verdadero.
+     * @return Los datos de listado de los empleados cuyo estado de empleado es verdadero, ordenados por DNI.
      */
     @Override
-    public List<Empleado> obtenerListaEmpleados() {
-        return empleadoRepository.findAllByEstadoEmpleadoIsTrue();
+    public List<EmpleadoListado> obtenerListaEmpleados() {
+        return instantanea.obtenerEmpleados();
     }
 
     /**
      * Obtiene una lista filtrada de empleados activos basada en un campo y su valor asociado.
+     * La lista se obtiene de la instantánea en memoria sin consultar la base de datos: la categoría y el sexo se
+     * resuelven con sus índices, las búsquedas por subcadena del nombre y del DNI con el índice de trigramas, y el
+     * salario y la antigüedad recorriendo los arrays de la instantánea.
      *
      * @param campo Campo por el cual se va a filtrar la lista de empleados.
      * @param valor Valor asociado al campo para realizar el filtro.
-     * @return Una lista de objetos Empleado filtrada por el campo y valor especificados.
+     * @return Los datos de listado de los empleados filtrados por el campo y valor especificados.
      */
     @Override
-    public List<Empleado> obtenerListaEmpleados(String campo, Object valor) {
+    public List<EmpleadoListado> obtenerListaEmpleados(String campo, Object valor) {
         if (campo == null || valor == null || valor.equals("")) {
-            return empleadoRepository.findAllByEstadoEmpleadoIsTrue();
+            return instantanea.obtenerEmpleados();
         } else if (campo.equals("sexo")) {
-            return empleadoRepository.findAllByEstadoEmpleadoIsTrueAndSexo(valor.toString());
+            return instantanea.obtenerPorSexo(valor.toString());
         } else if (campo.equals("dni")) {
-            return empleadoRepository.findAllByEstadoEmpleadoIsTrueAndDniContainingIgnoreCase(valor.toString());
+            return instantanea.obtenerEmpleados(indiceBusqueda.buscaPorDni(valor.toString()));
         } else if (campo.equals("nombre")) {
-            return empleadoRepository.findAllByEstadoEmpleadoIsTrueAndNombreContainingIgnoreCase(valor.toString());
+            return instantanea.obtenerEmpleados(indiceBusqueda.buscaPorNombre(valor.toString()));
         } else if (campo.equals("categoria")) {
             int valorNormalizado = Integer.parseInt(valor.toString().replace(",", "."));
-            return empleadoRepository.findAllByEstadoEmpleadoIsTrueAndCategoria(valorNormalizado);
+            return instantanea.obtenerPorCategoria(valorNormalizado);
         } else if (campo.equals("salario")) {
-            return empleadoRepository.findAllByEstadoEmpleadoIsTrueAndNomina_Salario(Double.parseDouble(valor.toString()));
+            return instantanea.obtenerPorSalario(Double.parseDouble(valor.toString()));
         } else if (campo.equals("anyos")) {
             String valorNormalizado = valor.toString().replace(",", ".");
             double valorDouble = Double.parseDouble(valorNormalizado);
-            return empleadoRepository.findAllByEstadoEmpleadoIsTrueAndAnyos(valorDouble);
+            return instantanea.obtenerPorAnyos(valorDouble);
         }
-        return empleadoRepository.findAllByEstadoEmpleadoIsTrue();
+        return instantanea.obtenerEmpleados();
+    }
+
+    /**
+     * Busca los empleados activos que cumplen a la vez todos los criterios del filtro (categorías, rangos de salario
+     * y antigüedad, sexo y prefijo del nombre) con una única consulta ordenada y limitada en la base de datos.
+     * Al ser de sólo lectura, se ejecuta en la réplica de lectura si está configurada.
+     *
+     * @param filtro Los criterios de búsqueda.
+     * @return La lista de empleados encontrados, ordenada y limitada según el filtro.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Empleado> buscaEmpleados(FiltroEmpleados filtro) {
+        return empleadoRepository.buscaPorFiltro(filtro);
+    }
+
+    /**
+     * Obtiene una página de empleados activos ordenados por DNI. La página se localiza buscando por clave a partir
+     * del cursor recibido (el DNI del último o del primer empleado de la página que se estaba mostrando), de modo que
+     * la base de datos nunca recorre las filas de las páginas previas.
+     * Se pide un empleado más del tamaño de página para saber si existe una página a continuación sin necesidad de contar.
+     * Al ser de sólo lectura, se ejecuta en la réplica de lectura si está configurada.
+     *
+     * @param desde   DNI a partir del cual (excluido) se obtiene la página siguiente, o null.
+     * @param antes   DNI hasta el cual (excluido) se obtiene la página anterior, o null. Se ignora si se indica "desde".
+     * @param tamanyo Número de empleados por página; se ajusta al rango 1 - TAMANYO_PAGINA_MAXIMO.
+     * @return La página de empleados con los indicadores de página anterior y siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaEmpleados obtenerPaginaEmpleados(String desde, String antes, int tamanyo) {
+        int tamanyoPagina = Math.max(1, Math.min(tamanyo, TAMANYO_PAGINA_MAXIMO));
+        Pageable limite = PageRequest.of(0, tamanyoPagina + 1);
+        List<EmpleadoListado> empleados;
+        boolean hayAnterior;
+        boolean haySiguiente;
+        if (desde != null && !desde.isEmpty()) {
+            empleados = new ArrayList<>(empleadoRepository.findListadoByEstadoEmpleadoIsTrueAndDniGreaterThanOrderByDniAsc(desde, limite));
+            haySiguiente = this.recortaPagina(empleados, tamanyoPagina);
+            hayAnterior = true;
+        } else if (antes != null && !antes.isEmpty()) {
+            empleados = new ArrayList<>(empleadoRepository.findListadoByEstadoEmpleadoIsTrueAndDniLessThanOrderByDniDesc(antes, limite));
+            hayAnterior = this.recortaPagina(empleados, tamanyoPagina);
+            haySiguiente = true;
+            Collections.reverse(empleados);
+        } else {
+            empleados = new ArrayList<>(empleadoRepository.findListadoByEstadoEmpleadoIsTrueOrderByDniAsc(limite));
+            haySiguiente = this.recortaPagina(empleados, tamanyoPagina);
+            hayAnterior = false;
+        }
+        return new PaginaEmpleados(empleados, tamanyoPagina, hayAnterior, haySiguiente);
+    }
+
+    /**
+     * Elimina de la lista el empleado adicional pedido para detectar si hay más páginas en el sentido de la búsqueda.
+     *
+     * @param empleados     Lista de empleados obtenida con un elemento más que el tamaño de página.
+     * @param tamanyoPagina Tamaño de página solicitado.
+     * @return true si había más empleados que el tamaño de página; false en caso contrario.
+     */
+    private boolean recortaPagina(List<EmpleadoListado> empleados, int tamanyoPagina) {
+        if (empleados.size() > tamanyoPagina) {
+            empleados.remove(empleados.size() - 1);
+            return true;
+        }
+        return false;
     }
 
     /**
      * Actualiza la información de un empleado en la base de datos, realizando validaciones y actualizando su estado y nómina si es necesario.
+     * Todo se hace en una única transacción: el empleado se lee con su nómina en una sola consulta, se copian sobre él
+     * los datos recibidos y Hibernate escribe al confirmar sólo las filas que han cambiado. Los agregados del resumen
+     * de nóminas se corrigen en la misma transacción restando los valores anteriores del empleado y sumando los nuevos.
+     * Si el empleado recibido indica la versión que se editó y el empleado guardado tiene otra, o si otra transacción
+     * lo modifica antes de confirmar, no se sobrescribe y se lanza una excepción de bloqueo optimista.
      *
      * @param empl El objeto Empleado con la información actualizada a guardar.
      * @return El objeto Empleado actualizado en la base de datos.
+     * @throws ObjectOptimisticLockingFailureException Si el empleado o su nómina se han modificado desde que se leyeron.
      * @throws RuntimeException Si se encuentran errores de validación al actualizar o al manipular la información de la nómina.
      */
     @Override
+    @Transactional
     public Empleado actualizaEmpleado(Empleado empl) throws RuntimeException {
+        this.valida(empl);
+        return this.guarda(empl, empleadoRepository.findConNominaByDni(empl.getDni()));
+    }
 
-        Set<ConstraintViolation<Empleado>> errores = validador.validate(empl);
-        if (errores.isEmpty()) {
-            empl.setEstadoEmpleado(true);
-            Empleado empleado = empleadoRepository.save(empl);
-            Optional<Nomina> nominaResult = nominaRepository.findByEmpleado_Dni(empl.getDni());
-            Nomina nomina = null;
-            if (nominaResult.isEmpty()) {
-                nomina = new Nomina();
-                nomina.setEmpleado(empl);
-            } else {
-                nomina = nominaResult.get();
+    /**
+     * Valida las restricciones de un empleado.
+     *
+     * @param empl El empleado a validar.
+     * @throws RuntimeException Si el empleado incumple alguna restricción, con la descripción de los errores.
+     */
+    private void valida(Empleado empl) throws RuntimeException {
+        Set<ConstraintViolation<Empleado>> errores = TiemposPeticion.mideValidacion(() -> validador.validate(empl));
+        if (!errores.isEmpty()) {
+            throw new RuntimeException(describeErrores(errores));
+        }
+    }
+
+    /**
+     * Guarda un empleado ya validado y su nómina dentro de la transacción en curso. Si el empleado existe, se modifica
+     * la entidad gestionada para que sólo se actualicen las columnas cambiadas; si no, se inserta sin consultarlo antes.
+     *
+     * @param empl      El empleado con los datos a guardar.
+     * @param existente El empleado guardado en la base de datos con su nómina, si existe.
+     * @return El empleado guardado.
+     */
+    private Empleado guarda(Empleado empl, Optional<Empleado> existente) {
+        Empleado empleado;
+        ResumenNomina anterior = null;
+        if (existente.isPresent()) {
+            empleado = existente.get();
+            if (empl.getVersion() != null && !empl.getVersion().equals(empleado.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Empleado.class, empleado.getDni());
             }
-            nomina.actualizaSueldo();
-            nominaRepository.save(nomina);
-            return empleado;
-        } else {
-            String mensaje = "";
-            for (ConstraintViolation error : errores) {
-                mensaje += " " + error.getMessageTemplate() + ",";
+            if (Boolean.TRUE.equals(empleado.getEstadoEmpleado())) {
+                anterior = ResumenNomina.de(empleado.getNomina());
             }
-            throw new RuntimeException(mensaje.substring(0, mensaje.length() - 1));
+            empleado.setNombre(empl.getNombre());
+            empleado.setSexo(empl.getSexo());
+            try {
+                empleado.setCategoria(empl.getCategoria());
+            } catch (DatosNoCorrectosException e) {
+                throw new RuntimeException(e.getMessage());
+            }
+            empleado.setAnyos(empl.getAnyos());
+        } else {
+            empleado = empl;
+            entityManager.persist(empleado);
         }
+        empleado.setEstadoEmpleado(true);
+        Nomina nomina = empleado.getNomina();
+        if (nomina == null) {
+            nomina = new Nomina();
+            nomina.setEmpleado(empleado);
+            empleado.setNomina(nomina);
+            entityManager.persist(nomina);
+        }
+        nomina.actualizaSueldo();
+        resumenNominas.registraCambio(anterior, ResumenNomina.de(nomina));
+        eventos.publishEvent(new EmpleadoModificado(empleado, true));
+        return empleado;
+    }
+
+    /**
+     * Compone el mensaje de error a partir de las restricciones de validación incumplidas por un empleado.
+     *
+     * @param errores Las restricciones incumplidas, al menos una.
+     * @return Los mensajes de las restricciones separados por comas.
+     */
+    static String describeErrores(Set<ConstraintViolation<Empleado>> errores) {
+        String mensaje = "";
+        for (ConstraintViolation error : errores) {
+            mensaje += " " + error.getMessageTemplate() + ",";
+        }
+        return mensaje.substring(0, mensaje.length() - 1);
     }
 
     /**
      * Registra un nuevo empleado en la base de datos o actualiza la información si el empleado ya existe o está inactivo.
+     * La comprobación del DNI y el guardado se hacen en la misma transacción y con una única lectura del empleado.
      *
      * @param empl El objeto Empleado a registrar o actualizar.
      * @return El objeto Empleado registrado o actualizado en la base de datos.
      * @throws RuntimeException Si el DNI ya está asociado a un empleado registrado o si hay errores al actualizar la información del empleado.
      */
     @Override
+    @Transactional
     public Empleado registraEmpleado(Empleado empl) throws RuntimeException {
-        Optional<Empleado> result = this.obtenerEmpleadoPorDni(empl.getDni());
-        if (result.isEmpty() || !result.get().getEstadoEmpleado()) {
-            return this.actualizaEmpleado(empl);
-        } else {
+        Optional<Empleado> existente = empleadoRepository.findConNominaByDni(empl.getDni());
+        if (existente.isPresent() && Boolean.TRUE.equals(existente.get().getEstadoEmpleado())) {
             throw new RuntimeException("El DNI ya existe para un empleado registrado");
         }
+        this.valida(empl);
+        return this.guarda(empl, existente);
     }
 
     /**
-     * Busca un empleado activo por su número de identificación (DNI) en el repositorio de empleados.
+     * Busca un empleado activo por su número de identificación (DNI) en la instantánea en memoria, sin consultar la
+     * base de datos. El empleado devuelto es una copia nueva, con la versión y el salario guardados, y no está
+     * gestionado por Hibernate.
      *
      * @param dni El número de identificación (DNI) del empleado a buscar.
      * @return Un Optional que puede contener al empleado activo si se encuentra por su DNI, o vacío si no existe.
      */
     @Override
     public Optional<Empleado> obtenerEmpleadoPorDni(String dni) {
-        return empleadoRepository.findByDniAndEstadoEmpleadoIsTrue(dni);
+        return instantanea.obtenerEmpleado(dni);
     }
 
     /**
      * Elimina un empleado de la base de datos según su número de identificación (DNI).
+     * Si el empleado estaba activo, se resta de los agregados del resumen de nóminas en la misma transacción.
      *
      * @param dni El número de identificación (DNI) del empleado a eliminar.
      * @return El objeto Empleado eliminado de la base de datos.
      * @throws RuntimeException Si se intenta eliminar un empleado que no existe en la base de datos.
      */
     @Override
+    @Transactional
     public Empleado eliminarEmpleado(String dni) throws RuntimeException {
-        Optional<Empleado> empl = empleadoRepository.findById(dni);
+        Optional<Empleado> empl = empleadoRepository.findConNominaByDni(dni);
         if (!empl.isEmpty()) {
+            boolean activo = Boolean.TRUE.equals(empl.get().getEstadoEmpleado());
             empleadoRepository.delete(empl.get());
+            if (activo) {
+                resumenNominas.registraBaja(empl.get().getNomina());
+            }
+            eventos.publishEvent(new EmpleadoModificado(empl.get(), false));
             return empl.get();
         } else {
             throw new RuntimeException("No puede eliminar un empleado que no existe");
@@ -149,6 +320,7 @@ public class EmpleadoService implements EmpleadoServiceInterface {
 
     /**
      * Obtiene el salario de un empleado por su número de identificación (DNI).
+     * El salario se lee de la instantánea en memoria, sin consultar la base de datos.
      *
      * @param dni El número de identificación (DNI) del empleado del cual se desea obtener el salario.
      * @return El salario del empleado correspondiente al DNI proporcionado.
@@ -156,9 +328,9 @@ public class EmpleadoService implements EmpleadoServiceInterface {
      */
     @Override
     public Double obtenerSalarioPorDni(String dni) throws RuntimeException {
-        Optional<Empleado> result = empleadoRepository.findByDniAndEstadoEmpleadoIsTrue(dni);
+        Optional<Double> result = instantanea.obtenerSalario(dni);
         if (!result.isEmpty()) {
-            return result.get().getNomina().getSalario();
+            return result.get();
         } else {
             throw new RuntimeException("El DNI introducido no se encuentra registrado en la base de datos");
         }
@@ -1,6 +1,9 @@
 package com.nomina.singlenominaspringboot.service;
 
 import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EmpleadoListado;
+import com.nomina.singlenominaspringboot.model.FiltroEmpleados;
+import com.nomina.singlenominaspringboot.model.PaginaEmpleados;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,9 +17,13 @@ public interface EmpleadoServiceInterface {
 
     public Empleado eliminarEmpleado(String dni);
 
-    public List<Empleado> obtenerListaEmpleados();
+    public List<EmpleadoListado> obtenerListaEmpleados();
 
-    public List<Empleado> obtenerListaEmpleados(String campo, Object valor);
+    public List<EmpleadoListado> obtenerListaEmpleados(String campo, Object valor);
+
+    public PaginaEmpleados obtenerPaginaEmpleados(String desde, String antes, int tamanyo);
+
+    public List<Empleado> buscaEmpleados(FiltroEmpleados filtro);
 
     public Double obtenerSalarioPorDni(String dni);
 
@@ -0,0 +1,142 @@
+package com.nomina.singlenominaspringboot.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ExportacionService implements ExportacionServiceInterface {
+
+    private static final String SQL_NOMINAS = "SELECT e.dni, e.nombre, e.sexo, e.categoria, e.anyos, n.salario"
+            + " FROM empleados e LEFT JOIN nominas n ON n.dni = e.dni WHERE e.estado_empleado = TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Crea el servicio con su propia plantilla JDBC configurada para recorrer el resultado con un cursor de sólo avance,
+     * recibiendo las filas del servidor en bloques en lugar de cargar el resultado completo en memoria.
+     *
+     * @param dataSource    El origen de datos de la aplicación.
+     * @param tamanyoBloque Número de filas que se reciben del servidor en cada bloque.
+     */
+    @Autowired
+    public ExportacionService(DataSource dataSource, @Value("${nominas.exportacion.tamanyo-bloque:1000}") int tamanyoBloque) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(tamanyoBloque);
+    }
+
+    /**
+     * Escribe en formato CSV los empleados activos y su salario, filtrados por el mismo campo y valor que admite
+     * {@link EmpleadoService#obtenerListaEmpleados(String, Object)}. Cada fila se escribe en la salida según se lee
+     * de la base de datos, por lo que la memoria usada no depende del número de empleados.
+     *
+     * @param campo  Campo por el cual se va a filtrar, o null para exportar todos los empleados activos.
+     * @param valor  Valor asociado al campo para realizar el filtro.
+     * @param salida El flujo en el que se escribe el CSV.
+     * @throws IOException Si se produce un error al escribir en la salida.
+     */
+    @Override
+    public void exportaNominas(String campo, Object valor, OutputStream salida) throws IOException {
+        StringBuilder sql = new StringBuilder(SQL_NOMINAS);
+        List<Object> parametros = new ArrayList<>();
+        this.anyadeFiltro(campo, valor, sql, parametros);
+        sql.append(" ORDER BY e.dni");
+
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        escritor.write("dni;nombre;sexo;categoria;anyos;salario\n");
+        try {
+            jdbcTemplate.query(sql.toString(), rs -> {
+                try {
+                    escritor.write(rs.getString(1));
+                    escritor.write(';');
+                    escritor.write(escapaCsv(rs.getString(2)));
+                    escritor.write(';');
+                    escritor.write(escapaCsv(rs.getString(3)));
+                    escritor.write(';');
+                    escritor.write(Integer.toString(rs.getInt(4)));
+                    escritor.write(';');
+                    escritor.write(Double.toString(rs.getDouble(5)));
+                    escritor.write(';');
+                    double salario = rs.getDouble(6);
+                    escritor.write(rs.wasNull() ? "" : Double.toString(salario));
+                    escritor.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, parametros.toArray());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        escritor.flush();
+    }
+
+    /**
+     * Añade a la consulta la condición correspondiente al campo y valor de filtro.
+     *
+     * @param campo      Campo por el cual se va a filtrar.
+     * @param valor      Valor asociado al campo.
+     * @param sql        La consulta a completar.
+     * @param parametros Los parámetros de la consulta a completar.
+     */
+    private void anyadeFiltro(String campo, Object valor, StringBuilder sql, List<Object> parametros) {
+        if (campo == null || valor == null || valor.equals("")) {
+            return;
+        }
+        String texto = valor.toString();
+        switch (campo) {
+            case "sexo":
+                sql.append(" AND e.sexo = ?");
+                parametros.add(texto);
+                break;
+            case "dni":
+                sql.append(" AND LOWER(e.dni) LIKE ?");
+                parametros.add("%" + texto.toLowerCase() + "%");
+                break;
+            case "nombre":
+                sql.append(" AND LOWER(e.nombre) LIKE ?");
+                parametros.add("%" + texto.toLowerCase() + "%");
+                break;
+            case "categoria":
+                sql.append(" AND e.categoria = ?");
+                parametros.add(Integer.parseInt(texto.replace(",", ".")));
+                break;
+            case "salario":
+                sql.append(" AND n.salario = ?");
+                parametros.add(Double.parseDouble(texto));
+                break;
+            case "anyos":
+                sql.append(" AND e.anyos = ?");
+                parametros.add(Double.parseDouble(texto.replace(",", ".")));
+                break;
+            default:
+        }
+    }
+
+    /**
+     * Entrecomilla un valor de texto si contiene el separador, comillas o saltos de línea.
+     *
+     * @param texto El valor a escribir.
+     * @return El valor listo para escribirse en el CSV.
+     */
+    private static String escapaCsv(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        if (texto.indexOf(';') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,10 @@
+package com.nomina.singlenominaspringboot.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportacionServiceInterface {
+
+    public void exportaNominas(String campo, Object valor, OutputStream salida) throws IOException;
+
+}
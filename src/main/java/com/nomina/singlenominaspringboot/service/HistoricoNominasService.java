@@ -0,0 +1,236 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.CheckpointProceso;
+import com.nomina.singlenominaspringboot.model.NominaHistorica;
+import com.nomina.singlenominaspringboot.model.PeriodoNomina;
+import com.nomina.singlenominaspringboot.repository.CheckpointProcesoRepository;
+import com.nomina.singlenominaspringboot.repository.NominaHistoricaRepository;
+import com.nomina.singlenominaspringboot.repository.PeriodoNominaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class HistoricoNominasService implements HistoricoNominasServiceInterface {
+
+    public static final String PROCESO_HISTORICO = "historico-nominas-";
+
+    public static final int MESES_HISTORICO = 24;
+
+    private static final Logger log = LoggerFactory.getLogger(HistoricoNominasService.class);
+
+    private static final String SQL_FIN_LOTE = "SELECT MAX(dni) FROM (SELECT dni FROM empleados"
+            + " WHERE estado_empleado = TRUE AND dni > ? ORDER BY dni LIMIT ?) lote";
+
+    private static final String SQL_INSERTA_LOTE = "INSERT INTO nominas_historico"
+            + " (periodo, dni, nombre, categoria, anyos, salario, importe)"
+            + " SELECT ?, e.dni, COALESCE(e.nombre, ''), COALESCE(e.categoria, 0), COALESCE(e.anyos, 0), n.salario,"
+            + " ROUND(n.salario / 12, 2)"
+            + " FROM empleados e JOIN nominas n ON n.dni = e.dni"
+            + " WHERE e.estado_empleado = TRUE AND e.dni > ? AND e.dni <= ? AND n.salario IS NOT NULL"
+            + " AND NOT EXISTS (SELECT 1 FROM nominas_historico h WHERE h.periodo = ? AND h.dni = e.dni)";
+
+    private static final String SQL_INSERTA_PERIODO = "INSERT INTO nominas_periodos (periodo, empleados, coste_total, generado)"
+            + " SELECT ?, COUNT(*), COALESCE(SUM(importe), 0), ? FROM nominas_historico WHERE periodo = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CheckpointProcesoRepository checkpointRepository;
+
+    @Autowired
+    private NominaHistoricaRepository historicoRepository;
+
+    @Autowired
+    private PeriodoNominaRepository periodoRepository;
+
+    @Autowired
+    private ReintentosConcurrencia reintentos;
+
+    @Autowired
+    private ReservasProceso reservas;
+
+    @Value("${nominas.recalculo.tamanyo-lote:1000}")
+    private int tamanyoLote;
+
+    /**
+     * Genera las nóminas de un mes para todos los empleados activos con salario, copiando al histórico sus datos y su
+     * salario actuales. Antes de empezar, la instancia reserva la generación en la base de datos creando el punto de
+     * control del proceso, de modo que si el mismo periodo se genera a la vez en varias instancias sólo una lo hace. Los
+     * empleados se recorren por lotes de DNIs consecutivos y cada lote se inserta con una única sentencia
+     * INSERT ... SELECT, confirmada en su propia transacción junto con el avance del punto de control. Si la generación
+     * se interrumpe, el punto de control deja de avanzar y, pasado el tiempo "nominas.procesos.caducidad-reserva-ms",
+     * cualquier instancia puede continuarla desde el último lote confirmado; los empleados que ya tienen la nómina del
+     * periodo no se vuelven a insertar. Los empleados sin nombre, categoría o antigüedad (datos anteriores a la
+     * aplicación) se copian con un nombre vacío y una categoría y antigüedad 0. Al terminar se guardan el número de
+     * nóminas y el coste total del periodo, que desde entonces se considera cerrado.
+     *
+     * @param mes El mes del periodo a generar.
+     * @return El periodo generado.
+     * @throws RuntimeException Si las nóminas del periodo ya se habían generado o se están generando en otra instancia.
+     */
+    @Override
+    public PeriodoNomina generaPeriodo(YearMonth mes) {
+        return this.genera(mes).orElseThrow(
+                () -> new RuntimeException("Las nóminas de " + mes + " se están generando en otra instancia"));
+    }
+
+    /**
+     * Genera las nóminas del mes en curso en la fecha indicada por la expresión cron "nominas.historico.cron-generacion"
+     * (por defecto, el último día de cada mes a las 22:00), si no se habían generado ya. La expresión se evalúa en todas
+     * las instancias, pero sólo la primera que reserva el periodo lo genera.
+     */
+    @Scheduled(cron = "${nominas.historico.cron-generacion:0 0 22 L * *}")
+    public void generaPeriodoProgramado() {
+        YearMonth mes = YearMonth.now();
+        if (!periodoRepository.existsById(periodo(mes)) && this.genera(mes).isEmpty()) {
+            log.info("Las nóminas de {} se están generando en otra instancia", mes);
+        }
+    }
+
+    /**
+     * Al arrancar la aplicación y cada "nominas.procesos.caducidad-reserva-ms", reanuda las generaciones de nóminas que
+     * se interrumpieron antes de terminar, en esta o en otra instancia. Las que siguen avanzando en otra instancia no se
+     * tocan, y los puntos de control de los periodos que ya se han cerrado se borran.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${nominas.procesos.caducidad-reserva-ms:300000}",
+            fixedDelayString = "${nominas.procesos.caducidad-reserva-ms:300000}")
+    public void reanudaGeneraciones() {
+        for (CheckpointProceso checkpoint : checkpointRepository.findByProcesoStartingWith(PROCESO_HISTORICO)) {
+            int periodo = Integer.parseInt(checkpoint.getProceso().substring(PROCESO_HISTORICO.length()));
+            YearMonth mes = YearMonth.of(periodo / 100, periodo % 100);
+            if (periodoRepository.existsById(periodo)) {
+                log.info("Descartada la generación de las nóminas de {}, que ya se han generado", mes);
+                checkpointRepository.delete(checkpoint);
+            } else if (this.genera(mes).isEmpty()) {
+                log.info("Las nóminas de {} se están generando en otra instancia", mes);
+            }
+        }
+    }
+
+    /**
+     * Genera las nóminas de un mes si consigue reservar su generación.
+     *
+     * @param mes El mes del periodo a generar.
+     * @return El periodo generado, o vacío si se está generando en otra instancia.
+     * @throws RuntimeException Si las nóminas del periodo ya se habían generado o si otra instancia ha continuado la
+     *                          generación mientras tanto.
+     */
+    private Optional<PeriodoNomina> genera(YearMonth mes) {
+        int periodo = periodo(mes);
+        if (periodoRepository.existsById(periodo)) {
+            throw new RuntimeException("Las nóminas de " + mes + " ya se han generado");
+        }
+        long inicio = System.currentTimeMillis();
+        String proceso = PROCESO_HISTORICO + periodo;
+        Optional<CheckpointProceso> reservado = reservas.reserva(proceso);
+        if (reservado.isEmpty()) {
+            return Optional.empty();
+        }
+        CheckpointProceso checkpoint = reservado.get();
+        // Otra instancia puede haber cerrado el periodo entre la comprobación anterior y la reserva
+        if (periodoRepository.existsById(periodo)) {
+            transactionTemplate.execute(estado -> reservas.cierra(proceso, checkpoint.getUltimoDni()));
+            throw new RuntimeException("Las nóminas de " + mes + " ya se han generado");
+        }
+        if (!checkpoint.getUltimoDni().isEmpty()) {
+            log.info("Reanudando la generación de las nóminas de {} a partir del DNI {} ({} nóminas ya generadas)",
+                    mes, checkpoint.getUltimoDni(), checkpoint.getFilas());
+        }
+        String finLote;
+        while ((finLote = jdbcTemplate.queryForObject(SQL_FIN_LOTE, String.class, checkpoint.getUltimoDni(), tamanyoLote)) != null) {
+            String inicioLote = checkpoint.getUltimoDni();
+            String fin = finLote;
+            int insertadas = reintentos.ejecuta("Generación de las nóminas de " + mes + " hasta el DNI " + fin, () -> transactionTemplate.execute(estado -> {
+                // El punto de control sólo avanza si sigue donde lo dejó esta instancia; su fila queda bloqueada hasta
+                // confirmar el lote, así que otra instancia que hubiera continuado la generación no puede insertarlo a la vez
+                if (!reservas.avanza(proceso, inicioLote, fin)) {
+                    throw new RuntimeException("Otra instancia ha continuado la generación de las nóminas de " + mes);
+                }
+                int resultado = jdbcTemplate.update(SQL_INSERTA_LOTE, periodo, inicioLote, fin, periodo);
+                reservas.sumaFilas(proceso, resultado);
+                return resultado;
+            }));
+            checkpoint.setUltimoDni(fin);
+            checkpoint.setFilas(checkpoint.getFilas() + insertadas);
+            log.debug("Generación de las nóminas de {}: {} nóminas hasta el DNI {}", mes, checkpoint.getFilas(), fin);
+        }
+        PeriodoNomina generado = transactionTemplate.execute(estado -> {
+            if (!reservas.cierra(proceso, checkpoint.getUltimoDni())) {
+                throw new RuntimeException("Otra instancia ha continuado la generación de las nóminas de " + mes);
+            }
+            // Se inserta, sin sobrescribir, el periodo con los totales calculados en la misma sentencia
+            jdbcTemplate.update(SQL_INSERTA_PERIODO, periodo, LocalDateTime.now(), periodo);
+            return periodoRepository.findById(periodo).orElseThrow();
+        });
+        log.info("Nóminas de {} generadas: {} nóminas, coste total {}, en {} ms", mes, generado.getEmpleados(),
+                generado.getCosteTotal(), System.currentTimeMillis() - inicio);
+        return Optional.of(generado);
+    }
+
+    /**
+     * Obtiene un periodo generado con su número de nóminas y su coste total, sin recorrer el histórico.
+     *
+     * @param mes El mes del periodo.
+     * @return El periodo, o vacío si no se ha generado.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PeriodoNomina> obtenerPeriodo(YearMonth mes) {
+        return periodoRepository.findById(periodo(mes));
+    }
+
+    /**
+     * Obtiene los últimos periodos generados, del más reciente al más antiguo.
+     *
+     * @return Como máximo los MESES_HISTORICO últimos periodos generados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PeriodoNomina> obtenerPeriodos() {
+        return periodoRepository.findAllByOrderByPeriodoDesc(PageRequest.of(0, MESES_HISTORICO));
+    }
+
+    /**
+     * Obtiene las nóminas de un empleado de los últimos MESES_HISTORICO meses, de la más reciente a la más antigua. La
+     * consulta usa el índice por DNI y periodo, y sólo lee las particiones de los años incluidos.
+     *
+     * @param dni El DNI del empleado.
+     * @return Las nóminas históricas del empleado en ese intervalo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<NominaHistorica> obtenerHistoricoEmpleado(String dni) {
+        int desde = periodo(YearMonth.now().minusMonths(MESES_HISTORICO - 1));
+        return historicoRepository.findByDniAndPeriodoGreaterThanEqualOrderByPeriodoDesc(dni.trim().toUpperCase(), desde);
+    }
+
+    /**
+     * Convierte un mes en el número de periodo con el que se guarda (AAAAMM).
+     *
+     * @param mes El mes.
+     * @return El periodo.
+     */
+    private static int periodo(YearMonth mes) {
+        return mes.getYear() * 100 + mes.getMonthValue();
+    }
+}
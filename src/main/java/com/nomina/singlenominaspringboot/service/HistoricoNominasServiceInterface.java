@@ -0,0 +1,20 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.NominaHistorica;
+import com.nomina.singlenominaspringboot.model.PeriodoNomina;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+public interface HistoricoNominasServiceInterface {
+
+    public PeriodoNomina generaPeriodo(YearMonth mes);
+
+    public Optional<PeriodoNomina> obtenerPeriodo(YearMonth mes);
+
+    public List<PeriodoNomina> obtenerPeriodos();
+
+    public List<NominaHistorica> obtenerHistoricoEmpleado(String dni);
+
+}
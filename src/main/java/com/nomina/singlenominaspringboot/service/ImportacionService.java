@@ -0,0 +1,214 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.config.TiemposPeticion;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EmpleadoModificado;
+import com.nomina.singlenominaspringboot.model.Nomina;
+import com.nomina.singlenominaspringboot.model.ResultadoImportacion;
+import com.nomina.singlenominaspringboot.repository.EmpleadoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ImportacionService implements ImportacionServiceInterface {
+
+    private static final int CAMPOS_FILA = 5;
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private Validator validador;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private IndiceBusquedaEmpleados indiceBusqueda;
+
+    @Autowired
+    private ResumenNominasService resumenNominas;
+
+    @Autowired
+    private ReintentosConcurrencia reintentos;
+
+    @Autowired
+    private InstantaneaEmpleados instantanea;
+
+    @Autowired
+    private SincronizacionInstancias sincronizacion;
+
+    @Value("${nominas.importacion.tamanyo-lote:1000}")
+    private int tamanyoLote;
+
+    /**
+     * Importa empleados desde un fichero CSV con las columnas nombre, dni, sexo, categoria y anyos (separadas por comas
+     * o por punto y coma, con cabecera opcional). El fichero se lee línea a línea sin cargarlo en memoria: las filas
+     * válidas se acumulan en lotes y cada lote se inserta, junto con sus nóminas, en una única transacción con
+     * inserciones agrupadas en lotes JDBC. Las filas incorrectas no detienen la importación y se informan en el resultado.
+     *
+     * @param csv El contenido del fichero CSV.
+     * @return El resultado de la importación con las filas importadas y los errores de cada fila rechazada.
+     * @throws IOException Si se produce un error al leer el fichero.
+     */
+    @Override
+    public ResultadoImportacion importaEmpleados(InputStream csv) throws IOException {
+        long inicio = System.currentTimeMillis();
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        Set<String> dnisLeidos = new HashSet<>();
+        Map<Long, Empleado> lote = new LinkedHashMap<>();
+        BufferedReader lector = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String linea;
+        long fila = 0;
+        while ((linea = lector.readLine()) != null) {
+            fila++;
+            if (linea.isBlank() || (fila == 1 && linea.trim().toLowerCase().startsWith("nombre"))) {
+                continue;
+            }
+            resultado.sumaFilaLeida();
+            Empleado empl = this.leeEmpleado(fila, linea, resultado);
+            if (empl != null && !dnisLeidos.add(empl.getDni())) {
+                resultado.anyadeError(fila, empl.getDni(), "El DNI está repetido en el fichero");
+            } else if (empl != null) {
+                lote.put(fila, empl);
+            }
+            if (lote.size() >= tamanyoLote) {
+                this.importaLote(lote, resultado);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            this.importaLote(lote, resultado);
+        }
+        resultado.finaliza(System.currentTimeMillis() - inicio);
+        log.info("Importación de empleados finalizada: {} filas leídas, {} importadas y {} con errores en {} ms",
+                resultado.getFilasLeidas(), resultado.getFilasImportadas(), resultado.getErrores().size(),
+                resultado.getMilisegundos());
+        return resultado;
+    }
+
+    /**
+     * Convierte una línea del fichero en un empleado y lo valida con las restricciones de la entidad.
+     *
+     * @param fila      El número de fila en el fichero.
+     * @param linea     La línea leída.
+     * @param resultado El resultado de la importación, al que se añade el error si la fila no es válida.
+     * @return El empleado leído, o null si la fila no es válida.
+     */
+    private Empleado leeEmpleado(long fila, String linea, ResultadoImportacion resultado) {
+        String[] campos = linea.split(linea.indexOf(';') >= 0 ? ";" : ",", -1);
+        if (campos.length != CAMPOS_FILA) {
+            resultado.anyadeError(fila, null, "La fila debe tener los campos nombre, dni, sexo, categoria y anyos");
+            return null;
+        }
+        String dni = campos[1].trim().toUpperCase();
+        try {
+            Empleado empl = new Empleado(campos[0].trim(), dni, campos[2].trim().toUpperCase(),
+                    Integer.parseInt(campos[3].trim()), Double.parseDouble(campos[4].trim()));
+            Set<ConstraintViolation<Empleado>> errores = TiemposPeticion.mideValidacion(() -> validador.validate(empl));
+            if (!errores.isEmpty()) {
+                resultado.anyadeError(fila, dni, EmpleadoService.describeErrores(errores).trim());
+                return null;
+            }
+            return empl;
+        } catch (NumberFormatException e) {
+            resultado.anyadeError(fila, dni, "La categoría y la antigüedad deben ser numéricas");
+        } catch (DatosNoCorrectosException e) {
+            resultado.anyadeError(fila, dni, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Inserta un lote de empleados válidos con sus nóminas en una sola transacción. Los DNIs ya existentes en la base de
+     * datos se registran uno a uno mediante el servicio de empleados, que rechaza los activos y reactiva los dados de baja;
+     * si un registro choca con una edición simultánea del mismo empleado, se reintenta.
+     * Los agregados del resumen de nóminas y el registro de cambios para las demás instancias se actualizan en la misma
+     * transacción que las inserciones del lote.
+     *
+     * @param lote      Los empleados del lote indexados por su número de fila.
+     * @param resultado El resultado de la importación a actualizar.
+     */
+    private void importaLote(Map<Long, Empleado> lote, ResultadoImportacion resultado) {
+        List<String> dnis = lote.values().stream().map(Empleado::getDni).toList();
+        Set<String> existentes = new HashSet<>(empleadoRepository.findDnisExistentes(dnis));
+        List<Empleado> nuevos = new ArrayList<>();
+        Map<Long, Empleado> registrados = new LinkedHashMap<>();
+        lote.forEach((fila, empl) -> {
+            if (existentes.contains(empl.getDni())) {
+                registrados.put(fila, empl);
+            } else {
+                nuevos.add(empl);
+            }
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(estado -> {
+                List<Nomina> nominas = new ArrayList<>();
+                for (Empleado empl : nuevos) {
+                    entityManager.persist(empl);
+                    Nomina nomina = new Nomina();
+                    nomina.setEmpleado(empl);
+                    empl.setNomina(nomina);
+                    nomina.actualizaSueldo();
+                    entityManager.persist(nomina);
+                    nominas.add(nomina);
+                }
+                resumenNominas.registraAltas(nominas);
+                sincronizacion.registraCambios(nuevos.stream().map(Empleado::getDni).toList());
+            });
+            resultado.sumaFilasImportadas(nuevos.size());
+            List<EmpleadoModificado> cambios = new ArrayList<>();
+            for (Empleado empl : nuevos) {
+                indiceBusqueda.indexa(empl.getDni(), empl.getNombre());
+                cambios.add(new EmpleadoModificado(empl, true));
+            }
+            // El lote entero se publica en la instantánea de empleados con una sola copia
+            instantanea.aplica(cambios);
+        } catch (RuntimeException e) {
+            lote.forEach((fila, empl) -> {
+                if (!registrados.containsKey(fila)) {
+                    resultado.anyadeError(fila, empl.getDni(), "Error al guardar el lote en la base de datos: " + e.getMessage());
+                }
+            });
+        }
+
+        registrados.forEach((fila, empl) -> {
+            try {
+                reintentos.ejecuta("Importación del empleado " + empl.getDni(), () -> empleadoService.registraEmpleado(empl));
+                resultado.sumaFilasImportadas(1);
+            } catch (RuntimeException e) {
+                resultado.anyadeError(fila, empl.getDni(), e.getMessage());
+            }
+        });
+    }
+}
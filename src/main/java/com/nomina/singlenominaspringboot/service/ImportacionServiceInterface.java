@@ -0,0 +1,12 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.ResultadoImportacion;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportacionServiceInterface {
+
+    public ResultadoImportacion importaEmpleados(InputStream csv) throws IOException;
+
+}
@@ -0,0 +1,221 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.EmpleadoModificado;
+import com.nomina.singlenominaspringboot.repository.EmpleadoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Índice en memoria de trigramas sobre el nombre y el DNI de los empleados activos. Permite resolver las búsquedas
+ * por subcadena sin distinguir mayúsculas ni acentos sin recorrer la tabla de empleados: cada trigrama del texto buscado
+ * apunta al conjunto de DNIs que lo contienen, y sólo se comprueban los candidatos presentes en todos ellos.
+ * Las lecturas no se bloquean; las escrituras se serializan para mantener coherentes los trigramas de cada empleado.
+ */
+@Component
+public class IndiceBusquedaEmpleados {
+
+    private static final int LONGITUD_TRIGRAMA = 3;
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBusquedaEmpleados.class);
+
+    private final Map<String, String> nombres = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> trigramasNombre = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> trigramasDni = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    /**
+     * Reconstruye el índice completo a partir de los empleados activos de la base de datos al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruye() {
+        long inicio = System.currentTimeMillis();
+        this.nombres.clear();
+        this.trigramasNombre.clear();
+        this.trigramasDni.clear();
+        for (Object[] fila : empleadoRepository.findDniYNombreDeActivos()) {
+            this.indexa((String) fila[0], (String) fila[1]);
+        }
+        log.info("Índice de búsqueda de empleados reconstruido con {} empleados en {} ms",
+                this.nombres.size(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Añade un empleado activo al índice o actualiza su nombre si ya estaba indexado.
+     *
+     * @param dni    El DNI del empleado.
+     * @param nombre El nombre del empleado.
+     */
+    public synchronized void indexa(String dni, String nombre) {
+        this.desindexa(dni);
+        String nombreNormalizado = normaliza(nombre);
+        this.nombres.put(dni, nombreNormalizado);
+        for (String trigrama : trigramas(nombreNormalizado)) {
+            this.trigramasNombre.computeIfAbsent(trigrama, t -> ConcurrentHashMap.newKeySet()).add(dni);
+        }
+        for (String trigrama : trigramas(normaliza(dni))) {
+            this.trigramasDni.computeIfAbsent(trigrama, t -> ConcurrentHashMap.newKeySet()).add(dni);
+        }
+    }
+
+    /**
+     * Elimina un empleado del índice, por ejemplo al darlo de baja.
+     *
+     * @param dni El DNI del empleado.
+     */
+    public synchronized void desindexa(String dni) {
+        String nombreNormalizado = this.nombres.remove(dni);
+        if (nombreNormalizado != null) {
+            this.eliminaTrigramas(this.trigramasNombre, trigramas(nombreNormalizado), dni);
+            this.eliminaTrigramas(this.trigramasDni, trigramas(normaliza(dni)), dni);
+        }
+    }
+
+    /**
+     * Actualiza el índice con un empleado guardado o dado de baja una vez confirmada la transacción, de modo que el
+     * índice nunca refleje cambios que se hayan deshecho.
+     *
+     * @param evento El empleado modificado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void actualiza(EmpleadoModificado evento) {
+        if (evento.isActivo()) {
+            this.indexa(evento.getDni(), evento.getNombre());
+        } else {
+            this.desindexa(evento.getDni());
+        }
+    }
+
+    /**
+     * Busca los empleados activos cuyo nombre contiene el texto indicado, sin distinguir mayúsculas ni acentos.
+     *
+     * @param texto El texto a buscar.
+     * @return Los DNIs de los empleados encontrados, ordenados.
+     */
+    public List<String> buscaPorNombre(String texto) {
+        String buscado = normaliza(texto);
+        if (buscado.length() < LONGITUD_TRIGRAMA) {
+            List<String> encontrados = new ArrayList<>();
+            this.nombres.forEach((dni, nombre) -> {
+                if (nombre.contains(buscado)) {
+                    encontrados.add(dni);
+                }
+            });
+            Collections.sort(encontrados);
+            return encontrados;
+        }
+        return this.busca(this.trigramasNombre, buscado, dni -> this.nombres.getOrDefault(dni, ""));
+    }
+
+    /**
+     * Busca los empleados activos cuyo DNI contiene el texto indicado, sin distinguir mayúsculas.
+     *
+     * @param texto El texto a buscar.
+     * @return Los DNIs de los empleados encontrados, ordenados.
+     */
+    public List<String> buscaPorDni(String texto) {
+        String buscado = normaliza(texto);
+        if (buscado.length() < LONGITUD_TRIGRAMA) {
+            List<String> encontrados = new ArrayList<>();
+            for (String dni : this.nombres.keySet()) {
+                if (normaliza(dni).contains(buscado)) {
+                    encontrados.add(dni);
+                }
+            }
+            Collections.sort(encontrados);
+            return encontrados;
+        }
+        return this.busca(this.trigramasDni, buscado, IndiceBusquedaEmpleados::normaliza);
+    }
+
+    /**
+     * Intersecta los conjuntos de DNIs de los trigramas del texto buscado, empezando por el más pequeño, y comprueba
+     * que cada candidato contiene realmente el texto completo.
+     *
+     * @param indice  El índice de trigramas sobre el que buscar.
+     * @param buscado El texto buscado, ya normalizado.
+     * @param valor   Función que obtiene el valor normalizado indexado para un DNI.
+     * @return Los DNIs que contienen el texto buscado, ordenados.
+     */
+    private List<String> busca(Map<String, Set<String>> indice, String buscado, Function<String, String> valor) {
+        List<Set<String>> conjuntos = new ArrayList<>();
+        for (String trigrama : trigramas(buscado)) {
+            Set<String> dnis = indice.get(trigrama);
+            if (dnis == null) {
+                return Collections.emptyList();
+            }
+            conjuntos.add(dnis);
+        }
+        conjuntos.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        TreeSet<String> encontrados = new TreeSet<>();
+        for (String dni : conjuntos.get(0)) {
+            boolean candidato = true;
+            for (int i = 1; i < conjuntos.size() && candidato; i++) {
+                candidato = conjuntos.get(i).contains(dni);
+            }
+            if (candidato && valor.apply(dni).contains(buscado)) {
+                encontrados.add(dni);
+            }
+        }
+        return new ArrayList<>(encontrados);
+    }
+
+    private void eliminaTrigramas(Map<String, Set<String>> indice, Set<String> trigramas, String dni) {
+        for (String trigrama : trigramas) {
+            Set<String> dnis = indice.get(trigrama);
+            if (dnis != null) {
+                dnis.remove(dni);
+                if (dnis.isEmpty()) {
+                    indice.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene los trigramas distintos de un texto normalizado.
+     *
+     * @param texto El texto normalizado.
+     * @return El conjunto de subcadenas de tres caracteres del texto.
+     */
+    private static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new TreeSet<>();
+        for (int i = 0; i + LONGITUD_TRIGRAMA <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + LONGITUD_TRIGRAMA));
+        }
+        return trigramas;
+    }
+
+    /**
+     * Normaliza un texto para la búsqueda: minúsculas y sin acentos, igual que la comparación de la base de datos.
+     *
+     * @param texto El texto a normalizar.
+     * @return El texto normalizado, o una cadena vacía si es null.
+     */
+    private static String normaliza(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinAcentos = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinAcentos.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,384 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EmpleadoListado;
+import com.nomina.singlenominaspringboot.model.EmpleadoModificado;
+import com.nomina.singlenominaspringboot.model.Nomina;
+import com.nomina.singlenominaspringboot.model.PlantillaSalarial;
+import com.nomina.singlenominaspringboot.repository.EmpleadoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntPredicate;
+
+/**
+ * Instantánea inmutable en memoria de los empleados activos con su salario, ordenados por DNI en arrays compactos y
+ * con índices secundarios por categoría y por sexo. Las lecturas toman la instantánea vigente de una referencia atómica
+ * y no se bloquean ni consultan la base de datos. Cada escritura confirmada construye una copia con los cambios y la
+ * publica de una sola vez, de modo que un lector ve siempre una instantánea completa, anterior o posterior al cambio.
+ * Las escrituras se serializan entre sí; como la plantilla cambia pocas veces al día, el coste de copiar los arrays en
+ * cada una es despreciable frente al de las lecturas que se ahorran.
+ */
+@Component
+public class InstantaneaEmpleados {
+
+    private static final Logger log = LoggerFactory.getLogger(InstantaneaEmpleados.class);
+
+    private final AtomicReference<Instantanea> actual = new AtomicReference<>(Instantanea.VACIA);
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    /**
+     * Construye la instantánea completa a partir de los empleados activos de la base de datos al arrancar la aplicación
+     * y tras las modificaciones masivas que se hacen sin pasar por las entidades, como el recálculo de nóminas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruye() {
+        long inicio = System.currentTimeMillis();
+        List<Object[]> filas = empleadoRepository.findInstantaneaDeActivos();
+        int total = filas.size();
+        EmpleadoListado[] empleados = new EmpleadoListado[total];
+        double[] salarios = new double[total];
+        long[] versiones = new long[total];
+        for (int i = 0; i < total; i++) {
+            Object[] fila = filas.get(i);
+            empleados[i] = new EmpleadoListado((String) fila[0], (String) fila[1], (String) fila[2],
+                    (Integer) fila[3], (Double) fila[4]);
+            salarios[i] = fila[5] == null ? Double.NaN : (Double) fila[5];
+            versiones[i] = fila[6] == null ? 0 : (Long) fila[6];
+        }
+        this.actual.set(new Instantanea(empleados, salarios, versiones));
+        log.info("Instantánea de empleados construida con {} empleados en {} ms", total, System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Actualiza la instantánea con un empleado guardado o dado de baja una vez confirmada la transacción, de modo que
+     * nunca refleje cambios que se hayan deshecho.
+     *
+     * @param evento El empleado modificado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void actualiza(EmpleadoModificado evento) {
+        this.aplica(List.of(evento));
+    }
+
+    /**
+     * Publica una nueva instantánea con los cambios de varios empleados, copiando una sola vez los arrays de la
+     * instantánea vigente. Si un cambio llega con una versión anterior a la que ya tiene la instantánea (dos escrituras
+     * del mismo empleado cuyas notificaciones se procesan en orden inverso), se descarta.
+     *
+     * @param cambios Los empleados guardados o dados de baja, ya confirmados en la base de datos.
+     */
+    public synchronized void aplica(Collection<EmpleadoModificado> cambios) {
+        if (cambios.isEmpty()) {
+            return;
+        }
+        Instantanea anterior = this.actual.get();
+        EmpleadoModificado[] ordenados = cambios.toArray(new EmpleadoModificado[0]);
+        Arrays.sort(ordenados, Comparator.comparing(EmpleadoModificado::getDni));
+        int maximo = anterior.empleados.length + ordenados.length;
+        EmpleadoListado[] empleados = new EmpleadoListado[maximo];
+        double[] salarios = new double[maximo];
+        long[] versiones = new long[maximo];
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < anterior.empleados.length || j < ordenados.length) {
+            int comparacion = i == anterior.empleados.length ? 1 : j == ordenados.length ? -1
+                    : anterior.empleados[i].getDni().compareTo(ordenados[j].getDni());
+            if (comparacion < 0) {
+                empleados[total] = anterior.empleados[i];
+                salarios[total] = anterior.salarios[i];
+                versiones[total++] = anterior.versiones[i++];
+                continue;
+            }
+            EmpleadoModificado cambio = ordenados[j++];
+            // Si el mismo DNI aparece varias veces en los cambios, sólo se aplica la última aparición
+            if (j < ordenados.length && ordenados[j].getDni().equals(cambio.getDni())) {
+                continue;
+            }
+            long version = version(cambio.getEmpleado());
+            if (comparacion == 0 && anterior.versiones[i] > version) {
+                empleados[total] = anterior.empleados[i];
+                salarios[total] = anterior.salarios[i];
+                versiones[total++] = anterior.versiones[i++];
+                continue;
+            }
+            if (comparacion == 0) {
+                i++;
+            }
+            if (cambio.isActivo()) {
+                Empleado empl = cambio.getEmpleado();
+                empleados[total] = new EmpleadoListado(empl.getDni(), empl.getNombre(), empl.getSexo(),
+                        empl.getCategoria(), empl.getAnyos());
+                salarios[total] = empl.getNomina() == null || empl.getNomina().getSalario() == null ? Double.NaN
+                        : empl.getNomina().getSalario();
+                versiones[total++] = version;
+            }
+        }
+        this.actual.set(new Instantanea(Arrays.copyOf(empleados, total), Arrays.copyOf(salarios, total),
+                Arrays.copyOf(versiones, total)));
+    }
+
+    /**
+     * Obtiene los empleados activos ordenados por DNI.
+     *
+     * @return Una vista inmutable de los empleados de la instantánea vigente.
+     */
+    public List<EmpleadoListado> obtenerEmpleados() {
+        return Collections.unmodifiableList(Arrays.asList(this.actual.get().empleados));
+    }
+
+    /**
+     * Obtiene los empleados activos con los DNIs indicados, ordenados por DNI.
+     *
+     * @param dnis Los DNIs de los empleados a obtener, ordenados.
+     * @return Los empleados activos encontrados en la instantánea vigente.
+     */
+    public List<EmpleadoListado> obtenerEmpleados(List<String> dnis) {
+        Instantanea instantanea = this.actual.get();
+        int[] posiciones = new int[dnis.size()];
+        int total = 0;
+        for (String dni : dnis) {
+            int posicion = instantanea.posicion(dni);
+            if (posicion >= 0) {
+                posiciones[total++] = posicion;
+            }
+        }
+        return instantanea.vista(Arrays.copyOf(posiciones, total));
+    }
+
+    /**
+     * Obtiene los empleados activos de una categoría, mediante el índice por categoría.
+     *
+     * @param categoria La categoría.
+     * @return Los empleados de la categoría ordenados por DNI.
+     */
+    public List<EmpleadoListado> obtenerPorCategoria(int categoria) {
+        Instantanea instantanea = this.actual.get();
+        return instantanea.vista(instantanea.porCategoria.getOrDefault(categoria, new int[0]));
+    }
+
+    /**
+     * Obtiene los empleados activos de un sexo, sin distinguir mayúsculas, mediante el índice por sexo.
+     *
+     * @param sexo El sexo ("M", "F" o "I").
+     * @return Los empleados del sexo indicado ordenados por DNI.
+     */
+    public List<EmpleadoListado> obtenerPorSexo(String sexo) {
+        Instantanea instantanea = this.actual.get();
+        return instantanea.vista(instantanea.porSexo.getOrDefault(clave(sexo), new int[0]));
+    }
+
+    /**
+     * Obtiene los empleados activos con un salario exacto.
+     *
+     * @param salario El salario.
+     * @return Los empleados con ese salario ordenados por DNI.
+     */
+    public List<EmpleadoListado> obtenerPorSalario(double salario) {
+        Instantanea instantanea = this.actual.get();
+        return instantanea.filtra(i -> instantanea.salarios[i] == salario);
+    }
+
+    /**
+     * Obtiene los empleados activos con una antigüedad exacta.
+     *
+     * @param anyos Los años de antigüedad.
+     * @return Los empleados con esa antigüedad ordenados por DNI.
+     */
+    public List<EmpleadoListado> obtenerPorAnyos(double anyos) {
+        Instantanea instantanea = this.actual.get();
+        return instantanea.filtra(i -> instantanea.empleados[i].getAnyos() != null
+                && instantanea.empleados[i].getAnyos() == anyos);
+    }
+
+    /**
+     * Obtiene un empleado activo por su DNI, sin distinguir mayúsculas ni espacios alrededor. Se devuelve un empleado
+     * nuevo, no gestionado por Hibernate, con la versión y el salario de la instantánea, que puede modificarse sin
+     * afectar a otros lectores.
+     *
+     * @param dni El DNI del empleado.
+     * @return El empleado activo, o vacío si no existe.
+     */
+    public Optional<Empleado> obtenerEmpleado(String dni) {
+        Instantanea instantanea = this.actual.get();
+        int posicion = instantanea.posicion(clave(dni));
+        if (posicion < 0) {
+            return Optional.empty();
+        }
+        EmpleadoListado datos = instantanea.empleados[posicion];
+        try {
+            Empleado empl = new Empleado(datos.getNombre(), datos.getDni(), datos.getSexo(),
+                    datos.getCategoria(), datos.getAnyos());
+            empl.setVersion(instantanea.versiones[posicion]);
+            if (!Double.isNaN(instantanea.salarios[posicion])) {
+                Nomina nomina = new Nomina();
+                nomina.setEmpleado(empl);
+                nomina.setSalario(instantanea.salarios[posicion]);
+                empl.setNomina(nomina);
+            }
+            return Optional.of(empl);
+        } catch (DatosNoCorrectosException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene el salario de un empleado activo por su DNI, sin distinguir mayúsculas ni espacios alrededor.
+     *
+     * @param dni El DNI del empleado.
+     * @return El salario del empleado, o vacío si no existe o no tiene nómina.
+     */
+    public Optional<Double> obtenerSalario(String dni) {
+        Instantanea instantanea = this.actual.get();
+        int posicion = instantanea.posicion(clave(dni));
+        if (posicion < 0 || Double.isNaN(instantanea.salarios[posicion])) {
+            return Optional.empty();
+        }
+        return Optional.of(instantanea.salarios[posicion]);
+    }
+
+    /**
+     * Obtiene la categoría, la antigüedad y el salario de los empleados activos en arrays de tipos primitivos, para
+     * recorrer la plantilla completa sin crear objetos. Los arrays son los de la instantánea vigente, sin copiarlos.
+     *
+     * @return La plantilla salarial de la instantánea vigente.
+     */
+    public PlantillaSalarial obtenerPlantilla() {
+        Instantanea instantanea = this.actual.get();
+        return new PlantillaSalarial(instantanea.categorias, instantanea.anyos, instantanea.salarios);
+    }
+
+    /**
+     * Obtiene el número de empleados activos de la instantánea vigente.
+     *
+     * @return El número de empleados.
+     */
+    public int tamanyo() {
+        return this.actual.get().empleados.length;
+    }
+
+    private static long version(Empleado empl) {
+        return empl.getVersion() == null ? 0 : empl.getVersion();
+    }
+
+    /**
+     * Normaliza un DNI o un sexo para buscarlo en la instantánea: mayúsculas y sin espacios alrededor.
+     *
+     * @param valor El valor a normalizar.
+     * @return El valor normalizado, o una cadena vacía si es null.
+     */
+    private static String clave(String valor) {
+        return valor == null ? "" : valor.trim().toUpperCase();
+    }
+
+    /**
+     * Contenido de una instantánea. Todos los arrays están alineados por posición y ordenados por DNI, y los índices
+     * secundarios guardan las posiciones de cada categoría y sexo en orden ascendente. Una vez construida no se
+     * modifica, por lo que puede compartirse entre hilos sin sincronización.
+     */
+    private static final class Instantanea {
+
+        private static final Instantanea VACIA = new Instantanea(new EmpleadoListado[0], new double[0], new long[0]);
+
+        private final EmpleadoListado[] empleados;
+
+        private final String[] dnis;
+
+        private final double[] salarios;
+
+        private final long[] versiones;
+
+        private final int[] categorias;
+
+        private final double[] anyos;
+
+        private final Map<Integer, int[]> porCategoria;
+
+        private final Map<String, int[]> porSexo;
+
+        private Instantanea(EmpleadoListado[] empleados, double[] salarios, long[] versiones) {
+            this.empleados = empleados;
+            this.salarios = salarios;
+            this.versiones = versiones;
+            this.dnis = new String[empleados.length];
+            this.categorias = new int[empleados.length];
+            this.anyos = new double[empleados.length];
+            Map<Integer, Integer> totalesCategoria = new HashMap<>();
+            Map<String, Integer> totalesSexo = new HashMap<>();
+            for (int i = 0; i < empleados.length; i++) {
+                this.dnis[i] = empleados[i].getDni();
+                this.categorias[i] = empleados[i].getCategoria() == null ? 0 : empleados[i].getCategoria();
+                this.anyos[i] = empleados[i].getAnyos() == null ? 0 : empleados[i].getAnyos();
+                totalesCategoria.merge(empleados[i].getCategoria(), 1, Integer::sum);
+                totalesSexo.merge(clave(empleados[i].getSexo()), 1, Integer::sum);
+            }
+            this.porCategoria = new HashMap<>();
+            this.porSexo = new HashMap<>();
+            totalesCategoria.forEach((categoria, total) -> this.porCategoria.put(categoria, new int[total]));
+            totalesSexo.forEach((sexo, total) -> this.porSexo.put(sexo, new int[total]));
+            Map<Integer, Integer> siguienteCategoria = new HashMap<>();
+            Map<String, Integer> siguienteSexo = new HashMap<>();
+            for (int i = 0; i < empleados.length; i++) {
+                Integer categoria = empleados[i].getCategoria();
+                String sexo = clave(empleados[i].getSexo());
+                this.porCategoria.get(categoria)[siguienteCategoria.merge(categoria, 1, Integer::sum) - 1] = i;
+                this.porSexo.get(sexo)[siguienteSexo.merge(sexo, 1, Integer::sum) - 1] = i;
+            }
+        }
+
+        private int posicion(String dni) {
+            return Arrays.binarySearch(this.dnis, dni);
+        }
+
+        private List<EmpleadoListado> filtra(IntPredicate condicion) {
+            int[] posiciones = new int[this.empleados.length];
+            int total = 0;
+            for (int i = 0; i < this.empleados.length; i++) {
+                if (condicion.test(i)) {
+                    posiciones[total++] = i;
+                }
+            }
+            return this.vista(Arrays.copyOf(posiciones, total));
+        }
+
+        /**
+         * Crea una vista de sólo lectura de los empleados en las posiciones indicadas, sin copiarlos.
+         *
+         * @param posiciones Las posiciones de los empleados, en orden ascendente.
+         * @return La lista de empleados.
+         */
+        private List<EmpleadoListado> vista(int[] posiciones) {
+            EmpleadoListado[] empleados = this.empleados;
+            return new AbstractList<>() {
+                @Override
+                public EmpleadoListado get(int indice) {
+                    return empleados[posiciones[indice]];
+                }
+
+                @Override
+                public int size() {
+                    return posiciones.length;
+                }
+            };
+        }
+    }
+}
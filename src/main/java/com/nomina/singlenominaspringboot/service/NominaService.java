@@ -0,0 +1,371 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.CheckpointProceso;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.Nomina;
+import com.nomina.singlenominaspringboot.model.ResultadoRecalculo;
+import com.nomina.singlenominaspringboot.model.TablaSalarial;
+import com.nomina.singlenominaspringboot.repository.CheckpointProcesoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+public class NominaService implements NominaServiceInterface {
+
+    public static final String PROCESO_RECALCULO = "recalculo-nominas";
+
+    public static final String PROCESO_ANTIGUEDAD = "acumulacion-antiguedad-";
+
+    private static final Logger log = LoggerFactory.getLogger(NominaService.class);
+
+    private static final String SQL_FIN_LOTE =
+            "SELECT MAX(dni) FROM (SELECT dni FROM nominas WHERE dni > ? ORDER BY dni LIMIT ?) lote";
+
+    private static final String SQL_FIN_LOTE_ACTIVOS = "SELECT MAX(dni) FROM (SELECT dni FROM empleados"
+            + " WHERE estado_empleado = TRUE AND dni > ? ORDER BY dni LIMIT ?) lote";
+
+    private static final String SQL_PENDIENTES_ANTIGUEDAD = "SELECT COUNT(*) FROM empleados WHERE estado_empleado = TRUE"
+            + " AND dni > ? AND (anyo_acumulacion IS NULL OR anyo_acumulacion < ?)";
+
+    private static final String SQL_ACUMULA_ANTIGUEDAD = "UPDATE empleados SET anyos = LEAST(anyos + 1, 54),"
+            + " anyo_acumulacion = ?, version = version + 1 WHERE dni > ? AND dni <= ? AND estado_empleado = TRUE"
+            + " AND (anyo_acumulacion IS NULL OR anyo_acumulacion < ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CheckpointProcesoRepository checkpointRepository;
+
+    @Autowired
+    private ResumenNominasService resumenNominas;
+
+    @Autowired
+    private ReintentosConcurrencia reintentos;
+
+    @Autowired
+    private InstantaneaEmpleados instantanea;
+
+    @Autowired
+    private SincronizacionInstancias sincronizacion;
+
+    @Autowired
+    private ReservasProceso reservas;
+
+    // Ejecutor de tareas asíncronas de la aplicación, con el que los procesos interrumpidos se reanudan sin bloquear el
+    // arranque
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private TaskExecutor ejecutor;
+
+    @Value("${nominas.recalculo.tamanyo-lote:1000}")
+    private int tamanyoLote;
+
+    /**
+     * Recalcula el salario de todas las nóminas a partir de la categoría y antigüedad de su empleado, según la tabla
+     * salarial vigente al empezar. Sólo se escriben las nóminas cuyo salario calculado es distinto del guardado, de modo
+     * que al activar una escala salarial nueva sólo se modifican los empleados a los que afecta.
+     *
+     * @return El resultado del recálculo, con las filas actualizadas y el rendimiento obtenido.
+     * @throws RuntimeException Si el recálculo se está haciendo en otra instancia o si otra instancia lo ha continuado
+     *                          mientras tanto.
+     * @see #intentaRecalcularNominas()
+     */
+    @Override
+    public ResultadoRecalculo recalculaNominas() {
+        return this.intentaRecalcularNominas().orElseThrow(
+                () -> new RuntimeException("El recálculo de nóminas se está haciendo en otra instancia"));
+    }
+
+    /**
+     * Recalcula el salario de todas las nóminas si consigue reservar el recálculo con la versión vigente de la escala
+     * salarial. La reserva es el punto de control del proceso en la base de datos, de modo que si se lanza a la vez en
+     * varias instancias (desde la página de recálculo o al activar una escala) sólo una lo hace. Si hay un recálculo
+     * interrumpido con una versión anterior, sus nóminas tienen los salarios de esa versión y se descarta; la instancia
+     * que lo estuviera haciendo se detiene en su siguiente lote. Si lo hay con una versión posterior, esta instancia
+     * todavía no la ha publicado y no recalcula.
+     * El cálculo se hace en la base de datos con una única sentencia UPDATE por lote de DNIs consecutivos, y cada lote
+     * se confirma en su propia transacción junto con el avance del punto de control. Si el recálculo se interrumpe,
+     * pasado el tiempo "nominas.procesos.caducidad-reserva-ms" el siguiente con la misma versión continúa desde el
+     * último lote confirmado. Cada lote incrementa la versión de sus nóminas, de modo que una edición concurrente que
+     * las hubiera leído antes detecta el conflicto, y si el lote falla por un conflicto de concurrencia (bloqueo o
+     * interbloqueo con las ediciones de los administradores) se reintenta.
+     * Al terminar se vacía la caché de segundo nivel de las nóminas y se reconstruye la instantánea de empleados, ya que
+     * puede haber cambiado cualquier salario, se avisa del cambio al resto de instancias y se reconcilian los agregados
+     * del resumen de nóminas con los nuevos salarios.
+     *
+     * @return El resultado del recálculo, o vacío si se está haciendo en otra instancia.
+     * @throws RuntimeException Si otra instancia ha continuado el recálculo mientras tanto.
+     */
+    public Optional<ResultadoRecalculo> intentaRecalcularNominas() {
+        long inicio = System.currentTimeMillis();
+        TablaSalarial tabla = TablaSalarial.vigente();
+        String proceso = procesoRecalculo(tabla.getVersion());
+        for (CheckpointProceso otro : checkpointRepository.findByProcesoStartingWith(PROCESO_RECALCULO)) {
+            if (otro.getProceso().equals(proceso)) {
+                continue;
+            }
+            if (versionRecalculo(otro.getProceso()) > tabla.getVersion()) {
+                log.info("El recálculo de nóminas {} se está haciendo con una escala posterior a la vigente ({})",
+                        otro.getProceso(), tabla.getVersion());
+                return Optional.empty();
+            }
+            log.info("Descartado el recálculo de nóminas interrumpido {} en el DNI {}", otro.getProceso(), otro.getUltimoDni());
+            checkpointRepository.delete(otro);
+        }
+        Optional<CheckpointProceso> reservado = reservas.reserva(proceso);
+        if (reservado.isEmpty()) {
+            return Optional.empty();
+        }
+        CheckpointProceso checkpoint = reservado.get();
+        boolean reanudado = !checkpoint.getUltimoDni().isEmpty();
+        if (reanudado) {
+            log.info("Reanudando el recálculo de nóminas a partir del DNI {} ({} filas ya actualizadas)",
+                    checkpoint.getUltimoDni(), checkpoint.getFilas());
+        }
+        String sqlActualizacion = this.sentenciaRecalculo(tabla);
+        long filas = 0;
+        String finLote;
+        while ((finLote = this.obtenerFinLote(SQL_FIN_LOTE, checkpoint.getUltimoDni())) != null) {
+            String inicioLote = checkpoint.getUltimoDni();
+            String fin = finLote;
+            int actualizadas = reintentos.ejecuta("Recálculo de nóminas hasta el DNI " + fin, () -> transactionTemplate.execute(estado -> {
+                if (!reservas.avanza(proceso, inicioLote, fin)) {
+                    throw new RuntimeException("Otra instancia ha continuado el recálculo de nóminas");
+                }
+                int resultado = jdbcTemplate.update(sqlActualizacion, inicioLote, fin);
+                reservas.sumaFilas(proceso, resultado);
+                return resultado;
+            }));
+            checkpoint.setUltimoDni(fin);
+            filas += actualizadas;
+            log.debug("Recálculo de nóminas: {} filas actualizadas hasta el DNI {}", filas, fin);
+        }
+        if (!transactionTemplate.execute(estado -> reservas.cierra(proceso, checkpoint.getUltimoDni()))) {
+            throw new RuntimeException("Otra instancia ha continuado el recálculo de nóminas");
+        }
+        // Los salarios se han modificado por SQL, sin pasar por Hibernate: se descartan las nóminas de la caché de
+        // segundo nivel y los resultados cacheados de las consultas, que también contienen los salarios
+        entityManagerFactory.getCache().evict(Nomina.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        instantanea.reconstruye();
+        sincronizacion.registraCambioMasivo();
+        resumenNominas.reconcilia();
+        ResultadoRecalculo resultado = new ResultadoRecalculo(filas, System.currentTimeMillis() - inicio, reanudado);
+        log.info("Recálculo de nóminas finalizado: {} filas en {} ms ({} filas/s)",
+                resultado.getFilas(), resultado.getMilisegundos(), Math.round(resultado.getFilasPorSegundo()));
+        return Optional.of(resultado);
+    }
+
+    /**
+     * Suma un año de antigüedad a todos los empleados activos y recalcula el salario de sus nóminas, según la tabla
+     * salarial vigente al empezar. Antes de empezar, la instancia reserva el proceso en la base de datos creando su
+     * punto de control, de modo que si se lanza a la vez en varias instancias sólo una lo hace. Se recorren los
+     * empleados por lotes de DNIs consecutivos y cada lote se confirma en su propia transacción corta junto con el
+     * avance del punto de control, de modo que las filas de empleados y nóminas sólo quedan bloqueadas mientras se
+     * actualiza su lote y las ediciones de los administradores pueden continuar. Cada empleado guarda el año de su
+     * última acumulación y sólo se le aplica si es anterior al indicado: repetir el proceso del mismo año o reanudarlo
+     * tras una interrupción no suma la antigüedad dos veces. El avance se registra cada 10 % de los empleados
+     * pendientes y queda en el punto de control, visible desde cualquier instancia. Al terminar se vacían las cachés,
+     * se reconstruye la instantánea de empleados, se avisa del cambio al resto de instancias y se reconcilian los
+     * agregados del resumen de nóminas.
+     *
+     * @param anyo El año de la acumulación.
+     * @return El resultado del proceso, con el número de empleados cuya antigüedad se ha incrementado.
+     * @throws RuntimeException Si la acumulación del año se está haciendo en otra instancia o si otra instancia la ha
+     *                          continuado mientras tanto.
+     */
+    @Override
+    public ResultadoRecalculo acumulaAntiguedad(int anyo) {
+        return this.acumula(anyo).orElseThrow(() -> new RuntimeException(
+                "La acumulación de antigüedad de " + anyo + " se está haciendo en otra instancia"));
+    }
+
+    /**
+     * Acumula la antigüedad del año en curso en la fecha indicada por la expresión cron
+     * "nominas.antiguedad.cron-acumulacion" (por defecto el 1 de enero a las 2:00). La expresión se evalúa en todas las
+     * instancias, pero sólo la primera que reserva el proceso lo hace.
+     */
+    @Scheduled(cron = "${nominas.antiguedad.cron-acumulacion:0 0 2 1 1 *}")
+    public void acumulaAntiguedadProgramada() {
+        int anyo = LocalDate.now().getYear();
+        if (this.acumula(anyo).isEmpty()) {
+            log.info("La acumulación de antigüedad de {} se está haciendo en otra instancia", anyo);
+        }
+    }
+
+    /**
+     * Al arrancar la aplicación, lanza en segundo plano la reanudación de las acumulaciones de antigüedad interrumpidas,
+     * para no retrasar el arranque ni impedirlo si fallan.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudaAcumulacionesAlArrancar() {
+        ejecutor.execute(this::reanudaAcumulacionesAntiguedad);
+    }
+
+    /**
+     * Reanuda las acumulaciones de antigüedad que se interrumpieron antes de terminar, en esta o en otra instancia. Se
+     * ejecuta al arrancar la aplicación y cada "nominas.procesos.caducidad-reserva-ms"; las que siguen avanzando en
+     * otra instancia no se tocan, y el error de una no impide reanudar las demás.
+     */
+    @Scheduled(initialDelayString = "${nominas.procesos.caducidad-reserva-ms:300000}",
+            fixedDelayString = "${nominas.procesos.caducidad-reserva-ms:300000}")
+    public void reanudaAcumulacionesAntiguedad() {
+        for (CheckpointProceso checkpoint : checkpointRepository.findByProcesoStartingWith(PROCESO_ANTIGUEDAD)) {
+            try {
+                int anyo = Integer.parseInt(checkpoint.getProceso().substring(PROCESO_ANTIGUEDAD.length()));
+                if (this.acumula(anyo).isEmpty()) {
+                    log.info("La acumulación de antigüedad de {} se está haciendo en otra instancia", anyo);
+                }
+            } catch (RuntimeException e) {
+                log.error("Error al reanudar el proceso {}: {}", checkpoint.getProceso(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Acumula la antigüedad de un año si consigue reservar el proceso.
+     *
+     * @param anyo El año de la acumulación.
+     * @return El resultado del proceso, o vacío si se está haciendo en otra instancia.
+     * @throws RuntimeException Si otra instancia ha continuado la acumulación mientras tanto.
+     */
+    private Optional<ResultadoRecalculo> acumula(int anyo) {
+        long inicio = System.currentTimeMillis();
+        String proceso = PROCESO_ANTIGUEDAD + anyo;
+        Optional<CheckpointProceso> reservado = reservas.reserva(proceso);
+        if (reservado.isEmpty()) {
+            return Optional.empty();
+        }
+        CheckpointProceso checkpoint = reservado.get();
+        boolean reanudado = !checkpoint.getUltimoDni().isEmpty();
+        Long pendientes = jdbcTemplate.queryForObject(SQL_PENDIENTES_ANTIGUEDAD, Long.class, checkpoint.getUltimoDni(), anyo);
+        log.info("Acumulación de antigüedad de {}: {} empleados pendientes{}", anyo, pendientes,
+                reanudado ? ", reanudando a partir del DNI " + checkpoint.getUltimoDni() : "");
+        String sqlNominas = this.sentenciaRecalculo(TablaSalarial.vigente());
+        long filas = 0;
+        long siguienteAviso = pendientes / 10;
+        String finLote;
+        while ((finLote = this.obtenerFinLote(SQL_FIN_LOTE_ACTIVOS, checkpoint.getUltimoDni())) != null) {
+            String inicioLote = checkpoint.getUltimoDni();
+            String fin = finLote;
+            int acumulados = reintentos.ejecuta("Acumulación de antigüedad hasta el DNI " + fin, () -> transactionTemplate.execute(estado -> {
+                if (!reservas.avanza(proceso, inicioLote, fin)) {
+                    throw new RuntimeException("Otra instancia ha continuado la acumulación de antigüedad de " + anyo);
+                }
+                int resultado = jdbcTemplate.update(SQL_ACUMULA_ANTIGUEDAD, anyo, inicioLote, fin, anyo);
+                jdbcTemplate.update(sqlNominas, inicioLote, fin);
+                reservas.sumaFilas(proceso, resultado);
+                return resultado;
+            }));
+            checkpoint.setUltimoDni(fin);
+            // Los empleados y nóminas del lote se han modificado por SQL: se descartan de la caché de segundo nivel
+            // para que las lecturas de la base de datos no devuelvan la antigüedad y el salario anteriores
+            entityManagerFactory.getCache().evict(Empleado.class);
+            entityManagerFactory.getCache().evict(Nomina.class);
+            filas += acumulados;
+            if (filas >= siguienteAviso && pendientes > 0) {
+                log.info("Acumulación de antigüedad de {}: {} de {} empleados ({} %), hasta el DNI {}",
+                        anyo, filas, pendientes, filas * 100 / pendientes, fin);
+                siguienteAviso = filas + Math.max(1, pendientes / 10);
+            }
+        }
+        if (!transactionTemplate.execute(estado -> reservas.cierra(proceso, checkpoint.getUltimoDni()))) {
+            throw new RuntimeException("Otra instancia ha continuado la acumulación de antigüedad de " + anyo);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        instantanea.reconstruye();
+        sincronizacion.registraCambioMasivo();
+        resumenNominas.reconcilia();
+        ResultadoRecalculo resultado = new ResultadoRecalculo(filas, System.currentTimeMillis() - inicio, reanudado);
+        log.info("Acumulación de antigüedad de {} finalizada: {} empleados en {} ms", anyo, filas, resultado.getMilisegundos());
+        return Optional.of(resultado);
+    }
+
+    /**
+     * Obtiene el nombre del proceso de recálculo de las nóminas con una versión de la escala salarial.
+     *
+     * @param version La versión de la escala salarial.
+     * @return El nombre del proceso, con el que se guarda su punto de control.
+     */
+    public static String procesoRecalculo(int version) {
+        return PROCESO_RECALCULO + "-v" + version;
+    }
+
+    /**
+     * Obtiene la versión de la escala salarial de un proceso de recálculo de las nóminas.
+     *
+     * @param proceso El nombre del proceso.
+     * @return La versión de la escala salarial, o -1 si el nombre no la indica.
+     */
+    private static int versionRecalculo(String proceso) {
+        try {
+            return Integer.parseInt(proceso.substring(PROCESO_RECALCULO.length() + "-v".length()));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Obtiene el último DNI del siguiente lote a procesar.
+     *
+     * @param sqlFinLote La consulta del último DNI de un lote, a partir de un DNI y con un tamaño de lote.
+     * @param ultimoDni  El último DNI ya procesado.
+     * @return El DNI con el que termina el siguiente lote, o null si no quedan filas por procesar.
+     */
+    private String obtenerFinLote(String sqlFinLote, String ultimoDni) {
+        return jdbcTemplate.queryForObject(sqlFinLote, String.class, ultimoDni, tamanyoLote);
+    }
+
+    /**
+     * Construye la sentencia UPDATE que recalcula el salario de las nóminas de un rango de DNIs (excluido el inicial e
+     * incluido el final), escribiendo sólo las que cambian e incrementando su versión.
+     *
+     * @param tabla La tabla salarial con la que se calcula el sueldo.
+     * @return La sentencia SQL, con los parámetros del DNI inicial y final del rango.
+     */
+    private String sentenciaRecalculo(TablaSalarial tabla) {
+        String expresion = this.expresionSueldo(tabla);
+        return "UPDATE nominas SET salario = (SELECT " + expresion
+                + " FROM empleados e WHERE e.dni = nominas.dni), version = version + 1 WHERE dni > ? AND dni <= ?"
+                + " AND EXISTS (SELECT 1 FROM empleados e WHERE e.dni = nominas.dni"
+                + " AND (nominas.salario IS NULL OR nominas.salario <> " + expresion + "))";
+    }
+
+    /**
+     * Construye la expresión SQL equivalente a {@link Nomina#calculaSueldo()} sobre la tabla de empleados (alias "e").
+     *
+     * @param tabla La tabla salarial con la que se calcula el sueldo.
+     * @return La expresión SQL que calcula el sueldo de un empleado.
+     */
+    private String expresionSueldo(TablaSalarial tabla) {
+        StringBuilder expresion = new StringBuilder("CASE e.categoria");
+        for (int categoria = 1; categoria <= tabla.getNumeroCategorias(); categoria++) {
+            expresion.append(" WHEN ").append(categoria).append(" THEN ").append(tabla.getSueldoBase(categoria));
+        }
+        return expresion.append(" END + ").append(tabla.getIncrementoAnyo()).append(" * e.anyos").toString();
+    }
+}
@@ -0,0 +1,11 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.ResultadoRecalculo;
+
+public interface NominaServiceInterface {
+
+    public ResultadoRecalculo recalculaNominas();
+
+    public ResultadoRecalculo acumulaAntiguedad(int anyo);
+
+}
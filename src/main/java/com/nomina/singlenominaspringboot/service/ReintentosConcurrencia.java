@@ -0,0 +1,61 @@
+package com.nomina.singlenominaspringboot.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Reintenta las escrituras lanzadas por el propio sistema (recálculos, importaciones) cuando fallan por un conflicto de
+ * concurrencia: una versión optimista que ha cambiado, un bloqueo que no se ha podido obtener o un interbloqueo.
+ * Cada intento debe ejecutar una transacción completa, de modo que al repetirla se vuelvan a leer los datos actuales.
+ * Las ediciones de los administradores no se reintentan: el conflicto se les muestra para que revisen los cambios.
+ */
+@Component
+public class ReintentosConcurrencia {
+
+    private static final Logger log = LoggerFactory.getLogger(ReintentosConcurrencia.class);
+
+    @Value("${nominas.concurrencia.intentos:3}")
+    private int intentos;
+
+    @Value("${nominas.concurrencia.espera-ms:50}")
+    private long esperaMs;
+
+    /**
+     * Ejecuta una operación transaccional, repitiéndola si falla por un conflicto de concurrencia hasta agotar el
+     * número de intentos configurado. La espera entre intentos crece con cada uno.
+     *
+     * @param operacion Descripción de la operación, para el registro.
+     * @param accion    La operación a ejecutar, que debe abrir y confirmar su propia transacción.
+     * @param <T>       El tipo del resultado de la operación.
+     * @return El resultado de la operación.
+     * @throws ConcurrencyFailureException Si el último intento también falla por un conflicto de concurrencia.
+     */
+    public <T> T ejecuta(String operacion, Supplier<T> accion) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return accion.get();
+            } catch (ConcurrencyFailureException e) {
+                if (intento >= this.intentos) {
+                    log.warn("{}: conflicto de concurrencia tras {} intentos", operacion, intento);
+                    throw e;
+                }
+                log.debug("{}: conflicto de concurrencia en el intento {}, se reintenta: {}", operacion, intento, e.getMessage());
+                this.espera(intento);
+            }
+        }
+    }
+
+    private void espera(int intento) {
+        try {
+            Thread.sleep(this.esperaMs * intento);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Reintento interrumpido", e);
+        }
+    }
+}
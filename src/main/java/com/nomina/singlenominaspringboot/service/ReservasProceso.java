@@ -0,0 +1,105 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.CheckpointProceso;
+import com.nomina.singlenominaspringboot.repository.CheckpointProcesoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Reserva en la base de datos los procesos masivos que recorren los empleados por DNI, de modo que cada uno sólo se
+ * ejecuta en una instancia a la vez. La reserva es el propio punto de control del proceso: la instancia que lo crea, o
+ * que reclama uno que lleva más de "nominas.procesos.caducidad-reserva-ms" sin avanzar, hace el proceso, y cada lote
+ * sólo avanza el punto de control si sigue donde lo dejó esa instancia.
+ */
+@Component
+public class ReservasProceso {
+
+    private static final String SQL_CREA_CHECKPOINT =
+            "INSERT INTO checkpoints_proceso (proceso, ultimo_dni, filas, actualizado) VALUES (?, '', 0, ?)";
+
+    private static final String SQL_RECLAMA_CHECKPOINT = "UPDATE checkpoints_proceso SET actualizado = ?"
+            + " WHERE proceso = ? AND (actualizado IS NULL OR actualizado < ?)";
+
+    private static final String SQL_AVANZA_CHECKPOINT = "UPDATE checkpoints_proceso SET ultimo_dni = ?, actualizado = ?"
+            + " WHERE proceso = ? AND ultimo_dni = ?";
+
+    private static final String SQL_SUMA_FILAS_CHECKPOINT = "UPDATE checkpoints_proceso SET filas = filas + ? WHERE proceso = ?";
+
+    private static final String SQL_CIERRA_CHECKPOINT = "DELETE FROM checkpoints_proceso WHERE proceso = ? AND ultimo_dni = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CheckpointProcesoRepository checkpointRepository;
+
+    @Value("${nominas.procesos.caducidad-reserva-ms:300000}")
+    private long caducidadReserva;
+
+    /**
+     * Reserva un proceso creando su punto de control. Si ya existe, el proceso se empezó antes y sólo se reserva si el
+     * punto de control lleva más de "nominas.procesos.caducidad-reserva-ms" sin avanzar, es decir, si la instancia que
+     * lo hacía se ha detenido. Cada reserva es una única sentencia en su propia transacción, así que de varias
+     * instancias que lo intentan a la vez sólo una lo consigue.
+     *
+     * @param proceso El nombre del proceso.
+     * @return El punto de control reservado, o vacío si otra instancia está haciendo el proceso.
+     */
+    public Optional<CheckpointProceso> reserva(String proceso) {
+        LocalDateTime ahora = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(estado -> jdbcTemplate.update(SQL_CREA_CHECKPOINT, proceso, ahora));
+            return Optional.of(new CheckpointProceso(proceso, "", 0L, ahora));
+        } catch (DuplicateKeyException e) {
+            Integer reclamados = transactionTemplate.execute(estado -> jdbcTemplate.update(SQL_RECLAMA_CHECKPOINT,
+                    ahora, proceso, ahora.minus(caducidadReserva, ChronoUnit.MILLIS)));
+            return reclamados == 0 ? Optional.empty() : checkpointRepository.findById(proceso);
+        }
+    }
+
+    /**
+     * Avanza el punto de control de un proceso reservado hasta el último DNI de un lote. Debe llamarse dentro de la
+     * transacción del lote y antes de modificar sus filas: la fila del punto de control queda bloqueada hasta confirmar
+     * el lote, así que otra instancia que hubiera reclamado el proceso no puede procesarlo a la vez.
+     *
+     * @param proceso El nombre del proceso.
+     * @param inicio  El último DNI del lote anterior, donde esta instancia dejó el punto de control.
+     * @param fin     El último DNI del lote.
+     * @return true si ha avanzado; false si otra instancia ha continuado o cerrado el proceso mientras tanto.
+     */
+    public boolean avanza(String proceso, String inicio, String fin) {
+        return jdbcTemplate.update(SQL_AVANZA_CHECKPOINT, fin, LocalDateTime.now(), proceso, inicio) > 0;
+    }
+
+    /**
+     * Suma las filas procesadas en un lote al punto de control de un proceso, en la transacción del lote.
+     *
+     * @param proceso El nombre del proceso.
+     * @param filas   Las filas procesadas en el lote.
+     */
+    public void sumaFilas(String proceso, long filas) {
+        jdbcTemplate.update(SQL_SUMA_FILAS_CHECKPOINT, filas, proceso);
+    }
+
+    /**
+     * Borra el punto de control de un proceso terminado, si sigue donde lo dejó esta instancia.
+     *
+     * @param proceso   El nombre del proceso.
+     * @param ultimoDni El último DNI procesado por esta instancia.
+     * @return true si se ha cerrado; false si otra instancia ha continuado o cerrado el proceso mientras tanto.
+     */
+    public boolean cierra(String proceso, String ultimoDni) {
+        return jdbcTemplate.update(SQL_CIERRA_CHECKPOINT, proceso, ultimoDni) > 0;
+    }
+}
@@ -0,0 +1,199 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.Nomina;
+import com.nomina.singlenominaspringboot.model.PanelResumenNominas;
+import com.nomina.singlenominaspringboot.model.ResumenNomina;
+import com.nomina.singlenominaspringboot.model.ResumenNominaId;
+import com.nomina.singlenominaspringboot.repository.ResumenNominaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class ResumenNominasService implements ResumenNominasServiceInterface {
+
+    private static final double TOLERANCIA_SALARIOS = 0.005;
+
+    private static final Logger log = LoggerFactory.getLogger(ResumenNominasService.class);
+
+    @Autowired
+    private ResumenNominaRepository resumenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Obtiene el panel de coste, número de empleados y salario medio por categoría y por sexo a partir de los agregados
+     * materializados. Sólo lee una fila por combinación de categoría y sexo, independientemente del número de empleados.
+     *
+     * @return El panel con los totales por categoría, por sexo y de toda la plantilla activa.
+     */
+    @Override
+    public PanelResumenNominas obtenerPanel() {
+        return new PanelResumenNominas(resumenRepository.findAllByOrderByCategoriaAscSexoAsc());
+    }
+
+    /**
+     * Suma a los agregados un conjunto de empleados activos con sus nóminas. Los empleados se agrupan por categoría
+     * y sexo, de modo que se ejecuta una única actualización por grupo. Si se llama dentro de una transacción,
+     * los agregados se actualizan en ella.
+     *
+     * @param nominas Las nóminas de los empleados, con el empleado asociado.
+     */
+    @Override
+    public void registraAltas(Collection<Nomina> nominas) {
+        Map<ResumenNominaId, ResumenNomina> deltas = new LinkedHashMap<>();
+        for (Nomina nomina : nominas) {
+            this.acumula(deltas, ResumenNomina.de(nomina), 1);
+        }
+        this.aplica(deltas);
+    }
+
+    /**
+     * Resta de los agregados un empleado con su nómina, con los valores que tenía mientras estaba activo, por ejemplo
+     * al darlo de baja.
+     *
+     * @param nomina La nómina del empleado, con el empleado asociado.
+     */
+    @Override
+    public void registraBaja(Nomina nomina) {
+        Map<ResumenNominaId, ResumenNomina> deltas = new LinkedHashMap<>();
+        this.acumula(deltas, ResumenNomina.de(nomina), -1);
+        this.aplica(deltas);
+    }
+
+    /**
+     * Sustituye en los agregados la aportación anterior de un empleado por la actual tras darlo de alta, reactivarlo
+     * o actualizar sus datos. Si la categoría y el sexo no cambian, se ejecuta una única actualización.
+     *
+     * @param anterior La aportación del empleado tal como estaba mientras seguía activo, o null si no estaba activo.
+     * @param actual   La aportación del empleado actualizado.
+     */
+    @Override
+    public void registraCambio(ResumenNomina anterior, ResumenNomina actual) {
+        Map<ResumenNominaId, ResumenNomina> deltas = new LinkedHashMap<>();
+        this.acumula(deltas, anterior, -1);
+        this.acumula(deltas, actual, 1);
+        this.aplica(deltas);
+    }
+
+    /**
+     * Acumula la aportación de un empleado en el agregado de su categoría y sexo.
+     *
+     * @param deltas     Las variaciones acumuladas por clave.
+     * @param aportacion La aportación del empleado, o null si no aporta nada.
+     * @param signo      1 para sumar el empleado o -1 para restarlo.
+     */
+    private void acumula(Map<ResumenNominaId, ResumenNomina> deltas, ResumenNomina aportacion, int signo) {
+        if (aportacion == null) {
+            return;
+        }
+        ResumenNomina delta = deltas.computeIfAbsent(aportacion.getClave(),
+                clave -> new ResumenNomina(clave.getCategoria(), clave.getSexo(), 0L, 0.0));
+        delta.setEmpleados(delta.getEmpleados() + signo * aportacion.getEmpleados());
+        delta.setTotalSalarios(delta.getTotalSalarios() + signo * aportacion.getTotalSalarios());
+    }
+
+    /**
+     * Aplica las variaciones acumuladas con una suma atómica por agregado. Si todavía no existe el agregado de una
+     * categoría y sexo, la misma sentencia lo crea con la variación como valor inicial.
+     *
+     * @param deltas Las variaciones acumuladas por clave.
+     */
+    private void aplica(Map<ResumenNominaId, ResumenNomina> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(estado -> {
+            for (ResumenNomina delta : deltas.values()) {
+                if (delta.getEmpleados() == 0 && delta.getTotalSalarios() == 0) {
+                    continue;
+                }
+                resumenRepository.sumaAgregado(delta.getCategoria(), delta.getSexo(),
+                        delta.getEmpleados(), delta.getTotalSalarios());
+            }
+        });
+    }
+
+    /**
+     * Reconcilia los agregados materializados con las tablas de empleados y nóminas al arrancar la aplicación y según
+     * la expresión cron "nominas.resumen.cron-reconciliacion" (por defecto, cada noche).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${nominas.resumen.cron-reconciliacion:0 30 3 * * *}")
+    public void reconciliaProgramada() {
+        this.reconcilia();
+    }
+
+    /**
+     * Recalcula los agregados con una consulta agrupada sobre las tablas de empleados y nóminas, los compara con los
+     * materializados y corrige los que no coinciden. Los agregados se bloquean durante la reconciliación para que
+     * las actualizaciones incrementales concurrentes esperen y no se pierdan.
+     *
+     * @return El número de agregados que no coincidían con las tablas y se han corregido.
+     */
+    @Override
+    public int reconcilia() {
+        long inicio = System.currentTimeMillis();
+        int diferencias = transactionTemplate.execute(estado -> {
+            Map<ResumenNominaId, ResumenNomina> almacenados = new HashMap<>();
+            for (ResumenNomina resumen : resumenRepository.bloqueaTodos()) {
+                almacenados.put(resumen.getClave(), resumen);
+            }
+            int corregidos = 0;
+            for (ResumenNomina calculado : resumenRepository.calculaDesdeEmpleados()) {
+                ResumenNomina almacenado = almacenados.remove(calculado.getClave());
+                if (almacenado == null) {
+                    resumenRepository.save(calculado);
+                    corregidos++;
+                } else if (this.corrige(almacenado, calculado.getEmpleados(), calculado.getTotalSalarios())) {
+                    corregidos++;
+                }
+            }
+            for (ResumenNomina sobrante : almacenados.values()) {
+                if (this.corrige(sobrante, 0L, 0.0)) {
+                    corregidos++;
+                }
+            }
+            return corregidos;
+        });
+        if (diferencias > 0) {
+            log.warn("Reconciliación del resumen de nóminas: {} agregados corregidos en {} ms",
+                    diferencias, System.currentTimeMillis() - inicio);
+        } else {
+            log.info("Reconciliación del resumen de nóminas sin diferencias en {} ms", System.currentTimeMillis() - inicio);
+        }
+        return diferencias;
+    }
+
+    /**
+     * Corrige un agregado materializado si no coincide con los valores calculados.
+     *
+     * @param almacenado    El agregado materializado, gestionado por la transacción actual.
+     * @param empleados     El número de empleados calculado.
+     * @param totalSalarios La suma de salarios calculada.
+     * @return true si el agregado no coincidía y se ha corregido; false en caso contrario.
+     */
+    private boolean corrige(ResumenNomina almacenado, Long empleados, Double totalSalarios) {
+        if (almacenado.getEmpleados().equals(empleados)
+                && Math.abs(almacenado.getTotalSalarios() - totalSalarios) < TOLERANCIA_SALARIOS) {
+            return false;
+        }
+        log.warn("Agregado de nóminas de la categoría {} y sexo {} incorrecto: {} empleados y {} en salarios; se esperaban {} y {}",
+                almacenado.getCategoria(), almacenado.getSexo(), almacenado.getEmpleados(), almacenado.getTotalSalarios(),
+                empleados, totalSalarios);
+        almacenado.setEmpleados(empleados);
+        almacenado.setTotalSalarios(totalSalarios);
+        return true;
+    }
+}
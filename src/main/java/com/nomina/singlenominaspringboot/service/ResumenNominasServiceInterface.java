@@ -0,0 +1,21 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.Nomina;
+import com.nomina.singlenominaspringboot.model.PanelResumenNominas;
+import com.nomina.singlenominaspringboot.model.ResumenNomina;
+
+import java.util.Collection;
+
+public interface ResumenNominasServiceInterface {
+
+    public PanelResumenNominas obtenerPanel();
+
+    public void registraAltas(Collection<Nomina> nominas);
+
+    public void registraBaja(Nomina nomina);
+
+    public void registraCambio(ResumenNomina anterior, ResumenNomina actual);
+
+    public int reconcilia();
+
+}
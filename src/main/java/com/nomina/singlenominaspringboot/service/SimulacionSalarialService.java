@@ -0,0 +1,234 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.EscenarioSalarial;
+import com.nomina.singlenominaspringboot.model.PlantillaSalarial;
+import com.nomina.singlenominaspringboot.model.ResultadoSimulacion;
+import com.nomina.singlenominaspringboot.model.ResultadoSimulacion.SimulacionGrupo;
+import com.nomina.singlenominaspringboot.model.ResultadoSimulacion.TramoVariacion;
+import com.nomina.singlenominaspringboot.model.TablaSalarial;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+@Service
+public class SimulacionSalarialService implements SimulacionSalarialServiceInterface {
+
+    // Número de empleados por debajo del cual una tarea se calcula directamente en lugar de dividirse
+    private static final int UMBRAL_DIVISION = 16_384;
+
+    // Límites superiores de los tramos de variación del salario de un empleado, tras los tramos de bajada y sin cambio
+    private static final double[] LIMITES_TRAMOS = {1000, 2500, 5000, 10000};
+
+    private static final String[] NOMBRES_TRAMOS = {"Bajada", "Sin cambio", "Hasta 1.000", "De 1.000 a 2.500",
+            "De 2.500 a 5.000", "De 5.000 a 10.000", "Más de 10.000"};
+
+    @Autowired
+    private InstantaneaEmpleados instantanea;
+
+    /**
+     * Simula el coste de la plantilla activa con una escala salarial hipotética, sin modificar nada. Se calcula sobre la
+     * instantánea de empleados en memoria, sin consultar la base de datos.
+     *
+     * @param escenario La escala salarial y las promociones a simular.
+     * @return El coste actual y el simulado en total y por categoría, y la distribución de las variaciones de salario.
+     * @throws RuntimeException Si la escala no tiene sueldo base para alguna categoría de la plantilla o de destino
+     *                          de una promoción, o si algún importe es negativo.
+     */
+    @Override
+    public ResultadoSimulacion simula(EscenarioSalarial escenario) {
+        return this.simula(instantanea.obtenerPlantilla(), escenario);
+    }
+
+    /**
+     * Simula el coste de una plantilla con una escala salarial hipotética. La plantilla se divide en tramos de posiciones
+     * consecutivas que se calculan en paralelo en el pool común de fork/join, cada uno acumulando sus totales en arrays
+     * propios que después se suman, de modo que los hilos no comparten nada que deban sincronizar.
+     * El salario actual de un empleado es el de su nómina o, si no la tiene, el de la tabla salarial vigente.
+     *
+     * @param plantilla La plantilla salarial.
+     * @param escenario La escala salarial y las promociones a simular.
+     * @return El coste actual y el simulado en total y por categoría, y la distribución de las variaciones de salario.
+     * @throws RuntimeException Si la escala no tiene sueldo base para alguna categoría de la plantilla o de destino
+     *                          de una promoción, o si algún importe es negativo.
+     */
+    public ResultadoSimulacion simula(PlantillaSalarial plantilla, EscenarioSalarial escenario) {
+        long inicio = System.currentTimeMillis();
+        int[] sueldosBase = escenario.getSueldosBase();
+        if (sueldosBase == null) {
+            throw new RuntimeException("Debe indicar los sueldos base de la escala simulada");
+        }
+        for (int sueldo : sueldosBase) {
+            if (sueldo < 0) {
+                throw new RuntimeException("Los sueldos base no pueden ser negativos");
+            }
+        }
+        if (escenario.getIncrementoAnyo() < 0) {
+            throw new RuntimeException("El incremento por año de antigüedad no puede ser negativo");
+        }
+        TablaSalarial vigente = TablaSalarial.vigente();
+        int categorias = Math.max(sueldosBase.length, vigente.getNumeroCategorias());
+        // Categoría de destino de cada categoría, para no consultar el mapa de promociones por empleado
+        int[] destino = new int[categorias + 1];
+        for (int categoria = 1; categoria <= categorias; categoria++) {
+            destino[categoria] = categoria;
+        }
+        Map<Integer, Integer> promociones = escenario.getPromociones();
+        if (promociones != null) {
+            promociones.forEach((origen, nueva) -> {
+                if (origen < 1 || origen > categorias || nueva < 1 || nueva > sueldosBase.length) {
+                    throw new RuntimeException("La promoción de la categoría " + origen + " a la " + nueva
+                            + " no corresponde a categorías de la escala simulada");
+                }
+                destino[origen] = nueva;
+            });
+        }
+        Parcial parcial = ForkJoinPool.commonPool().invoke(new Tarea(plantilla, sueldosBase, escenario.getIncrementoAnyo(),
+                destino, vigente, 0, plantilla.getEmpleados()));
+
+        List<SimulacionGrupo> porCategoria = new ArrayList<>();
+        long empleados = 0;
+        double costeActual = 0;
+        double costeSimulado = 0;
+        for (int categoria = 1; categoria <= categorias; categoria++) {
+            if (parcial.empleados[categoria] > 0) {
+                porCategoria.add(new SimulacionGrupo(String.valueOf(categoria), parcial.empleados[categoria],
+                        parcial.costeActual[categoria], parcial.costeSimulado[categoria]));
+                empleados += parcial.empleados[categoria];
+                costeActual += parcial.costeActual[categoria];
+                costeSimulado += parcial.costeSimulado[categoria];
+            }
+        }
+        List<TramoVariacion> distribucion = new ArrayList<>();
+        for (int tramo = 0; tramo < NOMBRES_TRAMOS.length; tramo++) {
+            distribucion.add(new TramoVariacion(NOMBRES_TRAMOS[tramo], parcial.tramos[tramo]));
+        }
+        return new ResultadoSimulacion(new SimulacionGrupo("Total", empleados, costeActual, costeSimulado),
+                porCategoria, distribucion, System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Obtiene el tramo de variación de un salario.
+     *
+     * @param variacion La diferencia entre el salario simulado y el actual.
+     * @return La posición del tramo en NOMBRES_TRAMOS.
+     */
+    private static int tramo(double variacion) {
+        if (variacion < 0) {
+            return 0;
+        } else if (variacion == 0) {
+            return 1;
+        }
+        int tramo = 0;
+        while (tramo < LIMITES_TRAMOS.length && variacion > LIMITES_TRAMOS[tramo]) {
+            tramo++;
+        }
+        return tramo + 2;
+    }
+
+    /**
+     * Totales acumulados por una tarea, indexados por categoría actual y por tramo de variación.
+     */
+    private static final class Parcial {
+
+        private final long[] empleados;
+
+        private final double[] costeActual;
+
+        private final double[] costeSimulado;
+
+        private final long[] tramos = new long[NOMBRES_TRAMOS.length];
+
+        private Parcial(int categorias) {
+            this.empleados = new long[categorias + 1];
+            this.costeActual = new double[categorias + 1];
+            this.costeSimulado = new double[categorias + 1];
+        }
+
+        private Parcial suma(Parcial otro) {
+            for (int categoria = 0; categoria < this.empleados.length; categoria++) {
+                this.empleados[categoria] += otro.empleados[categoria];
+                this.costeActual[categoria] += otro.costeActual[categoria];
+                this.costeSimulado[categoria] += otro.costeSimulado[categoria];
+            }
+            for (int tramo = 0; tramo < this.tramos.length; tramo++) {
+                this.tramos[tramo] += otro.tramos[tramo];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Tarea que simula las posiciones [desde, hasta) de la plantilla, dividiéndose en dos mientras supere el umbral.
+     * Todas las tareas comparten, sólo para lectura, la plantilla y los datos de la escala simulada.
+     */
+    private static final class Tarea extends RecursiveTask<Parcial> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PlantillaSalarial plantilla;
+
+        private final int[] sueldosBase;
+
+        private final double incremento;
+
+        private final int[] destino;
+
+        private final TablaSalarial vigente;
+
+        private final int desde;
+
+        private final int hasta;
+
+        private Tarea(PlantillaSalarial plantilla, int[] sueldosBase, double incremento, int[] destino,
+                      TablaSalarial vigente, int desde, int hasta) {
+            this.plantilla = plantilla;
+            this.sueldosBase = sueldosBase;
+            this.incremento = incremento;
+            this.destino = destino;
+            this.vigente = vigente;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        private Tarea parte(int desde, int hasta) {
+            return new Tarea(this.plantilla, this.sueldosBase, this.incremento, this.destino, this.vigente, desde, hasta);
+        }
+
+        @Override
+        protected Parcial compute() {
+            if (this.hasta - this.desde > UMBRAL_DIVISION) {
+                int mitad = (this.desde + this.hasta) >>> 1;
+                Tarea izquierda = this.parte(this.desde, mitad);
+                izquierda.fork();
+                Parcial derecha = this.parte(mitad, this.hasta).compute();
+                return derecha.suma(izquierda.join());
+            }
+            int[] categorias = this.plantilla.getCategorias();
+            double[] anyos = this.plantilla.getAnyos();
+            double[] salarios = this.plantilla.getSalarios();
+            int[] sueldosBase = this.sueldosBase;
+            int[] destino = this.destino;
+            double incremento = this.incremento;
+            Parcial parcial = new Parcial(destino.length - 1);
+            for (int i = this.desde; i < this.hasta; i++) {
+                int categoria = categorias[i];
+                if (categoria < 1 || categoria >= destino.length || destino[categoria] > sueldosBase.length) {
+                    throw new RuntimeException("La escala simulada no tiene sueldo base para la categoría " + categoria);
+                }
+                double actual = Double.isNaN(salarios[i])
+                        ? this.vigente.calculaSueldo(categoria, anyos[i]) : salarios[i];
+                double simulado = sueldosBase[destino[categoria] - 1] + incremento * anyos[i];
+                parcial.empleados[categoria]++;
+                parcial.costeActual[categoria] += actual;
+                parcial.costeSimulado[categoria] += simulado;
+                parcial.tramos[tramo(simulado - actual)]++;
+            }
+            return parcial;
+        }
+    }
+}
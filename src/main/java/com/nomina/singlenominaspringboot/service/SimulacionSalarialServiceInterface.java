@@ -0,0 +1,10 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.EscenarioSalarial;
+import com.nomina.singlenominaspringboot.model.ResultadoSimulacion;
+
+public interface SimulacionSalarialServiceInterface {
+
+    public ResultadoSimulacion simula(EscenarioSalarial escenario);
+
+}
@@ -0,0 +1,241 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.CambioEmpleado;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EmpleadoModificado;
+import com.nomina.singlenominaspringboot.model.Nomina;
+import com.nomina.singlenominaspringboot.repository.CambioEmpleadoRepository;
+import com.nomina.singlenominaspringboot.repository.EmpleadoRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Mantiene al día entre las instancias de la aplicación el estado de los empleados que cada una guarda en memoria: la
+ * instantánea de empleados, el índice de búsqueda y la caché de segundo nivel de empleados y nóminas. Cada cambio de
+ * un empleado o de su nómina inserta, en la misma transacción, una fila en el registro de cambios con su DNI y la
+ * instancia que lo hace; las filas sólo se insertan, así que las escrituras de distintas instancias no se bloquean
+ * entre sí. Cada instancia lee según el intervalo "nominas.sincronizacion.intervalo-ms" los cambios posteriores al
+ * último leído y, para los hechos en otras, vuelve a leer de la base de datos sólo esos empleados y los aplica en
+ * memoria como si los hubiera modificado ella. Los procesos masivos registran un único cambio sin DNI, con el que las
+ * demás instancias reconstruyen todo su estado en memoria.
+ */
+@Component
+public class SincronizacionInstancias {
+
+    private static final Logger log = LoggerFactory.getLogger(SincronizacionInstancias.class);
+
+    private static final String SQL_INSERTA_CAMBIO =
+            "INSERT INTO cambios_empleados (dni, instancia, registrado) VALUES (?, ?, ?)";
+
+    private final String instancia = UUID.randomUUID().toString();
+
+    // Identificadores saltados al leer el registro, con el momento en que se vieron por primera vez: son cambios de
+    // transacciones todavía sin confirmar (el identificador se asigna al insertar) o deshechas
+    private final Map<Long, Long> huecos = new HashMap<>();
+
+    private long ultimoLeido;
+
+    @Autowired
+    private CambioEmpleadoRepository cambioRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InstantaneaEmpleados instantanea;
+
+    @Autowired
+    private IndiceBusquedaEmpleados indiceBusqueda;
+
+    @Value("${nominas.sincronizacion.tamanyo-lote:1000}")
+    private int tamanyoLote;
+
+    @Value("${nominas.sincronizacion.espera-huecos-ms:60000}")
+    private long esperaHuecos;
+
+    @Value("${nominas.sincronizacion.horas-conservacion:24}")
+    private int horasConservacion;
+
+    /**
+     * Toma el último cambio registrado al arrancar la aplicación, antes de que se construyan la instantánea y el
+     * índice de búsqueda, de modo que ya reflejan todos los cambios anteriores a él.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void inicia() {
+        this.ultimoLeido = cambioRepository.findUltimoId().orElse(0L);
+        this.huecos.clear();
+    }
+
+    /**
+     * Registra un empleado guardado o dado de baja en la misma transacción, justo antes de confirmarla.
+     *
+     * @param evento El empleado modificado.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void registraCambio(EmpleadoModificado evento) {
+        cambioRepository.save(new CambioEmpleado(evento.getDni(), this.instancia));
+    }
+
+    /**
+     * Registra los cambios de varios empleados con una inserción por lotes JDBC. Debe llamarse dentro de la transacción
+     * que los modifica.
+     *
+     * @param dnis Los DNIs de los empleados modificados.
+     */
+    public void registraCambios(Collection<String> dnis) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(SQL_INSERTA_CAMBIO, dnis, tamanyoLote, (sentencia, dni) -> {
+            sentencia.setString(1, dni);
+            sentencia.setString(2, this.instancia);
+            sentencia.setTimestamp(3, ahora);
+        });
+    }
+
+    /**
+     * Registra un cambio que afecta a todos los empleados, tras un proceso masivo que esta instancia ya ha aplicado en
+     * memoria.
+     */
+    public void registraCambioMasivo() {
+        cambioRepository.save(new CambioEmpleado(null, this.instancia));
+    }
+
+    /**
+     * Lee los cambios registrados desde la última lectura y aplica los de otras instancias. Los identificadores
+     * saltados se vuelven a buscar en las siguientes lecturas durante "nominas.sincronizacion.espera-huecos-ms", por si
+     * son de una transacción que todavía no se había confirmado.
+     *
+     * @return El número de cambios de otras instancias aplicados.
+     */
+    @Scheduled(fixedDelayString = "${nominas.sincronizacion.intervalo-ms:5000}")
+    public synchronized int sincroniza() {
+        long ahora = System.currentTimeMillis();
+        this.huecos.values().removeIf(visto -> ahora - visto > esperaHuecos);
+        List<CambioEmpleado> cambios = new ArrayList<>();
+        if (!this.huecos.isEmpty()) {
+            for (CambioEmpleado cambio : cambioRepository.findByIdIn(this.huecos.keySet())) {
+                this.huecos.remove(cambio.getId());
+                cambios.add(cambio);
+            }
+        }
+        List<CambioEmpleado> pagina;
+        do {
+            pagina = cambioRepository.findByIdGreaterThanOrderByIdAsc(this.ultimoLeido, PageRequest.of(0, tamanyoLote));
+            for (CambioEmpleado cambio : pagina) {
+                // Un salto mayor que un lote no es de transacciones en curso, sino de identificadores reservados y no
+                // usados por la base de datos
+                if (cambio.getId() - this.ultimoLeido <= tamanyoLote) {
+                    for (long id = this.ultimoLeido + 1; id < cambio.getId(); id++) {
+                        this.huecos.put(id, ahora);
+                    }
+                }
+                this.ultimoLeido = cambio.getId();
+            }
+            cambios.addAll(pagina);
+        } while (pagina.size() == tamanyoLote);
+        return this.aplica(cambios);
+    }
+
+    /**
+     * Borra del registro los cambios más antiguos que "nominas.sincronizacion.horas-conservacion", que todas las
+     * instancias en marcha ya han leído, en la fecha indicada por la expresión cron
+     * "nominas.sincronizacion.cron-purga" (por defecto, cada día a las 4:15).
+     */
+    @Scheduled(cron = "${nominas.sincronizacion.cron-purga:0 15 4 * * *}")
+    public void purga() {
+        Integer borrados = transactionTemplate.execute(
+                estado -> cambioRepository.eliminaAnteriores(LocalDateTime.now().minusHours(horasConservacion)));
+        log.info("Borrados {} cambios antiguos del registro de cambios de empleados", borrados);
+    }
+
+    /**
+     * Aplica en memoria los cambios de otras instancias. Los empleados modificados se descartan de la caché de segundo
+     * nivel y se vuelven a leer de la base de datos con su nómina, y se actualizan en el índice de búsqueda y, con una
+     * sola copia, en la instantánea. Si alguno de los cambios es de un proceso masivo, se reconstruye todo.
+     *
+     * @param cambios Los cambios leídos del registro.
+     * @return El número de cambios de otras instancias.
+     */
+    private int aplica(List<CambioEmpleado> cambios) {
+        Set<String> dnis = new TreeSet<>();
+        boolean masivo = false;
+        int ajenos = 0;
+        for (CambioEmpleado cambio : cambios) {
+            if (this.instancia.equals(cambio.getInstancia())) {
+                continue;
+            }
+            ajenos++;
+            if (cambio.getDni() == null) {
+                masivo = true;
+            } else {
+                dnis.add(cambio.getDni());
+            }
+        }
+        if (ajenos == 0) {
+            return 0;
+        }
+        Cache cache = entityManagerFactory.getCache();
+        if (masivo) {
+            log.info("Proceso masivo en otra instancia: se reconstruye el estado en memoria de los empleados");
+            cache.evict(Empleado.class);
+            cache.evict(Nomina.class);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            indiceBusqueda.reconstruye();
+            instantanea.reconstruye();
+            return ajenos;
+        }
+        for (String dni : dnis) {
+            cache.evict(Empleado.class, dni);
+        }
+        List<EmpleadoModificado> modificados = new ArrayList<>();
+        for (Empleado empl : empleadoRepository.findConNominaByDniIn(dnis)) {
+            if (empl.getNomina() != null) {
+                cache.evict(Nomina.class, empl.getNomina().getId());
+            }
+            EmpleadoModificado modificado = new EmpleadoModificado(empl, Boolean.TRUE.equals(empl.getEstadoEmpleado()));
+            indiceBusqueda.actualiza(modificado);
+            modificados.add(modificado);
+        }
+        // Los resultados cacheados de las consultas sólo se invalidan solos con las escrituras de esta instancia
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        instantanea.aplica(modificados);
+        log.debug("Aplicados {} empleados modificados desde otras instancias", modificados.size());
+        return ajenos;
+    }
+}
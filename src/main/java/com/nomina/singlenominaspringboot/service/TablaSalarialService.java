@@ -0,0 +1,150 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EscalaSalarial;
+import com.nomina.singlenominaspringboot.model.ResultadoRecalculo;
+import com.nomina.singlenominaspringboot.model.TablaSalarial;
+import com.nomina.singlenominaspringboot.repository.EscalaSalarialRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class TablaSalarialService implements TablaSalarialServiceInterface {
+
+    private static final Logger log = LoggerFactory.getLogger(TablaSalarialService.class);
+
+    @Autowired
+    private EscalaSalarialRepository escalaRepository;
+
+    @Autowired
+    private NominaService nominaService;
+
+    /**
+     * Obtiene la tabla salarial con la que se calculan actualmente los sueldos.
+     *
+     * @return La tabla salarial vigente.
+     */
+    @Override
+    public TablaSalarial obtenerTablaVigente() {
+        return TablaSalarial.vigente();
+    }
+
+    /**
+     * Obtiene todas las versiones guardadas de la escala salarial.
+     *
+     * @return Las versiones de la escala salarial, de la más reciente a la más antigua.
+     */
+    @Override
+    public List<EscalaSalarial> obtenerVersiones() {
+        return escalaRepository.findAllByOrderByVersionDesc();
+    }
+
+    /**
+     * Registra una nueva versión de la escala salarial. Si su fecha de vigencia no es posterior a hoy, se activa en el
+     * momento; si no, se activará automáticamente al llegar la fecha.
+     *
+     * @param sueldosBase    El sueldo base de cada categoría, desde la 1.
+     * @param incrementoAnyo El incremento del sueldo por cada año de antigüedad.
+     * @param vigenteDesde   La fecha a partir de la cual está en vigor la nueva versión.
+     * @return La versión registrada.
+     * @throws RuntimeException Si falta algún dato, el sueldo base de alguna categoría o algún importe es negativo.
+     */
+    @Override
+    public synchronized EscalaSalarial registraVersion(int[] sueldosBase, int incrementoAnyo, LocalDate vigenteDesde) {
+        if (sueldosBase == null || sueldosBase.length == 0 || vigenteDesde == null) {
+            throw new RuntimeException("La escala salarial debe indicar el sueldo base de cada categoría y su fecha de vigencia");
+        }
+        if (sueldosBase.length < Empleado.CATEGORIA_MAXIMA) {
+            throw new RuntimeException("La escala salarial debe indicar el sueldo base de las categorías 1 a "
+                    + Empleado.CATEGORIA_MAXIMA);
+        }
+        for (int sueldo : sueldosBase) {
+            if (sueldo < 0) {
+                throw new RuntimeException("Los sueldos base no pueden ser negativos");
+            }
+        }
+        if (incrementoAnyo < 0) {
+            throw new RuntimeException("El incremento por año de antigüedad no puede ser negativo");
+        }
+        EscalaSalarial escala = escalaRepository.save(new EscalaSalarial(escalaRepository.findUltimaVersion() + 1,
+                vigenteDesde, sueldosBase, incrementoAnyo));
+        log.info("Registrada la versión {} de la escala salarial, vigente desde el {}", escala.getVersion(), vigenteDesde);
+        this.activaVersionVigente();
+        return escalaRepository.findById(escala.getVersion()).orElse(escala);
+    }
+
+    /**
+     * Comprueba qué versión de la escala salarial está en vigor hoy y, si no es la tabla vigente, la publica para los
+     * nuevos cálculos de sueldo. Si la versión no se había activado antes, en esta ni en otra instancia, se recalculan
+     * las nóminas; el recálculo sólo escribe las nóminas cuyo salario cambia con la nueva escala. Si el recálculo se
+     * está haciendo en otra instancia, la versión la marca como activada esa instancia. Se ejecuta al arrancar la
+     * aplicación y según la expresión cron "nominas.escalas.cron-activacion" (por defecto, cada día al empezar), para
+     * activar las versiones registradas con una fecha de vigencia futura y terminar las que no llegaron a activarse. Al
+     * arrancar se ejecuta antes que el resto de procesos, para que los que se reanudan calculen los sueldos con la
+     * escala en vigor.
+     *
+     * @return El resultado del recálculo, o vacío si no ha sido necesario recalcular o lo hace otra instancia.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Scheduled(cron = "${nominas.escalas.cron-activacion:0 5 0 * * *}")
+    public synchronized Optional<ResultadoRecalculo> activaVersionVigente() {
+        Optional<EscalaSalarial> enVigor = escalaRepository
+                .findFirstByVigenteDesdeLessThanEqualOrderByVigenteDesdeDescVersionDesc(LocalDate.now());
+        if (enVigor.isEmpty()) {
+            return Optional.empty();
+        }
+        EscalaSalarial escala = enVigor.get();
+        this.publica(escala);
+        if (escala.getActivada() != null) {
+            return Optional.empty();
+        }
+        Optional<ResultadoRecalculo> resultado = nominaService.intentaRecalcularNominas();
+        if (resultado.isEmpty()) {
+            log.info("Las nóminas de la versión {} de la escala salarial se están recalculando en otra instancia",
+                    escala.getVersion());
+            return Optional.empty();
+        }
+        escala.setActivada(LocalDateTime.now());
+        escalaRepository.save(escala);
+        return resultado;
+    }
+
+    /**
+     * Publica la versión de la escala salarial en vigor hoy si no es la tabla vigente, sin recalcular las nóminas. Se
+     * ejecuta según el intervalo "nominas.sincronizacion.intervalo-ms" para que todas las instancias calculen los
+     * sueldos con la misma escala aunque la versión se haya registrado o activado en otra; el recálculo lo hace la
+     * instancia que la activa.
+     *
+     * @return true si se ha publicado una nueva versión, false si la vigente ya es la que está en vigor.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${nominas.sincronizacion.intervalo-ms:5000}")
+    public boolean cargaVersionVigente() {
+        Optional<EscalaSalarial> enVigor = escalaRepository
+                .findFirstByVigenteDesdeLessThanEqualOrderByVigenteDesdeDescVersionDesc(LocalDate.now());
+        return enVigor.isPresent() && this.publica(enVigor.get());
+    }
+
+    private boolean publica(EscalaSalarial escala) {
+        if (escala.getVersion() == TablaSalarial.vigente().getVersion()) {
+            return false;
+        }
+        TablaSalarial.publica(TablaSalarial.de(escala));
+        log.info("Versión {} de la escala salarial vigente", escala.getVersion());
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.EscalaSalarial;
+import com.nomina.singlenominaspringboot.model.ResultadoRecalculo;
+import com.nomina.singlenominaspringboot.model.TablaSalarial;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface TablaSalarialServiceInterface {
+
+    public TablaSalarial obtenerTablaVigente();
+
+    public List<EscalaSalarial> obtenerVersiones();
+
+    public EscalaSalarial registraVersion(int[] sueldosBase, int incrementoAnyo, LocalDate vigenteDesde);
+
+    public Optional<ResultadoRecalculo> activaVersionVigente();
+
+    public boolean cargaVersionVigente();
+
+}
@@ -0,0 +1,12 @@
+-- Registro de sólo inserción de los cambios de los empleados, con el que cada instancia aplica en memoria los que han
+-- hecho las demás. Un cambio sin DNI afecta a todos los empleados (procesos masivos). Los cambios se borran pasado el
+-- tiempo de conservación.
+CREATE TABLE cambios_empleados
+(
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    dni        VARCHAR(9),
+    instancia  VARCHAR(36) NOT NULL,
+    registrado DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_cambios_empleados_registrado (registrado)
+);
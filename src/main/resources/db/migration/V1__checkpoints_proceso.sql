@@ -0,0 +1,8 @@
+CREATE TABLE checkpoints_proceso
+(
+    proceso     VARCHAR(100) NOT NULL,
+    ultimo_dni  VARCHAR(9)   NOT NULL,
+    filas       BIGINT       NOT NULL DEFAULT 0,
+    actualizado DATETIME(6),
+    PRIMARY KEY (proceso)
+);
@@ -0,0 +1,7 @@
+-- Secuencia usada por Nomina.id con asignación agrupada de 50 identificadores. Si se crea ahora, se adelanta por
+-- encima de los identificadores existentes para que no se repitan. EXECUTE IMMEDIATE no admite subconsultas, por lo que
+-- el valor se calcula antes en una variable.
+CREATE SEQUENCE IF NOT EXISTS nominas_seq START WITH 1 INCREMENT BY 50;
+
+SET @siguiente = (SELECT COALESCE(MAX(id), 0) + 50 FROM nominas);
+EXECUTE IMMEDIATE CONCAT('SELECT SETVAL(nominas_seq, ', @siguiente, ')');
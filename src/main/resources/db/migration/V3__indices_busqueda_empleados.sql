@@ -0,0 +1,8 @@
+-- Índices compuestos para la búsqueda combinada de empleados activos (EmpleadoRepositoryCustom.buscaPorFiltro)
+-- y para el listado paginado por DNI
+CREATE INDEX idx_empleados_estado_dni ON empleados (estado_empleado, dni);
+CREATE INDEX idx_empleados_estado_categoria ON empleados (estado_empleado, categoria, dni);
+CREATE INDEX idx_empleados_estado_sexo ON empleados (estado_empleado, sexo, dni);
+CREATE INDEX idx_empleados_estado_anyos ON empleados (estado_empleado, anyos);
+CREATE INDEX idx_empleados_estado_nombre ON empleados (estado_empleado, nombre);
+CREATE INDEX idx_nominas_salario ON nominas (salario, dni);
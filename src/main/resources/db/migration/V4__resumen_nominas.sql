@@ -0,0 +1,16 @@
+CREATE TABLE resumen_nominas
+(
+    categoria      INT         NOT NULL,
+    sexo           VARCHAR(1)  NOT NULL,
+    empleados      BIGINT      NOT NULL DEFAULT 0,
+    total_salarios DOUBLE      NOT NULL DEFAULT 0,
+    PRIMARY KEY (categoria, sexo)
+);
+
+-- Los empleados sin categoría o sin sexo, que el esquema original admitía, se agregan en la categoría 0 y el sexo 'I'
+INSERT INTO resumen_nominas (categoria, sexo, empleados, total_salarios)
+SELECT COALESCE(e.categoria, 0), COALESCE(e.sexo, 'I'), COUNT(*), COALESCE(SUM(n.salario), 0)
+FROM empleados e
+         LEFT JOIN nominas n ON n.dni = e.dni
+WHERE e.estado_empleado = TRUE
+GROUP BY COALESCE(e.categoria, 0), COALESCE(e.sexo, 'I');
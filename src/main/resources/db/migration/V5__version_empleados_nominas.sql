@@ -0,0 +1,5 @@
+ALTER TABLE empleados
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE nominas
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,34 @@
+CREATE TABLE escalas_salariales
+(
+    version         INT      NOT NULL PRIMARY KEY,
+    vigente_desde   DATE     NOT NULL,
+    incremento_anyo INT      NOT NULL,
+    activada        DATETIME NULL
+);
+
+CREATE TABLE escalas_salariales_sueldos
+(
+    version     INT NOT NULL,
+    categoria   INT NOT NULL,
+    sueldo_base INT NOT NULL,
+    PRIMARY KEY (version, categoria),
+    CONSTRAINT fk_escalas_salariales_sueldos FOREIGN KEY (version) REFERENCES escalas_salariales (version)
+);
+
+CREATE INDEX idx_escalas_salariales_vigencia ON escalas_salariales (vigente_desde, version);
+
+-- La escala con la que se calcularon los salarios existentes pasa a ser la versión 1
+INSERT INTO escalas_salariales (version, vigente_desde, incremento_anyo, activada)
+VALUES (1, '2000-01-01', 5000, CURRENT_TIMESTAMP);
+
+INSERT INTO escalas_salariales_sueldos (version, categoria, sueldo_base)
+VALUES (1, 1, 50000),
+       (1, 2, 70000),
+       (1, 3, 90000),
+       (1, 4, 110000),
+       (1, 5, 130000),
+       (1, 6, 150000),
+       (1, 7, 170000),
+       (1, 8, 190000),
+       (1, 9, 210000),
+       (1, 10, 230000);
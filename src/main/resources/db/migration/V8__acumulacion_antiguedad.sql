@@ -0,0 +1,3 @@
+-- Año de la última acumulación anual de antigüedad de cada empleado (NULL si aún no se le ha aplicado ninguna)
+ALTER TABLE empleados
+    ADD COLUMN anyo_acumulacion INT NULL;
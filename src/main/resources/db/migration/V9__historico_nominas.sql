@@ -0,0 +1,56 @@
+-- Histórico de nóminas: una fila por empleado y periodo mensual (AAAAMM), sólo de inserción. Se particiona por año del
+-- periodo, de modo que las consultas de un periodo o de los últimos meses de un empleado sólo leen las particiones de
+-- esos años, y los años antiguos pueden archivarse por partición. Las tablas particionadas no admiten claves ajenas y
+-- el histórico debe conservarse aunque se elimine el empleado, por lo que no hay clave ajena a empleados.
+-- Antes de llegar a 2036 hay que dividir la partición p_futuro:
+--   ALTER TABLE nominas_historico REORGANIZE PARTITION p_futuro INTO
+--       (PARTITION p2036 VALUES LESS THAN (203700), PARTITION p_futuro VALUES LESS THAN MAXVALUE);
+CREATE TABLE nominas_historico
+(
+    periodo   INT          NOT NULL,
+    dni       VARCHAR(9)   NOT NULL,
+    nombre    VARCHAR(255) NOT NULL,
+    categoria INT          NOT NULL,
+    anyos     DOUBLE       NOT NULL,
+    salario   DOUBLE       NOT NULL,
+    importe   DOUBLE       NOT NULL,
+    PRIMARY KEY (periodo, dni),
+    INDEX idx_nominas_historico_dni_periodo (dni, periodo)
+)
+    PARTITION BY RANGE (periodo) (
+        PARTITION p2024 VALUES LESS THAN (202500),
+        PARTITION p2025 VALUES LESS THAN (202600),
+        PARTITION p2026 VALUES LESS THAN (202700),
+        PARTITION p2027 VALUES LESS THAN (202800),
+        PARTITION p2028 VALUES LESS THAN (202900),
+        PARTITION p2029 VALUES LESS THAN (203000),
+        PARTITION p2030 VALUES LESS THAN (203100),
+        PARTITION p2031 VALUES LESS THAN (203200),
+        PARTITION p2032 VALUES LESS THAN (203300),
+        PARTITION p2033 VALUES LESS THAN (203400),
+        PARTITION p2034 VALUES LESS THAN (203500),
+        PARTITION p2035 VALUES LESS THAN (203600),
+        PARTITION p_futuro VALUES LESS THAN MAXVALUE
+        );
+
+-- Las nóminas generadas no se pueden modificar ni borrar
+CREATE TRIGGER nominas_historico_sin_actualizaciones
+    BEFORE UPDATE
+    ON nominas_historico
+    FOR EACH ROW
+    SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'El histórico de nóminas no se puede modificar';
+
+CREATE TRIGGER nominas_historico_sin_borrados
+    BEFORE DELETE
+    ON nominas_historico
+    FOR EACH ROW
+    SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'El histórico de nóminas no se puede modificar';
+
+-- Periodos generados, con el número de nóminas y su coste total
+CREATE TABLE nominas_periodos
+(
+    periodo     INT         NOT NULL PRIMARY KEY,
+    empleados   BIGINT      NOT NULL,
+    coste_total DOUBLE      NOT NULL,
+    generado    DATETIME(6) NOT NULL
+);
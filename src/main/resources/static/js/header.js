@@ -5,6 +5,13 @@ function confirmarEliminacion(event) {
     }
 }
 
+function confirmarRecalculo(event) {
+    if (!confirm('Está seguro que desea recalcular el salario de todas las nóminas ?')) {
+        event.preventDefault();
+        return false;
+    }
+}
+
 function volver(event) {
     event.preventDefault();
     window.history.back();
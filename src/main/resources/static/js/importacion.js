@@ -0,0 +1,30 @@
+document.addEventListener('DOMContentLoaded', function () {
+    const formularioImportacion = document.querySelector('#formulario-importacion');
+    if (formularioImportacion) {
+        formularioImportacion.addEventListener('submit', enviarImportacion)
+    }
+})
+
+/**
+ * Envía el fichero seleccionado como cuerpo de la petición en lugar de como formulario multipart, para que
+ * el servidor pueda leerlo línea a línea mientras se recibe.
+ */
+function enviarImportacion(event) {
+    event.preventDefault();
+    const fichero = event.target.querySelector('input[name=fichero]').files[0];
+    if (!fichero) {
+        alert('Por favor, selecciona el fichero CSV que deseas importar.');
+        return false;
+    }
+    fetch(event.target.action, {
+        method: 'POST',
+        headers: {'Content-Type': 'text/csv'},
+        body: fichero
+    })
+        .then(respuesta => respuesta.text())
+        .then(html => {
+            document.open();
+            document.write(html);
+            document.close();
+        });
+}
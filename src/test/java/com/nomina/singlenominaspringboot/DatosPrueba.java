@@ -0,0 +1,93 @@
+package com.nomina.singlenominaspringboot;
+
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.Nomina;
+import com.nomina.singlenominaspringboot.model.TablaSalarial;
+import com.nomina.singlenominaspringboot.repository.EmpleadoRepository;
+import com.nomina.singlenominaspringboot.repository.NominaRepository;
+import com.nomina.singlenominaspringboot.service.IndiceBusquedaEmpleados;
+import com.nomina.singlenominaspringboot.service.InstantaneaEmpleados;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Datos de prueba compartidos por los tests de integración: registro de empleados numerados y borrado de todos los
+ * datos de la aplicación entre tests. Al añadir una tabla, una caché o un estado en memoria basta con tenerlo en
+ * cuenta aquí.
+ */
+@Component
+public class DatosPrueba {
+
+    /**
+     * Tablas de la aplicación, en un orden que respeta las claves ajenas.
+     */
+    private static final String[] TABLAS = {"nominas_historico", "nominas_periodos", "checkpoints_proceso",
+            "escalas_salariales_sueldos", "escalas_salariales", "nominas", "empleados", "resumen_nominas",
+            "administradores", "cambios_empleados"};
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private NominaRepository nominaRepository;
+
+    @Autowired
+    private InstantaneaEmpleados instantanea;
+
+    @Autowired
+    private IndiceBusquedaEmpleados indiceBusqueda;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * DNI del empleado de prueba con el número indicado: 00000000A, 00000001A...
+     *
+     * @param numero El número del empleado.
+     * @return El DNI del empleado.
+     */
+    public static String dni(int numero) {
+        return String.format("%08dA", numero);
+    }
+
+    /**
+     * Registra directamente en los repositorios, sin pasar por los servicios, los empleados 0 a cantidad - 1 con su
+     * nómina. El empleado i se llama "Empleado i", tiene la categoría 1 + i % 9 y i % 30 años de antigüedad.
+     *
+     * @param cantidad El número de empleados.
+     * @param salario  El salario de la nómina de cada empleado a partir de su número.
+     * @throws DatosNoCorrectosException Si los datos de algún empleado no son correctos.
+     */
+    public void registraEmpleados(int cantidad, IntToDoubleFunction salario) throws DatosNoCorrectosException {
+        for (int i = 0; i < cantidad; i++) {
+            Empleado empl = this.empleadoRepository.save(new Empleado("Empleado " + i, dni(i), "F", 1 + i % 9, i % 30));
+            Nomina nomina = new Nomina();
+            nomina.setEmpleado(empl);
+            nomina.setSalario(salario.applyAsDouble(i));
+            this.nominaRepository.save(nomina);
+        }
+    }
+
+    /**
+     * Borra los datos de todas las tablas de la aplicación y deja la escala salarial inicial. Los borrados por SQL no
+     * pasan por Hibernate, así que se vacía su caché de segundo nivel y de consultas y se reconstruyen la instantánea
+     * y el índice de búsqueda de empleados.
+     */
+    public void elimina() {
+        TablaSalarial.publica(TablaSalarial.INICIAL);
+        for (String tabla : TABLAS) {
+            this.jdbcTemplate.update("DELETE FROM " + tabla);
+        }
+        this.entityManagerFactory.getCache().evictAll();
+        this.indiceBusqueda.reconstruye();
+        this.instantanea.reconstruye();
+    }
+}
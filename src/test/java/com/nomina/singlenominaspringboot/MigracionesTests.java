@@ -0,0 +1,126 @@
+package com.nomina.singlenominaspringboot;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.PeriodoNomina;
+import com.nomina.singlenominaspringboot.service.EmpleadoService;
+import com.nomina.singlenominaspringboot.service.HistoricoNominasService;
+import com.nomina.singlenominaspringboot.service.ResumenNominasService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de humo de las migraciones de Flyway sobre una MariaDB real embebida (el resto de tests usan H2 con el esquema
+ * generado por Hibernate). Se parte del esquema original con datos, se arranca la aplicación con Flyway activado y
+ * Hibernate validando las entidades contra las tablas migradas, y se comprueba lo que H2 no puede probar: la
+ * secuencia, los datos sembrados, el particionado y los disparadores del histórico.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=0",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MariaDBDialect"})
+@DirtiesContext
+class MigracionesTests {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private ResumenNominasService resumenNominasService;
+
+    @Autowired
+    private HistoricoNominasService historicoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void baseDeDatos(DynamicPropertyRegistry propiedades) throws ManagedProcessException {
+        DBConfigurationBuilder configuracion = DBConfigurationBuilder.newBuilder();
+        configuracion.setPort(0);
+        if ("root".equals(System.getProperty("user.name"))) {
+            // MariaDB no arranca como root salvo que se le indique expresamente, como ocurre en muchos contenedores de CI
+            configuracion.addArg("--user=root");
+        }
+        DB db = DB.newEmbeddedDB(configuracion.build());
+        db.start();
+        // La base de datos se crea por JDBC y no con DB.createDB(), que necesita el cliente de línea de comandos
+        new JdbcTemplate(new DriverManagerDataSource(configuracion.getURL(""), "root", ""))
+                .execute("CREATE DATABASE nominas");
+        String url = configuracion.getURL("nominas");
+        new ResourceDatabasePopulator(new ClassPathResource("db/esquema-original.sql"))
+                .execute(new DriverManagerDataSource(url, "root", ""));
+        propiedades.add("spring.datasource.url", () -> url);
+        propiedades.add("spring.datasource.username", () -> "root");
+        propiedades.add("spring.datasource.password", () -> "");
+        propiedades.add("spring.datasource.driver-class-name", () -> "org.mariadb.jdbc.Driver");
+    }
+
+    @Test
+    void aplicaTodasLasMigracionesSobreElEsquemaOriginal() throws IOException {
+        int migraciones = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql").length;
+        MigrationInfo[] aplicadas = this.flyway.info().applied();
+
+        // La línea base de la versión 0 y una fila por migración
+        assertEquals(migraciones + 1, aplicadas.length);
+        assertEquals(String.valueOf(migraciones), this.flyway.info().current().getVersion().getVersion());
+        assertEquals(0, this.flyway.info().pending().length);
+    }
+
+    @Test
+    void losDatosExistentesSeConservanYSiembranLasTablasNuevas() throws DatosNoCorrectosException {
+        assertEquals(0, this.resumenNominasService.reconcilia());
+        assertEquals(1, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM escalas_salariales", Integer.class));
+        assertEquals(0, this.jdbcTemplate.queryForObject("SELECT SUM(version) FROM empleados", Long.class));
+
+        Empleado registrado = this.empleadoService.registraEmpleado(new Empleado("Sara", "00000004A", "F", 2, 0));
+
+        // La secuencia continúa por encima de las nóminas existentes
+        assertTrue(registrado.getNomina().getId() > 151, String.valueOf(registrado.getNomina().getId()));
+        assertEquals(0, this.resumenNominasService.reconcilia());
+    }
+
+    @Test
+    void elHistoricoSeParticionaPorAnyoYNoAdmiteCambios() {
+        long activos = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM empleados WHERE estado_empleado", Long.class);
+
+        PeriodoNomina periodo = this.historicoService.generaPeriodo(YearMonth.of(2026, 1));
+
+        assertEquals(activos, periodo.getEmpleados());
+        assertEquals(activos, this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM nominas_historico PARTITION (p2026) WHERE periodo = 202601", Long.class));
+        assertThrows(DataAccessException.class,
+                () -> this.jdbcTemplate.update("UPDATE nominas_historico SET importe = 0 WHERE periodo = 202601"));
+        assertThrows(DataAccessException.class,
+                () -> this.jdbcTemplate.update("DELETE FROM nominas_historico WHERE periodo = 202601"));
+        assertEquals(activos, this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM nominas_historico WHERE periodo = 202601", Long.class));
+    }
+}
@@ -0,0 +1,134 @@
+package com.nomina.singlenominaspringboot.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DataSourceLecturaEscrituraTests {
+
+    private static final String CONSULTA_ORIGEN = "SELECT nombre FROM origen";
+
+    private final DataSource principal = baseDeDatos("principal");
+
+    private final DataSource replica = baseDeDatos("replica");
+
+    @AfterEach
+    void eliminaBasesDeDatos() {
+        RequestContextHolder.resetRequestAttributes();
+        new JdbcTemplate(this.principal).execute("DROP TABLE origen");
+        new JdbcTemplate(this.replica).execute("DROP TABLE origen");
+    }
+
+    @Test
+    void lasLecturasVanALaReplicaYLasEscriturasALaPrincipal() {
+        DataSourceLecturaEscritura dataSource = new DataSourceLecturaEscritura(this.principal, this.replica, 0, 30000);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        assertEquals("replica", lectura(dataSource).execute(estado -> jdbcTemplate.queryForObject(CONSULTA_ORIGEN, String.class)));
+        assertEquals("principal", escritura(dataSource).execute(estado -> jdbcTemplate.queryForObject(CONSULTA_ORIGEN, String.class)));
+        assertEquals("principal", jdbcTemplate.queryForObject(CONSULTA_ORIGEN, String.class));
+    }
+
+    @Test
+    void trasUnaEscrituraSeLeeDeLaPrincipalDuranteLaVentana() {
+        DataSourceLecturaEscritura dataSource = new DataSourceLecturaEscritura(this.principal, this.replica, 60000, 30000);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        MockHttpSession sesion = new MockHttpSession();
+        peticion(sesion);
+        assertEquals("replica", lectura(dataSource).execute(estado -> jdbcTemplate.queryForObject(CONSULTA_ORIGEN, String.class)));
+
+        escritura(dataSource).executeWithoutResult(estado -> jdbcTemplate.update("UPDATE origen SET nombre = 'escrito'"));
+
+        assertEquals("escrito", lectura(dataSource).execute(estado -> jdbcTemplate.queryForObject(CONSULTA_ORIGEN, String.class)));
+        peticion(sesion);
+        assertEquals("escrito", lectura(dataSource).execute(estado -> jdbcTemplate.queryForObject(CONSULTA_ORIGEN, String.class)));
+    }
+
+    @Test
+    void laVentanaDeEscrituraSoloAfectaALaSesionQueHaEscrito() {
+        DataSourceLecturaEscritura dataSource = new DataSourceLecturaEscritura(this.principal, this.replica, 60000, 30000);
+        EntityManagerFactory entityManagerFactory = entityManagerFactory(dataSource);
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaTransactionManager transacciones = new JpaTransactionManager(entityManagerFactory);
+        TransactionTemplate lectura = new TransactionTemplate(transacciones);
+        lectura.setReadOnly(true);
+        TransactionTemplate escritura = new TransactionTemplate(transacciones);
+        try {
+            peticion(new MockHttpSession());
+            escritura.executeWithoutResult(estado ->
+                    entityManager.createNativeQuery("UPDATE origen SET nombre = 'escrito'").executeUpdate());
+            assertEquals("escrito", lectura.execute(estado -> entityManager.createNativeQuery(CONSULTA_ORIGEN).getSingleResult()));
+
+            // Otro usuario y los procesos sin petición siguen leyendo de la réplica
+            peticion(new MockHttpSession());
+            assertEquals("replica", lectura.execute(estado -> entityManager.createNativeQuery(CONSULTA_ORIGEN).getSingleResult()));
+            RequestContextHolder.resetRequestAttributes();
+            assertEquals("replica", lectura.execute(estado -> entityManager.createNativeQuery(CONSULTA_ORIGEN).getSingleResult()));
+            escritura.executeWithoutResult(estado ->
+                    entityManager.createNativeQuery("UPDATE origen SET nombre = 'proceso'").executeUpdate());
+            assertEquals("replica", lectura.execute(estado -> entityManager.createNativeQuery(CONSULTA_ORIGEN).getSingleResult()));
+        } finally {
+            entityManagerFactory.close();
+        }
+    }
+
+    @Test
+    void siLaReplicaNoEstaDisponibleSeLeeDeLaPrincipal() {
+        DataSource caida = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/replica", "sa", "");
+        DataSourceLecturaEscritura dataSource = new DataSourceLecturaEscritura(this.principal, caida, 0, 30000);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        assertEquals("principal", lectura(dataSource).execute(estado -> jdbcTemplate.queryForObject(CONSULTA_ORIGEN, String.class)));
+        assertEquals("principal", lectura(dataSource).execute(estado -> jdbcTemplate.queryForObject(CONSULTA_ORIGEN, String.class)));
+    }
+
+    private static DataSource baseDeDatos(String nombre) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nombre + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE origen (nombre VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO origen VALUES (?)", nombre);
+        return dataSource;
+    }
+
+    private static void peticion(MockHttpSession sesion) {
+        MockHttpServletRequest peticion = new MockHttpServletRequest();
+        peticion.setSession(sesion);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(peticion));
+    }
+
+    private static EntityManagerFactory entityManagerFactory(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean fabrica = new LocalContainerEntityManagerFactoryBean();
+        fabrica.setDataSource(dataSource);
+        fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrica.setPackagesToScan(DataSourceLecturaEscrituraTests.class.getPackageName());
+        fabrica.afterPropertiesSet();
+        return fabrica.getObject();
+    }
+
+    private static TransactionTemplate lectura(DataSource dataSource) {
+        TransactionTemplate transaccion = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaccion.setReadOnly(true);
+        return transaccion;
+    }
+
+    private static TransactionTemplate escritura(DataSource dataSource) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+}
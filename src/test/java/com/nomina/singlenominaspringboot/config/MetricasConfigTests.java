@@ -0,0 +1,42 @@
+package com.nomina.singlenominaspringboot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricasConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void peticionesSeEtiquetanPorOpcionConHistogramaEnLasConfiguradas() throws Exception {
+        this.mockMvc.perform(get("/index").param("opcion", "listado"));
+        this.mockMvc.perform(get("/index").param("opcion", "login"));
+        this.mockMvc.perform(get("/index").param("opcion", "inventada"));
+
+        assertNotNull(this.meterRegistry.find(MetricasConfig.METRICA_PETICIONES).tag("opcion", "listado").timer());
+        assertNotNull(this.meterRegistry.find(MetricasConfig.METRICA_PETICIONES).tag("opcion", "otra").timer());
+        assertNull(this.meterRegistry.find(MetricasConfig.METRICA_PETICIONES).tag("opcion", "inventada").timer());
+        String prometheus = ((PrometheusMeterRegistry) this.meterRegistry).scrape();
+        assertTrue(prometheus.contains("http_server_requests_seconds_bucket{") && prometheus.contains("opcion=\"listado\""));
+        assertTrue(prometheus.lines().filter(linea -> linea.startsWith("http_server_requests_seconds_bucket"))
+                .noneMatch(linea -> linea.contains("opcion=\"login\"")));
+    }
+}
@@ -0,0 +1,95 @@
+package com.nomina.singlenominaspringboot.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SesionesConfigTests {
+
+    @Autowired
+    private SessionRepository<? extends Session> sesiones;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void eliminaSesiones() {
+        this.jdbcTemplate.update("DELETE FROM SPRING_SESSION_ATTRIBUTES");
+        this.jdbcTemplate.update("DELETE FROM SPRING_SESSION");
+    }
+
+    @Test
+    void laExpiracionSeGuardaEnNueveBytes() {
+        long expiracion = System.currentTimeMillis() + 60_000;
+        String id = sesionIniciada(this.sesiones, expiracion);
+
+        byte[] guardado = this.jdbcTemplate.queryForObject(
+                "SELECT ATTRIBUTE_BYTES FROM SPRING_SESSION_ATTRIBUTES WHERE ATTRIBUTE_NAME = 'expiracion'", byte[].class);
+
+        assertEquals(9, guardado.length);
+        assertEquals(expiracion, (Long) this.sesiones.findById(id).getAttribute("expiracion"));
+    }
+
+    @Test
+    void laSesionGuardadaSirveEnCualquierInstancia() throws Exception {
+        Cookie cookie = cookieSesion(sesionIniciada(this.sesiones, System.currentTimeMillis() + 60_000));
+
+        this.mockMvc.perform(get("/index").param("opcion", "listado").cookie(cookie))
+                .andExpect(content().string(containsString("Lista de Empleados")));
+        this.mockMvc.perform(get("/index").param("opcion", "listado"))
+                .andExpect(redirectedUrl("/index?opcion=login"));
+    }
+
+    @Test
+    void losDemasAtributosConservanSuValor() {
+        for (Object valor : List.of("texto ñ", 7, true, List.of(1L, 2L))) {
+            assertEquals(valor, FormatoSesion.decodifica(FormatoSesion.codifica(valor)));
+        }
+    }
+
+    /**
+     * Guarda en el almacén de sesiones una sesión con login que caduca en el instante indicado.
+     *
+     * @param sesiones   El repositorio de sesiones.
+     * @param expiracion Milisegundos desde la época en los que caduca el login.
+     * @return El identificador de la sesión.
+     */
+    static <S extends Session> String sesionIniciada(SessionRepository<S> sesiones, long expiracion) {
+        S sesion = sesiones.createSession();
+        sesion.setAttribute("expiracion", expiracion);
+        sesiones.save(sesion);
+        return sesion.getId();
+    }
+
+    /**
+     * Crea la cookie con la que el navegador envía el identificador de sesión.
+     *
+     * @param id El identificador de la sesión.
+     * @return La cookie "SESSION" con el identificador codificado en Base64.
+     */
+    static Cookie cookieSesion(String id) {
+        return new Cookie("SESSION", Base64.getEncoder().encodeToString(id.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.nomina.singlenominaspringboot.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TiemposPeticionConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionRepository<? extends Session> sesiones;
+
+    @Test
+    void peticionPublicaLosTiemposEnServerTiming() throws Exception {
+        String sesion = SesionesConfigTests.sesionIniciada(this.sesiones, System.currentTimeMillis() + 60_000);
+
+        MvcResult resultado = this.mockMvc.perform(get("/index").param("opcion", "listado")
+                .cookie(SesionesConfigTests.cookieSesion(sesion))).andReturn();
+
+        String serverTiming = resultado.getResponse().getHeader(TiemposPeticion.CABECERA);
+        assertTrue(serverTiming.matches("db;desc=\"[1-9]\\d* sentencias\";dur=[\\d.]+, val;dur=[\\d.]+, "
+                + "render;dur=[\\d.]+, total;dur=[\\d.]+"), serverTiming);
+        assertTrue(resultado.getResponse().getContentAsString().contains("Lista de Empleados"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.nomina.singlenominaspringboot.repository;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Administrador;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.service.EmpleadoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class CacheSegundoNivelTests {
+
+    private static final PageRequest PRIMERA_PAGINA = PageRequest.of(0, 10);
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private AdministradorRepository administradorRepository;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void registraEmpleados() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 1, 0));
+        this.empleadoService.registraEmpleado(new Empleado("Luis", "00000002A", "M", 2, 1));
+        this.empleadoService.registraEmpleado(new Empleado("Eva", "00000003A", "F", 3, 2));
+        this.entityManagerFactory.getCache().evictAll();
+        this.estadisticas = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.estadisticas.clear();
+    }
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    @Test
+    void elListadoRepetidoSeSirveDesdeLaCacheDeConsultas() {
+        assertEquals(3, this.empleadoRepository.findListadoByEstadoEmpleadoIsTrueOrderByDniAsc(PRIMERA_PAGINA).size());
+        long sentencias = this.estadisticas.getPrepareStatementCount();
+
+        assertEquals(3, this.empleadoRepository.findListadoByEstadoEmpleadoIsTrueOrderByDniAsc(PRIMERA_PAGINA).size());
+
+        assertEquals(sentencias, this.estadisticas.getPrepareStatementCount());
+        assertEquals(1, this.estadisticas.getQueryCacheHitCount());
+    }
+
+    @Test
+    void laBajaLogicaInvalidaLasConsultasCacheadas() {
+        assertEquals(3, this.empleadoRepository.findListadoByEstadoEmpleadoIsTrueOrderByDniAsc(PRIMERA_PAGINA).size());
+        assertTrue(this.empleadoRepository.findByDniAndEstadoEmpleadoIsTrue("00000003A").isPresent());
+
+        this.empleadoRepository.delete(this.empleadoRepository.findById("00000003A").orElseThrow());
+
+        assertEquals(2, this.empleadoRepository.findListadoByEstadoEmpleadoIsTrueOrderByDniAsc(PRIMERA_PAGINA).size());
+        assertTrue(this.empleadoRepository.findByDniAndEstadoEmpleadoIsTrue("00000003A").isEmpty());
+        assertEquals(0, this.estadisticas.getQueryCacheHitCount());
+    }
+
+    @Test
+    void elAdministradorSeLeeDeLaCacheDeSegundoNivel() {
+        this.administradorRepository.save(new Administrador("00000000T", "admin@nominas.com", "clave"));
+        this.entityManagerFactory.getCache().evictAll();
+        this.estadisticas.clear();
+
+        this.administradorRepository.findById("00000000T");
+        this.administradorRepository.findById("00000000T");
+
+        assertEquals(1, this.estadisticas.getSecondLevelCacheHitCount());
+        assertEquals(1, this.estadisticas.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,105 @@
+package com.nomina.singlenominaspringboot.repository;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EmpleadoListado;
+import com.nomina.singlenominaspringboot.model.FiltroEmpleados;
+import com.nomina.singlenominaspringboot.model.Nomina;
+import com.nomina.singlenominaspringboot.service.InstantaneaEmpleados;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(InstantaneaEmpleados.class)
+class EmpleadoRepositoryTests {
+
+    private static final int EMPLEADOS = 1000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private InstantaneaEmpleados instantanea;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void registraEmpleados() throws DatosNoCorrectosException {
+        for (int i = 0; i < EMPLEADOS; i++) {
+            Empleado empl = new Empleado("Empleado " + i, DatosPrueba.dni(i), i % 2 == 0 ? "F" : "M", 1 + i % 9, i % 30);
+            this.entityManager.persist(empl);
+            Nomina nomina = new Nomina();
+            nomina.setEmpleado(empl);
+            nomina.actualizaSueldo();
+            this.entityManager.persist(nomina);
+        }
+        this.entityManager.flush();
+        this.entityManager.clear();
+        this.estadisticas = this.entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        this.estadisticas.clear();
+    }
+
+    @Test
+    void paginaLeeSoloLosDatosMostradosEnUnaSentencia() {
+        List<EmpleadoListado> empleados = this.empleadoRepository.findListadoByEstadoEmpleadoIsTrueAndDniGreaterThanOrderByDniAsc(
+                "00000499A", PageRequest.of(0, 50));
+
+        assertEquals(50, empleados.size());
+        assertEquals("00000500A", empleados.get(0).getDni());
+        assertEquals(1, this.estadisticas.getPrepareStatementCount());
+        assertEquals(0, this.estadisticas.getEntityLoadCount());
+    }
+
+    @Test
+    void busquedaCombinadaFiltraOrdenaYLimitaEnUnaSentencia() {
+        FiltroEmpleados filtro = new FiltroEmpleados();
+        filtro.setCategorias(List.of(3, 5));
+        filtro.setAnyosMinimo(10.0);
+        filtro.setAnyosMaximo(20.0);
+        filtro.setSexo("F");
+        filtro.setOrden("salario");
+        filtro.setDescendente(true);
+        filtro.setLimite(10);
+
+        List<Empleado> empleados = this.empleadoRepository.buscaPorFiltro(filtro);
+
+        assertEquals(10, empleados.size());
+        for (int i = 0; i < empleados.size(); i++) {
+            Empleado empl = empleados.get(i);
+            assertTrue(empl.getCategoria() == 3 || empl.getCategoria() == 5);
+            assertTrue(empl.getAnyos() >= 10 && empl.getAnyos() <= 20);
+            assertEquals("F", empl.getSexo());
+            if (i > 0) {
+                assertTrue(empleados.get(i - 1).getNomina().getSalario() >= empl.getNomina().getSalario());
+            }
+        }
+        assertEquals(1, this.estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void reconstruyeLaInstantaneaEnUnaSentenciaSinCargarEntidades() {
+        this.instantanea.reconstruye();
+
+        assertEquals(EMPLEADOS, this.instantanea.tamanyo());
+        assertEquals(1, this.estadisticas.getPrepareStatementCount());
+        assertEquals(0, this.estadisticas.getEntityLoadCount());
+        assertTrue(this.instantanea.obtenerSalario(DatosPrueba.dni(EMPLEADOS - 1)).isPresent());
+    }
+}
@@ -0,0 +1,60 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.model.Administrador;
+import com.nomina.singlenominaspringboot.repository.AdministradorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AdministradorServiceTests {
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private AdministradorService administradorService;
+
+    @Autowired
+    private AdministradorRepository administradorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    @Test
+    void laContrasenyaEnClaroSeSustituyePorSuHashEnElPrimerLogin() {
+        this.administradorRepository.save(new Administrador("00000000T", "admin@nominas.com", "clave"));
+
+        assertTrue(this.administradorService.accederSesion(new Administrador("00000000T", "admin@nominas.com", "clave")).isPresent());
+
+        String guardada = contrasenyaGuardada();
+        assertTrue(guardada.startsWith("$2a$04$"), guardada);
+        assertTrue(this.administradorService.accederSesion(new Administrador("00000000T", "admin@nominas.com", "clave")).isPresent());
+        assertEquals(guardada, contrasenyaGuardada());
+    }
+
+    @Test
+    void unasCredencialesIncorrectasNoAccedenNiModificanLaContrasenya() {
+        this.administradorRepository.save(new Administrador("00000000T", "admin@nominas.com", "clave"));
+
+        assertTrue(this.administradorService.accederSesion(new Administrador("00000000T", "admin@nominas.com", "otra")).isEmpty());
+        assertTrue(this.administradorService.accederSesion(new Administrador("00000000T", "otro@nominas.com", "clave")).isEmpty());
+        assertTrue(this.administradorService.accederSesion(new Administrador("11111111H", "admin@nominas.com", "clave")).isEmpty());
+        assertEquals("clave", contrasenyaGuardada());
+    }
+
+    private String contrasenyaGuardada() {
+        return this.jdbcTemplate.queryForObject("SELECT contrasenya FROM administradores WHERE dni = '00000000T'", String.class);
+    }
+}
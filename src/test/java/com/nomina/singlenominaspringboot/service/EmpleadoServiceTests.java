@@ -0,0 +1,189 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.PaginaEmpleados;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class EmpleadoServiceTests {
+
+    /**
+     * Sentencia con la que cada escritura inserta el cambio en el registro de cambios de empleados.
+     */
+    private static final int SENTENCIAS_CAMBIO = 1;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private IndiceBusquedaEmpleados indiceBusqueda;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void preparaEstadisticas() {
+        this.estadisticas = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.estadisticas.clear();
+    }
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    @Test
+    void registroActualizacionYBajaUsanUnaTransaccionCadaUna() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 1, 0));
+        assertEquals(1, this.estadisticas.getTransactionCount());
+        assertTrue(this.estadisticas.getPrepareStatementCount() <= 8 + SENTENCIAS_CAMBIO);
+
+        this.estadisticas.clear();
+        this.empleadoService.actualizaEmpleado(new Empleado("Ana", "00000001A", "F", 2, 1));
+        assertEquals(1, this.estadisticas.getTransactionCount());
+        assertTrue(this.estadisticas.getPrepareStatementCount() <= 7 + SENTENCIAS_CAMBIO);
+
+        this.estadisticas.clear();
+        this.empleadoService.eliminarEmpleado("00000001A");
+        assertEquals(1, this.estadisticas.getTransactionCount());
+        assertTrue(this.estadisticas.getPrepareStatementCount() <= 3 + SENTENCIAS_CAMBIO);
+
+        this.estadisticas.clear();
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 3, 1));
+        assertEquals(1, this.estadisticas.getTransactionCount());
+        assertEquals(90000 + 5000, this.empleadoService.obtenerSalarioPorDni("00000001A"));
+    }
+
+    @Test
+    void elIndiceSeActualizaTrasConfirmar() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 1, 0));
+        assertEquals(List.of("00000001A"), this.indiceBusqueda.buscaPorNombre("ana"));
+
+        this.empleadoService.actualizaEmpleado(new Empleado("Berta", "00000001A", "F", 1, 0));
+        assertEquals(List.of(), this.indiceBusqueda.buscaPorNombre("ana"));
+        assertEquals(List.of("00000001A"), this.indiceBusqueda.buscaPorNombre("berta"));
+
+        this.empleadoService.eliminarEmpleado("00000001A");
+        assertEquals(List.of(), this.indiceBusqueda.buscaPorNombre("berta"));
+    }
+
+    @Test
+    void registroDuplicadoNoModificaNada() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 1, 0));
+
+        assertThrows(RuntimeException.class,
+                () -> this.empleadoService.registraEmpleado(new Empleado("Eva", "00000001A", "F", 5, 5)));
+
+        assertEquals("Ana", this.jdbcTemplate.queryForObject(
+                "SELECT nombre FROM empleados WHERE dni = '00000001A'", String.class));
+        assertEquals(List.of("00000001A"), this.indiceBusqueda.buscaPorNombre("ana"));
+    }
+
+    @Test
+    void laEdicionDeUnaVersionAnteriorNoSobrescribe() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 1, 0));
+        Empleado leidoPorUno = new Empleado("Ana María", "00000001A", "F", 2, 0);
+        Empleado leidoPorOtro = new Empleado("Ana", "00000001A", "F", 3, 0);
+        leidoPorUno.setVersion(0L);
+        leidoPorOtro.setVersion(0L);
+
+        this.empleadoService.actualizaEmpleado(leidoPorUno);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> this.empleadoService.actualizaEmpleado(leidoPorOtro));
+        assertEquals("Ana María", this.jdbcTemplate.queryForObject(
+                "SELECT nombre FROM empleados WHERE dni = '00000001A'", String.class));
+        assertEquals(1L, this.jdbcTemplate.queryForObject(
+                "SELECT version FROM empleados WHERE dni = '00000001A'", Long.class));
+    }
+
+    @Test
+    void lasPaginasSeRecorrenPorDniHaciaDelanteYHaciaAtras() throws DatosNoCorrectosException {
+        this.registraPlantillaPaginada();
+
+        PaginaEmpleados primera = this.empleadoService.obtenerPaginaEmpleados(null, null, 3);
+        assertEquals(List.of(0, 1, 2), numeros(primera));
+        assertFalse(primera.isHayAnterior());
+        assertTrue(primera.isHaySiguiente());
+
+        PaginaEmpleados segunda = this.empleadoService.obtenerPaginaEmpleados(primera.getUltimoDni(), null, 3);
+        assertEquals(List.of(4, 5, 6), numeros(segunda));
+        assertTrue(segunda.isHayAnterior());
+        assertTrue(segunda.isHaySiguiente());
+
+        PaginaEmpleados ultima = this.empleadoService.obtenerPaginaEmpleados(segunda.getUltimoDni(), null, 3);
+        assertEquals(List.of(7), numeros(ultima));
+        assertTrue(ultima.isHayAnterior());
+        assertFalse(ultima.isHaySiguiente());
+
+        PaginaEmpleados anterior = this.empleadoService.obtenerPaginaEmpleados(null, ultima.getPrimerDni(), 3);
+        assertEquals(List.of(4, 5, 6), numeros(anterior));
+        assertTrue(anterior.isHayAnterior());
+        assertTrue(anterior.isHaySiguiente());
+
+        PaginaEmpleados inicio = this.empleadoService.obtenerPaginaEmpleados(null, anterior.getPrimerDni(), 3);
+        assertEquals(List.of(0, 1, 2), numeros(inicio));
+        assertFalse(inicio.isHayAnterior());
+        assertTrue(inicio.isHaySiguiente());
+    }
+
+    @Test
+    void losLimitesDeLaPaginacionNoPidenPaginasInexistentes() throws DatosNoCorrectosException {
+        this.registraPlantillaPaginada();
+
+        // La última página está completa: el empleado adicional no existe y no hay página siguiente
+        PaginaEmpleados completa = this.empleadoService.obtenerPaginaEmpleados(DatosPrueba.dni(4), null, 3);
+        assertEquals(List.of(5, 6, 7), numeros(completa));
+        assertFalse(completa.isHaySiguiente());
+
+        PaginaEmpleados vacia = this.empleadoService.obtenerPaginaEmpleados(DatosPrueba.dni(7), null, 3);
+        assertTrue(vacia.getEmpleados().isEmpty());
+        assertTrue(vacia.isHayAnterior());
+        assertFalse(vacia.isHaySiguiente());
+        assertNull(vacia.getPrimerDni());
+        assertNull(vacia.getUltimoDni());
+
+        PaginaEmpleados primeraCompleta = this.empleadoService.obtenerPaginaEmpleados(null, DatosPrueba.dni(4), 3);
+        assertEquals(List.of(0, 1, 2), numeros(primeraCompleta));
+        assertFalse(primeraCompleta.isHayAnterior());
+
+        assertEquals(1, this.empleadoService.obtenerPaginaEmpleados(null, null, 0).getEmpleados().size());
+        assertEquals(EmpleadoService.TAMANYO_PAGINA_MAXIMO, this.empleadoService.obtenerPaginaEmpleados(null, null, 10_000).getTamanyo());
+    }
+
+    // Empleados 0 a 7 con el 3 dado de baja, que no debe aparecer en ninguna página
+    private void registraPlantillaPaginada() throws DatosNoCorrectosException {
+        this.datos.registraEmpleados(8, i -> 50000.0);
+        this.jdbcTemplate.update("UPDATE empleados SET estado_empleado = FALSE WHERE dni = ?", DatosPrueba.dni(3));
+    }
+
+    private static List<Integer> numeros(PaginaEmpleados pagina) {
+        return pagina.getEmpleados().stream().map(empl -> Integer.parseInt(empl.getDni().substring(0, 8))).toList();
+    }
+}
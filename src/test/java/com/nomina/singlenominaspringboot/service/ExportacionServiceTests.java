@@ -0,0 +1,81 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ExportacionServiceTests {
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void registraEmpleados() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Alba Lima", "12345678A", "F", 2, 3));
+        this.empleadoService.registraEmpleado(new Empleado("Carlos; Martínez", "87654321B", "M", 1, 0));
+        this.empleadoService.registraEmpleado(new Empleado("Marta Garcés", "11223344C", "F", 1, 1));
+        this.empleadoService.eliminarEmpleado("11223344C");
+    }
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    @Test
+    void exportaLosEmpleadosActivosConSuSalario() throws IOException {
+        assertEquals("""
+                dni;nombre;sexo;categoria;anyos;salario
+                12345678A;Alba Lima;F;2;3.0;85000.0
+                87654321B;"Carlos; Martínez";M;1;0.0;50000.0
+                """, this.exporta(null, null));
+    }
+
+    @Test
+    void exportaAplicandoElFiltroDelListado() throws IOException {
+        assertEquals("""
+                dni;nombre;sexo;categoria;anyos;salario
+                87654321B;"Carlos; Martínez";M;1;0.0;50000.0
+                """, this.exporta("nombre", "martínez"));
+    }
+
+    @Test
+    void exportaLosEmpleadosSinSexoConElCampoVacio() throws IOException {
+        // Empleado anterior a la validación de datos, sin sexo, categoría ni nómina
+        this.jdbcTemplate.update("INSERT INTO empleados (dni, nombre, estado_empleado, version)"
+                + " VALUES ('00000004B', 'Sin datos', TRUE, 0)");
+
+        assertEquals("""
+                dni;nombre;sexo;categoria;anyos;salario
+                00000004B;Sin datos;;0;0.0;
+                """, this.exporta("dni", "00000004B"));
+    }
+
+    private String exporta(String campo, String valor) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        this.exportacionService.exportaNominas(campo, valor, salida);
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,175 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.CheckpointProceso;
+import com.nomina.singlenominaspringboot.model.NominaHistorica;
+import com.nomina.singlenominaspringboot.model.PeriodoNomina;
+import com.nomina.singlenominaspringboot.repository.CheckpointProcesoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "nominas.recalculo.tamanyo-lote=7")
+class HistoricoNominasServiceTests {
+
+    private static final int EMPLEADOS = 20;
+
+    private static final YearMonth MES = YearMonth.now().minusMonths(1);
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private HistoricoNominasService historicoService;
+
+    @Autowired
+    private CheckpointProcesoRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void registraEmpleados() throws DatosNoCorrectosException {
+        this.datos.registraEmpleados(EMPLEADOS, i -> 12000.0 * (i + 1));
+        this.jdbcTemplate.update("UPDATE empleados SET estado_empleado = FALSE WHERE dni = '00000019A'");
+    }
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    @Test
+    void generaLasNominasDeLosEmpleadosActivosYGuardaLosTotales() {
+        PeriodoNomina periodo = this.historicoService.generaPeriodo(MES);
+
+        assertEquals(EMPLEADOS - 1, periodo.getEmpleados());
+        // Importes de 1000, 2000... 19000 al mes
+        assertEquals(1000.0 * (EMPLEADOS - 1) * EMPLEADOS / 2, periodo.getCosteTotal());
+        assertEquals(periodo.getCosteTotal(), this.historicoService.obtenerPeriodo(MES).orElseThrow().getCosteTotal());
+        assertThrows(RuntimeException.class, () -> this.historicoService.generaPeriodo(MES));
+    }
+
+    @Test
+    void generaLasNominasDeEmpleadosSinTodosSusDatos() {
+        this.jdbcTemplate.update("UPDATE empleados SET nombre = NULL, categoria = NULL, anyos = NULL WHERE dni = '00000000A'");
+
+        PeriodoNomina periodo = this.historicoService.generaPeriodo(MES);
+
+        assertEquals(EMPLEADOS - 1, periodo.getEmpleados());
+        NominaHistorica nomina = this.historicoService.obtenerHistoricoEmpleado("00000000A").get(0);
+        assertEquals("", nomina.getNombre());
+        assertEquals(0, nomina.getCategoria());
+        assertEquals(0.0, nomina.getAnyos());
+        assertEquals(1000.0, nomina.getImporte());
+    }
+
+    @Test
+    void laReanudacionDescartaLasGeneracionesDePeriodosYaCerrados() {
+        this.historicoService.generaPeriodo(MES);
+        int periodo = MES.getYear() * 100 + MES.getMonthValue();
+        this.checkpointRepository.save(new CheckpointProceso(HistoricoNominasService.PROCESO_HISTORICO + periodo,
+                "00000006A", 7L, LocalDateTime.now().minusHours(1)));
+
+        this.historicoService.reanudaGeneraciones();
+
+        assertEquals(0, this.checkpointRepository.count());
+        assertEquals(EMPLEADOS - 1, this.historicoService.obtenerPeriodo(MES).orElseThrow().getEmpleados());
+    }
+
+    @Test
+    void lasNominasGeneradasNoCambianAlCambiarElSalario() {
+        this.historicoService.generaPeriodo(MES.minusMonths(1));
+        this.jdbcTemplate.update("UPDATE nominas SET salario = 60000 WHERE dni = '00000000A'");
+        this.historicoService.generaPeriodo(MES);
+
+        List<NominaHistorica> historico = this.historicoService.obtenerHistoricoEmpleado(" 00000000a ");
+
+        assertEquals(List.of(5000.0, 1000.0), historico.stream().map(NominaHistorica::getImporte).toList());
+        assertEquals(List.of(MES, MES.minusMonths(1)), this.historicoService.obtenerPeriodos().stream()
+                .map(periodo -> YearMonth.of(periodo.getAnyo(), periodo.getMes())).toList());
+    }
+
+    @Test
+    void reanudaDesdeElUltimoLoteSinDuplicarNominas() {
+        int periodo = MES.getYear() * 100 + MES.getMonthValue();
+        this.jdbcTemplate.update("INSERT INTO nominas_historico (periodo, dni, nombre, categoria, anyos, salario, importe)"
+                + " SELECT ?, dni, nombre, categoria, anyos, 0, 0 FROM empleados WHERE dni <= '00000009A'", periodo);
+        // Generación interrumpida: su punto de control lleva más que la caducidad de la reserva sin avanzar
+        this.checkpointRepository.save(new CheckpointProceso(HistoricoNominasService.PROCESO_HISTORICO + periodo,
+                "00000006A", 7L, LocalDateTime.now().minusHours(1)));
+
+        PeriodoNomina generado = this.historicoService.generaPeriodo(MES);
+
+        assertEquals(EMPLEADOS - 1, generado.getEmpleados());
+        assertEquals(0, this.checkpointRepository.count());
+    }
+
+    @Test
+    void noContinuaUnaGeneracionQueAvanzaEnOtraInstancia() {
+        int periodo = MES.getYear() * 100 + MES.getMonthValue();
+        this.checkpointRepository.save(new CheckpointProceso(HistoricoNominasService.PROCESO_HISTORICO + periodo,
+                "00000006A", 7L, LocalDateTime.now()));
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> this.historicoService.generaPeriodo(MES));
+
+        assertEquals("Las nóminas de " + MES + " se están generando en otra instancia", error.getMessage());
+        assertEquals(0, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM nominas_historico", Integer.class));
+        this.historicoService.reanudaGeneraciones();
+        assertTrue(this.historicoService.obtenerPeriodo(MES).isEmpty());
+    }
+
+    @Test
+    void dosGeneracionesSimultaneasDelMismoPeriodoSoloLoGeneranUnaVez() throws Exception {
+        int generaciones = 2;
+        ExecutorService hilos = Executors.newFixedThreadPool(generaciones);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<PeriodoNomina>> resultados = new ArrayList<>();
+        for (int i = 0; i < generaciones; i++) {
+            resultados.add(hilos.submit(() -> {
+                salida.await();
+                return this.historicoService.generaPeriodo(MES);
+            }));
+        }
+        salida.countDown();
+        List<PeriodoNomina> generados = new ArrayList<>();
+        List<String> errores = new ArrayList<>();
+        for (Future<PeriodoNomina> resultado : resultados) {
+            try {
+                generados.add(resultado.get(30, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                errores.add(e.getCause().getMessage());
+            }
+        }
+        hilos.shutdown();
+
+        assertEquals(1, generados.size());
+        assertEquals(1, errores.size());
+        assertTrue(errores.get(0).startsWith("Las nóminas de " + MES + " "), errores.get(0));
+        assertEquals(EMPLEADOS - 1, generados.get(0).getEmpleados());
+        assertEquals(1000.0 * (EMPLEADOS - 1) * EMPLEADOS / 2, generados.get(0).getCosteTotal());
+        assertEquals(EMPLEADOS - 1, this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM nominas_historico WHERE periodo = ?", Integer.class, MES.getYear() * 100 + MES.getMonthValue()));
+        assertEquals(1, this.historicoService.obtenerPeriodos().size());
+        assertEquals(0, this.checkpointRepository.count());
+    }
+}
@@ -0,0 +1,66 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.ErrorImportacion;
+import com.nomina.singlenominaspringboot.model.ResultadoImportacion;
+import com.nomina.singlenominaspringboot.repository.NominaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "nominas.importacion.tamanyo-lote=100")
+class ImportacionServiceTests {
+
+    private static final int EMPLEADOS = 1000;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private NominaRepository nominaRepository;
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    @Test
+    void importaFilasValidasEInformaDeLasIncorrectas() throws IOException, DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Registrado", "00000007A", "F", 1, 0));
+        StringBuilder csv = new StringBuilder("nombre;dni;sexo;categoria;anyos\n");
+        for (int i = 0; i < EMPLEADOS; i++) {
+            csv.append("Empleado ").append(i).append(';').append(String.format("%08da", i)).append(";f;")
+                    .append(1 + i % 9).append(';').append(i % 30).append('\n');
+        }
+        csv.append("Sin categoria;99999999A;M;diez;3\n");
+        csv.append("Sexo incorrecto;99999998A;X;1;3\n");
+        csv.append("Repetido;00000001A;M;1;3\n");
+
+        ResultadoImportacion resultado = this.importacionService.importaEmpleados(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(EMPLEADOS + 3, resultado.getFilasLeidas());
+        assertEquals(EMPLEADOS - 1, resultado.getFilasImportadas());
+        List<Long> filasConError = resultado.getErrores().stream().map(ErrorImportacion::getFila).sorted().toList();
+        assertEquals(List.of(9L, EMPLEADOS + 2L, EMPLEADOS + 3L, EMPLEADOS + 4L), filasConError);
+        assertEquals(EMPLEADOS, this.nominaRepository.count());
+        assertEquals(150000.0 + 5000 * 5, this.empleadoService.obtenerSalarioPorDni("00000005A"));
+        assertEquals(1, this.empleadoService.obtenerListaEmpleados("nombre", "empleado 999").size());
+    }
+}
@@ -0,0 +1,47 @@
+package com.nomina.singlenominaspringboot.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceBusquedaEmpleadosTests {
+
+    private IndiceBusquedaEmpleados indice;
+
+    @BeforeEach
+    void indexaEmpleados() {
+        this.indice = new IndiceBusquedaEmpleados();
+        this.indice.indexa("12345678A", "Alba Lima García");
+        this.indice.indexa("87654321B", "Carlos Martínez");
+        this.indice.indexa("11223344C", "Marta Garcés");
+    }
+
+    @Test
+    void buscaSubcadenaDelNombreSinDistinguirMayusculasNiAcentos() {
+        assertEquals(List.of("11223344C", "12345678A"), this.indice.buscaPorNombre("GARC"));
+        assertEquals(List.of("87654321B"), this.indice.buscaPorNombre("martinez"));
+        assertEquals(List.of("11223344C", "12345678A", "87654321B"), this.indice.buscaPorNombre("a"));
+        assertTrue(this.indice.buscaPorNombre("garcíaz").isEmpty());
+    }
+
+    @Test
+    void buscaSubcadenaDelDni() {
+        assertEquals(List.of("12345678A"), this.indice.buscaPorDni("5678a"));
+        assertEquals(List.of("11223344C", "12345678A"), this.indice.buscaPorDni("23"));
+    }
+
+    @Test
+    void mantieneElIndiceAlActualizarYDarDeBaja() {
+        this.indice.indexa("12345678A", "Alba Lima Pérez");
+        this.indice.desindexa("87654321B");
+
+        assertEquals(List.of("11223344C"), this.indice.buscaPorNombre("garc"));
+        assertEquals(List.of("12345678A"), this.indice.buscaPorNombre("perez"));
+        assertTrue(this.indice.buscaPorNombre("martinez").isEmpty());
+        assertTrue(this.indice.buscaPorDni("87654321B").isEmpty());
+    }
+}
@@ -0,0 +1,112 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EmpleadoListado;
+import com.nomina.singlenominaspringboot.model.EmpleadoModificado;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class InstantaneaEmpleadosTests {
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private InstantaneaEmpleados instantanea;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void registraEmpleados() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Eva", "00000003A", "F", 3, 2));
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 1, 0));
+        this.empleadoService.registraEmpleado(new Empleado("Luis", "00000002A", "M", 3, 1));
+        this.estadisticas = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.estadisticas.clear();
+    }
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    @Test
+    void lasLecturasNoConsultanLaBaseDeDatos() {
+        assertEquals(List.of("00000001A", "00000002A", "00000003A"), dnis(this.empleadoService.obtenerListaEmpleados()));
+        assertEquals(List.of("00000002A", "00000003A"), dnis(this.empleadoService.obtenerListaEmpleados("categoria", "3")));
+        assertEquals(List.of("00000001A", "00000003A"), dnis(this.empleadoService.obtenerListaEmpleados("sexo", "f")));
+        assertEquals(List.of("00000003A"), dnis(this.empleadoService.obtenerListaEmpleados("salario", "100000")));
+        assertEquals(List.of("00000002A"), dnis(this.empleadoService.obtenerListaEmpleados("anyos", "1")));
+        assertEquals(List.of("00000002A"), dnis(this.empleadoService.obtenerListaEmpleados("nombre", "lui")));
+        assertEquals(50000.0, this.empleadoService.obtenerSalarioPorDni(" 00000001a "));
+        Empleado empl = this.empleadoService.obtenerEmpleadoPorDni("00000003A").orElseThrow();
+        assertEquals("Eva", empl.getNombre());
+        assertEquals(0L, empl.getVersion());
+        assertEquals(100000.0, empl.getNomina().getSalario());
+
+        assertEquals(0, this.estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void cadaEscrituraPublicaUnaNuevaInstantanea() throws DatosNoCorrectosException {
+        List<EmpleadoListado> anterior = this.empleadoService.obtenerListaEmpleados();
+
+        this.empleadoService.actualizaEmpleado(new Empleado("Ana María", "00000001A", "F", 2, 1));
+        this.empleadoService.eliminarEmpleado("00000002A");
+
+        assertEquals(3, anterior.size());
+        assertEquals("Ana", anterior.get(0).getNombre());
+        List<EmpleadoListado> actual = this.empleadoService.obtenerListaEmpleados();
+        assertEquals(List.of("00000001A", "00000003A"), dnis(actual));
+        assertEquals("Ana María", actual.get(0).getNombre());
+        assertEquals(70000.0 + 5000, this.empleadoService.obtenerSalarioPorDni("00000001A"));
+        assertEquals(1L, this.empleadoService.obtenerEmpleadoPorDni("00000001A").orElseThrow().getVersion());
+        assertTrue(this.empleadoService.obtenerEmpleadoPorDni("00000002A").isEmpty());
+        assertEquals(List.of("00000003A"), dnis(this.empleadoService.obtenerListaEmpleados("categoria", "3")));
+    }
+
+    @Test
+    void unCambioConUnaVersionAnteriorSeDescarta() throws DatosNoCorrectosException {
+        Empleado antiguo = new Empleado("Ana", "00000001A", "F", 1, 0);
+        antiguo.setVersion(0L);
+        this.empleadoService.actualizaEmpleado(new Empleado("Ana María", "00000001A", "F", 1, 0));
+
+        this.instantanea.aplica(List.of(new EmpleadoModificado(antiguo, false)));
+
+        assertEquals("Ana María", this.empleadoService.obtenerEmpleadoPorDni("00000001A").orElseThrow().getNombre());
+    }
+
+    @Test
+    void unaEscrituraFallidaNoModificaLaInstantanea() throws DatosNoCorrectosException {
+        assertThrows(RuntimeException.class,
+                () -> this.empleadoService.registraEmpleado(new Empleado("Otra", "00000001A", "F", 5, 5)));
+
+        assertEquals("Ana", this.empleadoService.obtenerEmpleadoPorDni("00000001A").orElseThrow().getNombre());
+        assertEquals(3, this.instantanea.tamanyo());
+    }
+
+    private static List<String> dnis(List<EmpleadoListado> empleados) {
+        return empleados.stream().map(EmpleadoListado::getDni).toList();
+    }
+}
@@ -0,0 +1,207 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.CheckpointProceso;
+import com.nomina.singlenominaspringboot.model.EscalaSalarial;
+import com.nomina.singlenominaspringboot.model.Nomina;
+import com.nomina.singlenominaspringboot.model.ResultadoRecalculo;
+import com.nomina.singlenominaspringboot.model.TablaSalarial;
+import com.nomina.singlenominaspringboot.repository.CheckpointProcesoRepository;
+import com.nomina.singlenominaspringboot.repository.NominaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "nominas.recalculo.tamanyo-lote=7")
+class NominaServiceTests {
+
+    private static final int EMPLEADOS = 50;
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private NominaService nominaService;
+
+    @Autowired
+    private NominaRepository nominaRepository;
+
+    @Autowired
+    private TablaSalarialService tablaSalarialService;
+
+    @Autowired
+    private CheckpointProcesoRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void registraEmpleadosConSalarioDesactualizado() throws DatosNoCorrectosException {
+        this.datos.registraEmpleados(EMPLEADOS, i -> 0.0);
+    }
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    @Test
+    void recalculaTodasLasNominasPorLotes() {
+        ResultadoRecalculo resultado = this.nominaService.recalculaNominas();
+
+        assertEquals(EMPLEADOS, resultado.getFilas());
+        assertFalse(resultado.isReanudado());
+        assertEquals(0, this.contarSalariosIncorrectos());
+        assertTrue(this.checkpointRepository.findByProcesoStartingWith(NominaService.PROCESO_RECALCULO).isEmpty());
+    }
+
+    @Test
+    void reanudaDesdeElUltimoLoteConfirmado() {
+        // Recálculo interrumpido: su punto de control lleva más que la caducidad de la reserva sin avanzar
+        this.checkpointRepository.save(new CheckpointProceso(NominaService.procesoRecalculo(0), "00000019A", 20L,
+                LocalDateTime.now().minusHours(1)));
+
+        ResultadoRecalculo resultado = this.nominaService.recalculaNominas();
+
+        assertTrue(resultado.isReanudado());
+        assertEquals(EMPLEADOS - 20, resultado.getFilas());
+        assertEquals(20, this.contarSalariosIncorrectos());
+    }
+
+    @Test
+    void laActivacionDeUnaEscalaNoContinuaUnRecalculoInterrumpidoConOtra() {
+        this.checkpointRepository.save(new CheckpointProceso(NominaService.procesoRecalculo(0), "00000019A", 20L, LocalDateTime.now()));
+        int[] sueldos = TablaSalarial.INICIAL.getSueldosBase();
+        sueldos[0] = 55000;
+
+        EscalaSalarial escala = this.tablaSalarialService.registraVersion(sueldos, 6000, LocalDate.now());
+
+        assertNotNull(escala.getActivada());
+        assertEquals(0, this.contarSalariosIncorrectos());
+        assertTrue(this.checkpointRepository.findByProcesoStartingWith(NominaService.PROCESO_RECALCULO).isEmpty());
+    }
+
+    @Test
+    void elRecalculoEnCursoEnOtraInstanciaNoSeRepite() {
+        this.checkpointRepository.save(new CheckpointProceso(NominaService.procesoRecalculo(0), "00000019A", 20L, LocalDateTime.now()));
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> this.nominaService.recalculaNominas());
+
+        assertEquals("El recálculo de nóminas se está haciendo en otra instancia", error.getMessage());
+        assertEquals(EMPLEADOS, this.contarSalariosIncorrectos());
+        assertEquals("00000019A", this.checkpointRepository.findById(NominaService.procesoRecalculo(0))
+                .orElseThrow().getUltimoDni());
+    }
+
+    @Test
+    void laEscalaQueSeRecalculaEnOtraInstanciaNoSeMarcaActivada() {
+        this.checkpointRepository.save(new CheckpointProceso(NominaService.procesoRecalculo(1), "00000019A", 20L, LocalDateTime.now()));
+        int[] sueldos = TablaSalarial.INICIAL.getSueldosBase();
+        sueldos[0] = 55000;
+
+        EscalaSalarial escala = this.tablaSalarialService.registraVersion(sueldos, 6000, LocalDate.now());
+
+        assertNull(escala.getActivada());
+        assertEquals(1, TablaSalarial.vigente().getVersion());
+        assertEquals(EMPLEADOS, this.contarSalariosIncorrectos());
+    }
+
+    @Test
+    void sinCambiosNoSeEscribeNingunaNomina() {
+        this.nominaService.recalculaNominas();
+
+        ResultadoRecalculo resultado = this.nominaService.recalculaNominas();
+
+        assertEquals(0, resultado.getFilas());
+        assertEquals(1L, this.jdbcTemplate.queryForObject("SELECT MAX(version) FROM nominas", Long.class));
+    }
+
+    @Test
+    void acumulaLaAntiguedadUnaSolaVezPorAnyo() {
+        this.jdbcTemplate.update("UPDATE empleados SET estado_empleado = FALSE WHERE dni = '00000000A'");
+        double anyosPrevios = this.sumarAnyos();
+
+        ResultadoRecalculo resultado = this.nominaService.acumulaAntiguedad(2027);
+
+        assertEquals(EMPLEADOS - 1, resultado.getFilas());
+        assertEquals(anyosPrevios + EMPLEADOS - 1, this.sumarAnyos());
+        assertEquals(0, this.contarSalariosIncorrectos());
+        assertEquals(0, this.nominaService.acumulaAntiguedad(2027).getFilas());
+        assertEquals(anyosPrevios + EMPLEADOS - 1, this.sumarAnyos());
+        assertTrue(this.checkpointRepository.findById(NominaService.PROCESO_ANTIGUEDAD + 2027).isEmpty());
+    }
+
+    @Test
+    void laAcumulacionSeReanudaSinRepetirLosEmpleadosYaAcumulados() {
+        this.jdbcTemplate.update("UPDATE empleados SET anyos = anyos + 1, anyo_acumulacion = 2027 WHERE dni <= '00000009A'");
+        // Acumulación interrumpida: su punto de control lleva más que la caducidad de la reserva sin avanzar
+        this.checkpointRepository.save(new CheckpointProceso(NominaService.PROCESO_ANTIGUEDAD + 2027, "00000019A", 20L,
+                LocalDateTime.now().minusHours(1)));
+
+        ResultadoRecalculo reanudado = this.nominaService.acumulaAntiguedad(2027);
+
+        assertTrue(reanudado.isReanudado());
+        assertEquals(EMPLEADOS - 20, reanudado.getFilas());
+        assertEquals(10, this.nominaService.acumulaAntiguedad(2027).getFilas());
+        assertEquals(0, this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM empleados WHERE anyo_acumulacion IS NULL OR anyos <> MOD(CAST(SUBSTRING(dni, 1, 8) AS INT), 30) + 1",
+                Integer.class));
+    }
+
+    @Test
+    void laAcumulacionEnCursoEnOtraInstanciaNoSeRepite() {
+        int anyo = LocalDate.now().getYear();
+        this.checkpointRepository.save(new CheckpointProceso(NominaService.PROCESO_ANTIGUEDAD + anyo, "00000019A", 20L,
+                LocalDateTime.now()));
+        double anyosPrevios = this.sumarAnyos();
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> this.nominaService.acumulaAntiguedad(anyo));
+        assertEquals("La acumulación de antigüedad de " + anyo + " se está haciendo en otra instancia", error.getMessage());
+        this.nominaService.acumulaAntiguedadProgramada();
+        this.nominaService.reanudaAcumulacionesAntiguedad();
+
+        assertEquals(anyosPrevios, this.sumarAnyos());
+        assertEquals("00000019A", this.checkpointRepository.findById(NominaService.PROCESO_ANTIGUEDAD + anyo)
+                .orElseThrow().getUltimoDni());
+    }
+
+    @Test
+    void laReanudacionTerminaLasAcumulacionesInterrumpidas() {
+        this.checkpointRepository.save(new CheckpointProceso(NominaService.PROCESO_ANTIGUEDAD + 2027, "", 0L,
+                LocalDateTime.now().minusHours(1)));
+        double anyosPrevios = this.sumarAnyos();
+
+        this.nominaService.reanudaAcumulacionesAntiguedad();
+
+        assertEquals(anyosPrevios + EMPLEADOS, this.sumarAnyos());
+        assertTrue(this.checkpointRepository.findByProcesoStartingWith(NominaService.PROCESO_ANTIGUEDAD).isEmpty());
+    }
+
+    private double sumarAnyos() {
+        return this.jdbcTemplate.queryForObject("SELECT SUM(anyos) FROM empleados", Double.class);
+    }
+
+    private int contarSalariosIncorrectos() {
+        int incorrectos = 0;
+        for (Nomina nomina : this.nominaRepository.findAll()) {
+            if (nomina.getSalario() != nomina.calculaSueldo()) {
+                incorrectos++;
+            }
+        }
+        return incorrectos;
+    }
+}
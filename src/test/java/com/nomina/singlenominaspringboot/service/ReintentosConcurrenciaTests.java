@@ -0,0 +1,61 @@
+package com.nomina.singlenominaspringboot.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReintentosConcurrenciaTests {
+
+    private final ReintentosConcurrencia reintentos = new ReintentosConcurrencia();
+
+    @BeforeEach
+    void configura() {
+        ReflectionTestUtils.setField(this.reintentos, "intentos", 3);
+        ReflectionTestUtils.setField(this.reintentos, "esperaMs", 1L);
+    }
+
+    @Test
+    void reintentaLosConflictosHastaQueLaOperacionSeCompleta() {
+        AtomicInteger llamadas = new AtomicInteger();
+
+        String resultado = this.reintentos.ejecuta("prueba", () -> {
+            if (llamadas.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Empleado", "00000001A");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resultado);
+        assertEquals(3, llamadas.get());
+    }
+
+    @Test
+    void abandonaTrasAgotarLosIntentos() {
+        AtomicInteger llamadas = new AtomicInteger();
+
+        assertThrows(CannotAcquireLockException.class, () -> this.reintentos.ejecuta("prueba", () -> {
+            llamadas.incrementAndGet();
+            throw new CannotAcquireLockException("bloqueo");
+        }));
+        assertEquals(3, llamadas.get());
+    }
+
+    @Test
+    void noReintentaOtrosErrores() {
+        AtomicInteger llamadas = new AtomicInteger();
+
+        assertThrows(DataIntegrityViolationException.class, () -> this.reintentos.ejecuta("prueba", () -> {
+            llamadas.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicado");
+        }));
+        assertEquals(1, llamadas.get());
+    }
+}
@@ -0,0 +1,133 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.PanelResumenNominas;
+import com.nomina.singlenominaspringboot.model.TotalNominas;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ResumenNominasServiceTests {
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private ResumenNominasService resumenNominasService;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void reconciliaResumen() {
+        this.resumenNominasService.reconcilia();
+    }
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    @Test
+    void altasModificacionesYBajasActualizanLosAgregados() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 1, 0));
+        this.empleadoService.registraEmpleado(new Empleado("Eva", "00000002A", "F", 2, 2));
+        this.empleadoService.registraEmpleado(new Empleado("Luis", "00000003A", "M", 2, 1));
+        this.empleadoService.actualizaEmpleado(new Empleado("Ana", "00000001A", "F", 2, 1));
+        this.empleadoService.eliminarEmpleado("00000003A");
+
+        PanelResumenNominas panel = this.resumenNominasService.obtenerPanel();
+
+        TotalNominas categoria2 = panel.getPorCategoria().get(1);
+        assertEquals("2", categoria2.getGrupo());
+        assertEquals(2, categoria2.getEmpleados());
+        assertEquals(70000 + 5000 + 70000 + 10000, categoria2.getTotalSalarios());
+        assertEquals(0, panel.getPorCategoria().get(0).getEmpleados());
+        assertEquals(2, panel.getTotal().getEmpleados());
+        assertEquals(77500, panel.getTotal().getSalarioMedio());
+        assertEquals(0, this.resumenNominasService.reconcilia());
+    }
+
+    @Test
+    void losEmpleadosSinCategoriaNiSexoSeAgreganAparte() {
+        // Empleado del esquema original, sin categoría ni sexo
+        this.jdbcTemplate.update("INSERT INTO empleados (dni, nombre, estado_empleado, version) VALUES ('00000001A', 'Ana', TRUE, 0)");
+        this.jdbcTemplate.update("INSERT INTO nominas (id, dni, salario, version) VALUES (1, '00000001A', 30000, 0)");
+
+        assertEquals(1, this.resumenNominasService.reconcilia());
+        PanelResumenNominas panel = this.resumenNominasService.obtenerPanel();
+        assertEquals("0", panel.getPorCategoria().get(0).getGrupo());
+        assertEquals(1, panel.getPorCategoria().get(0).getEmpleados());
+        assertEquals("I", panel.getPorSexo().get(0).getGrupo());
+        assertEquals(30000, panel.getTotal().getTotalSalarios());
+
+        this.empleadoService.eliminarEmpleado("00000001A");
+
+        assertEquals(0, this.resumenNominasService.obtenerPanel().getTotal().getEmpleados());
+        assertEquals(0, this.resumenNominasService.reconcilia());
+    }
+
+    @Test
+    void reconciliacionCorrigeLosAgregadosDesviados() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 1, 0));
+        this.empleadoService.registraEmpleado(new Empleado("Luis", "00000002A", "M", 3, 0));
+        this.jdbcTemplate.update("UPDATE resumen_nominas SET empleados = 7 WHERE categoria = 1");
+        this.jdbcTemplate.update("INSERT INTO resumen_nominas (categoria, sexo, empleados, total_salarios) VALUES (9, 'I', 1, 1)");
+
+        assertEquals(2, this.resumenNominasService.reconcilia());
+        assertEquals(2, this.resumenNominasService.obtenerPanel().getTotal().getEmpleados());
+        assertEquals(0, this.resumenNominasService.reconcilia());
+    }
+
+    @Test
+    void lasPrimerasAltasConcurrentesDeUnaCategoriaYSexoCreanUnSoloAgregado() throws Exception, DatosNoCorrectosException {
+        int altas = 8;
+        ExecutorService hilos = Executors.newFixedThreadPool(altas);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> resultados = new ArrayList<>();
+        for (int i = 0; i < altas; i++) {
+            Empleado empl = new Empleado("Empleado " + i, DatosPrueba.dni(i), "I", 4, 0);
+            resultados.add(hilos.submit(() -> {
+                salida.await();
+                return this.empleadoService.registraEmpleado(empl);
+            }));
+        }
+        salida.countDown();
+        for (Future<?> resultado : resultados) {
+            resultado.get(30, TimeUnit.SECONDS);
+        }
+        hilos.shutdown();
+
+        TotalNominas categoria4 = this.resumenNominasService.obtenerPanel().getPorCategoria().get(0);
+        assertEquals("4", categoria4.getGrupo());
+        assertEquals(altas, categoria4.getEmpleados());
+        assertEquals(altas * 110000.0, categoria4.getTotalSalarios());
+        // La suma del agregado sólo invalida su tabla: los empleados siguen en la caché de segundo nivel
+        assertTrue(this.entityManagerFactory.getCache().contains(Empleado.class, DatosPrueba.dni(0)));
+        assertEquals(0, this.resumenNominasService.reconcilia());
+    }
+}
@@ -0,0 +1,98 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.model.EscenarioSalarial;
+import com.nomina.singlenominaspringboot.model.PlantillaSalarial;
+import com.nomina.singlenominaspringboot.model.ResultadoSimulacion;
+import com.nomina.singlenominaspringboot.model.TablaSalarial;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimulacionSalarialServiceTests {
+
+    private final SimulacionSalarialService simulacion = new SimulacionSalarialService();
+
+    @Test
+    void calculaLasDiferenciasPorCategoriaYTramo() {
+        PlantillaSalarial plantilla = new PlantillaSalarial(new int[]{1, 1, 2}, new double[]{0, 2, 1},
+                new double[]{50000, 60000, Double.NaN});
+        int[] sueldos = TablaSalarial.INICIAL.getSueldosBase();
+        sueldos[0] = 52000;
+
+        ResultadoSimulacion resultado = this.simulacion.simula(plantilla, new EscenarioSalarial(sueldos, 5000, Map.of()));
+
+        assertEquals(3, resultado.getTotal().getEmpleados());
+        assertEquals(50000 + 60000 + 75000, resultado.getTotal().getCosteActual());
+        assertEquals(4000, resultado.getTotal().getDiferencia());
+        assertEquals(2, resultado.getPorCategoria().size());
+        assertEquals(4000, resultado.getPorCategoria().get(0).getDiferencia());
+        assertEquals(0, resultado.getPorCategoria().get(1).getDiferencia());
+        assertEquals(1, resultado.getDistribucion().get(1).getEmpleados());
+        assertEquals(2, resultado.getDistribucion().get(3).getEmpleados());
+    }
+
+    @Test
+    void lasPromocionesUsanElSueldoDeLaCategoriaDeDestino() {
+        PlantillaSalarial plantilla = new PlantillaSalarial(new int[]{1, 2}, new double[]{0, 0}, new double[]{50000, 70000});
+
+        ResultadoSimulacion resultado = this.simulacion.simula(plantilla,
+                new EscenarioSalarial(TablaSalarial.INICIAL.getSueldosBase(), 5000, Map.of(1, 3)));
+
+        assertEquals(40000, resultado.getTotal().getDiferencia());
+        assertEquals("1", resultado.getPorCategoria().get(0).getGrupo());
+        assertEquals(40000, resultado.getPorCategoria().get(0).getDiferencia());
+        assertEquals(1, resultado.getDistribucion().get(6).getEmpleados());
+    }
+
+    @Test
+    void elCalculoEnParaleloCoincideConElSecuencial() {
+        int empleados = 200_000;
+        int[] categorias = new int[empleados];
+        double[] anyos = new double[empleados];
+        double[] salarios = new double[empleados];
+        double esperado = 0;
+        for (int i = 0; i < empleados; i++) {
+            categorias[i] = 1 + i % 9;
+            anyos[i] = i % 30;
+            salarios[i] = TablaSalarial.INICIAL.calculaSueldo(categorias[i], anyos[i]);
+            esperado += 1000 + 100 * anyos[i];
+        }
+        int[] sueldos = TablaSalarial.INICIAL.getSueldosBase();
+        for (int categoria = 0; categoria < sueldos.length; categoria++) {
+            sueldos[categoria] += 1000;
+        }
+
+        ResultadoSimulacion resultado = this.simulacion.simula(new PlantillaSalarial(categorias, anyos, salarios),
+                new EscenarioSalarial(sueldos, 5100, Map.of()));
+
+        assertEquals(empleados, resultado.getTotal().getEmpleados());
+        assertEquals(esperado, resultado.getTotal().getDiferencia(), 1e-3);
+        assertEquals(empleados, resultado.getDistribucion().stream().mapToLong(ResultadoSimulacion.TramoVariacion::getEmpleados).sum());
+    }
+
+    @Test
+    void rechazaUnaEscalaSinSueldoParaAlgunaCategoria() {
+        PlantillaSalarial plantilla = new PlantillaSalarial(new int[]{1, 5}, new double[]{0, 0}, new double[]{50000, 130000});
+
+        assertThrows(RuntimeException.class,
+                () -> this.simulacion.simula(plantilla, new EscenarioSalarial(new int[]{50000, 70000}, 5000, Map.of())));
+    }
+
+    @Test
+    void rechazaImportesNegativosEnLaEscalaSimulada() {
+        PlantillaSalarial plantilla = new PlantillaSalarial(new int[]{1}, new double[]{0}, new double[]{50000});
+        int[] sueldos = TablaSalarial.INICIAL.getSueldosBase();
+
+        sueldos[0] = -1;
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> this.simulacion.simula(plantilla, new EscenarioSalarial(sueldos, 5000, Map.of())));
+        assertEquals("Los sueldos base no pueden ser negativos", error.getMessage());
+
+        error = assertThrows(RuntimeException.class, () -> this.simulacion.simula(plantilla,
+                new EscenarioSalarial(TablaSalarial.INICIAL.getSueldosBase(), -5000, Map.of())));
+        assertEquals("El incremento por año de antigüedad no puede ser negativo", error.getMessage());
+    }
+}
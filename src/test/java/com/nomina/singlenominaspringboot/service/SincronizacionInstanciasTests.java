@@ -0,0 +1,174 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.EscalaSalarial;
+import com.nomina.singlenominaspringboot.model.TablaSalarial;
+import com.nomina.singlenominaspringboot.repository.EmpleadoRepository;
+import com.nomina.singlenominaspringboot.repository.EscalaSalarialRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SincronizacionInstanciasTests {
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private SincronizacionInstancias sincronizacion;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private TablaSalarialService tablaSalarialService;
+
+    @Autowired
+    private IndiceBusquedaEmpleados indiceBusqueda;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private EscalaSalarialRepository escalaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void registraEmpleados() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 1, 2));
+        // Parte del último cambio registrado, sean cuales sean los que hayan dejado los tests anteriores
+        this.sincronizacion.sincroniza();
+    }
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    /**
+     * Registra un cambio hecho por otra instancia.
+     *
+     * @param dni El DNI del empleado modificado, o null si el cambio afecta a todos.
+     * @return El identificador del cambio.
+     */
+    private long registraCambioRemoto(String dni) {
+        this.jdbcTemplate.update("INSERT INTO cambios_empleados (dni, instancia, registrado) VALUES (?, 'otra', ?)",
+                dni, LocalDateTime.now());
+        return this.jdbcTemplate.queryForObject("SELECT MAX(id) FROM cambios_empleados", Long.class);
+    }
+
+    @Test
+    void losCambiosDeLaPropiaInstanciaNoSeVuelvenAAplicar() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Luis", "00000002A", "M", 2, 1));
+        this.empleadoService.eliminarEmpleado("00000001A");
+
+        assertEquals(0, this.sincronizacion.sincroniza());
+        assertEquals(List.of("00000002A"), this.indiceBusqueda.buscaPorNombre("luis"));
+        assertEquals(List.of(), this.indiceBusqueda.buscaPorNombre("ana"));
+    }
+
+    @Test
+    void losCambiosDeOtraInstanciaSeAplicanPorEmpleado() {
+        // Entidad en la caché de segundo nivel antes del cambio
+        assertEquals("Ana", this.empleadoRepository.findById("00000001A").orElseThrow().getNombre());
+
+        // Otra instancia cambia el nombre y el salario de Ana, da de alta a Eva y registra los dos cambios
+        this.jdbcTemplate.update("UPDATE empleados SET nombre = 'Ana María' WHERE dni = '00000001A'");
+        this.jdbcTemplate.update("UPDATE nominas SET salario = 99000 WHERE dni = '00000001A'");
+        this.jdbcTemplate.update("INSERT INTO empleados (dni, nombre, sexo, categoria, anyos, estado_empleado, version)"
+                + " VALUES ('00000003A', 'Eva', 'F', 3, 0, TRUE, 0)");
+        this.registraCambioRemoto("00000001A");
+        this.registraCambioRemoto("00000003A");
+
+        assertEquals(60000.0, this.empleadoService.obtenerSalarioPorDni("00000001A"));
+        assertEquals(List.of(), this.indiceBusqueda.buscaPorNombre("eva"));
+
+        assertEquals(2, this.sincronizacion.sincroniza());
+
+        assertEquals(99000.0, this.empleadoService.obtenerSalarioPorDni("00000001A"));
+        assertEquals(List.of("00000001A"), this.indiceBusqueda.buscaPorNombre("maria"));
+        assertEquals(List.of("00000003A"), this.indiceBusqueda.buscaPorNombre("eva"));
+        assertTrue(this.empleadoService.obtenerEmpleadoPorDni("00000003A").isPresent());
+        assertEquals("Ana María", this.empleadoRepository.findById("00000001A").orElseThrow().getNombre());
+        assertEquals(0, this.sincronizacion.sincroniza());
+    }
+
+    @Test
+    void laBajaEnOtraInstanciaSeQuitaDeLaMemoria() {
+        this.jdbcTemplate.update("UPDATE empleados SET estado_empleado = FALSE WHERE dni = '00000001A'");
+        this.registraCambioRemoto("00000001A");
+
+        assertEquals(1, this.sincronizacion.sincroniza());
+
+        assertEquals(List.of(), this.indiceBusqueda.buscaPorNombre("ana"));
+        assertFalse(this.empleadoService.obtenerEmpleadoPorDni("00000001A").isPresent());
+    }
+
+    @Test
+    void unProcesoMasivoEnOtraInstanciaReconstruyeElEstadoEnMemoria() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Luis", "00000002A", "M", 2, 1));
+        this.sincronizacion.sincroniza();
+
+        this.jdbcTemplate.update("UPDATE nominas SET salario = salario + 1000");
+        this.registraCambioRemoto(null);
+
+        assertEquals(1, this.sincronizacion.sincroniza());
+
+        assertEquals(61000.0, this.empleadoService.obtenerSalarioPorDni("00000001A"));
+        assertEquals(this.empleadoRepository.findById("00000002A").orElseThrow().getNomina().getSalario(),
+                this.empleadoService.obtenerSalarioPorDni("00000002A"));
+    }
+
+    @Test
+    void unCambioConfirmadoDespuesDeOtroPosteriorNoSePierde() {
+        this.jdbcTemplate.update("INSERT INTO empleados (dni, nombre, sexo, categoria, anyos, estado_empleado, version)"
+                + " VALUES ('00000003A', 'Eva', 'F', 3, 0, TRUE, 0)");
+        // El cambio de Eva toma su identificador antes que el de Ana, pero todavía no es visible al sincronizar
+        long idEva = this.registraCambioRemoto("00000003A");
+        this.jdbcTemplate.update("UPDATE empleados SET nombre = 'Ana María' WHERE dni = '00000001A'");
+        this.registraCambioRemoto("00000001A");
+        this.jdbcTemplate.update("DELETE FROM cambios_empleados WHERE id = ?", idEva);
+
+        assertEquals(1, this.sincronizacion.sincroniza());
+        assertEquals(List.of("00000001A"), this.indiceBusqueda.buscaPorNombre("maria"));
+        assertEquals(List.of(), this.indiceBusqueda.buscaPorNombre("eva"));
+
+        this.jdbcTemplate.update("INSERT INTO cambios_empleados (id, dni, instancia, registrado) VALUES (?, ?, 'otra', ?)",
+                idEva, "00000003A", LocalDateTime.now());
+
+        assertEquals(1, this.sincronizacion.sincroniza());
+        assertEquals(List.of("00000003A"), this.indiceBusqueda.buscaPorNombre("eva"));
+    }
+
+    @Test
+    void laEscalaActivadaEnOtraInstanciaSePublicaSinRecalcular() {
+        int[] sueldos = TablaSalarial.INICIAL.getSueldosBase();
+        sueldos[0] = 55000;
+        EscalaSalarial escala = new EscalaSalarial(1, LocalDate.now(), sueldos, 5000);
+        escala.setActivada(LocalDateTime.now());
+        this.escalaRepository.save(escala);
+
+        assertTrue(this.tablaSalarialService.cargaVersionVigente());
+
+        assertEquals(1, TablaSalarial.vigente().getVersion());
+        assertFalse(this.tablaSalarialService.cargaVersionVigente());
+        // Las nóminas ya las recalculó la instancia que activó la escala
+        assertEquals(60000.0, this.empleadoService.obtenerSalarioPorDni("00000001A"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.nomina.singlenominaspringboot.service;
+
+import com.nomina.singlenominaspringboot.DatosPrueba;
+import com.nomina.singlenominaspringboot.exception.DatosNoCorrectosException;
+import com.nomina.singlenominaspringboot.model.EscalaSalarial;
+import com.nomina.singlenominaspringboot.model.Empleado;
+import com.nomina.singlenominaspringboot.model.TablaSalarial;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TablaSalarialServiceTests {
+
+    @Autowired
+    private DatosPrueba datos;
+
+    @Autowired
+    private TablaSalarialService tablaSalarialService;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void registraEmpleados() throws DatosNoCorrectosException {
+        this.empleadoService.registraEmpleado(new Empleado("Ana", "00000001A", "F", 1, 2));
+        this.empleadoService.registraEmpleado(new Empleado("Luis", "00000002A", "M", 2, 1));
+        this.empleadoService.registraEmpleado(new Empleado("Eva", "00000003A", "F", 3, 0));
+    }
+
+    @AfterEach
+    void eliminaDatos() {
+        this.datos.elimina();
+    }
+
+    @Test
+    void laNuevaEscalaSoloRecalculaLosSalariosQueCambian() {
+        int[] sueldos = TablaSalarial.INICIAL.getSueldosBase();
+        sueldos[0] = 55000;
+        Long versionEva = this.versionNomina("00000003A");
+        Long versionAna = this.versionNomina("00000001A");
+
+        EscalaSalarial escala = this.tablaSalarialService.registraVersion(sueldos, 6000, LocalDate.now());
+
+        assertNotNull(escala.getActivada());
+        assertEquals(escala.getVersion(), TablaSalarial.vigente().getVersion());
+        // Con el nuevo incremento cambian los salarios con antigüedad; el de Eva (categoría 3, sin antigüedad) no
+        assertEquals(versionEva, this.versionNomina("00000003A"));
+        assertEquals(versionAna + 1, this.versionNomina("00000001A"));
+        assertEquals(55000.0 + 6000 * 2, this.empleadoService.obtenerSalarioPorDni("00000001A"));
+        assertEquals(70000.0 + 6000, this.empleadoService.obtenerSalarioPorDni("00000002A"));
+        assertEquals(90000.0, this.empleadoService.obtenerSalarioPorDni("00000003A"));
+    }
+
+    @Test
+    void unaEscalaFuturaNoSeActivaHastaSuFecha() {
+        EscalaSalarial escala = this.tablaSalarialService.registraVersion(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10},
+                1, LocalDate.now().plusDays(1));
+
+        assertNull(escala.getActivada());
+        assertEquals(TablaSalarial.INICIAL, TablaSalarial.vigente());
+        assertEquals(Optional.empty(), this.tablaSalarialService.activaVersionVigente());
+        assertEquals(50000.0 + 5000 * 2, this.empleadoService.obtenerSalarioPorDni("00000001A"));
+    }
+
+    @Test
+    void losNuevosEmpleadosUsanLaEscalaVigente() throws DatosNoCorrectosException {
+        int[] sueldos = TablaSalarial.INICIAL.getSueldosBase();
+        sueldos[3] = 111000;
+        this.tablaSalarialService.registraVersion(sueldos, 5000, LocalDate.now());
+
+        this.empleadoService.registraEmpleado(new Empleado("Sara", "00000004A", "F", 4, 1));
+
+        assertEquals(111000.0 + 5000, this.empleadoService.obtenerSalarioPorDni("00000004A"));
+    }
+
+    @Test
+    void rechazaImportesNegativos() {
+        assertThrows(RuntimeException.class,
+                () -> this.tablaSalarialService.registraVersion(new int[]{-1, 2, 3, 4, 5, 6, 7, 8, 9}, 5000, LocalDate.now()));
+        assertTrue(this.tablaSalarialService.obtenerVersiones().isEmpty());
+    }
+
+    @Test
+    void rechazaEscalasSinTodasLasCategoriasDeLosEmpleados() {
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> this.tablaSalarialService.registraVersion(new int[]{1, 2, 3, 4, 5, 6, 7, 8}, 5000, LocalDate.now()));
+
+        assertEquals("La escala salarial debe indicar el sueldo base de las categorías 1 a 9", error.getMessage());
+        assertTrue(this.tablaSalarialService.obtenerVersiones().isEmpty());
+    }
+
+    private Long versionNomina(String dni) {
+        return this.jdbcTemplate.queryForObject("SELECT version FROM nominas WHERE dni = ?", Long.class, dni);
+    }
+}
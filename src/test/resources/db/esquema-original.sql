@@ -0,0 +1,48 @@
+-- Esquema anterior a las migraciones de Flyway, tal como lo generaba Hibernate con las entidades originales, con unos
+-- pocos datos, entre ellos un empleado activo sin nombre, sexo, categoría ni antigüedad, que el esquema original admitía.
+-- Las migraciones se aplican sobre él partiendo de la versión 0, como en las bases de datos existentes.
+CREATE SEQUENCE nominas_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE administradores
+(
+    dni         VARCHAR(255) NOT NULL,
+    contrasenya VARCHAR(255),
+    email       VARCHAR(255),
+    PRIMARY KEY (dni)
+) ENGINE = InnoDB;
+
+CREATE TABLE empleados
+(
+    dni             VARCHAR(255) NOT NULL,
+    anyos           FLOAT(53),
+    categoria       INTEGER,
+    estado_empleado BIT DEFAULT TRUE,
+    nombre          VARCHAR(255),
+    sexo            VARCHAR(255),
+    PRIMARY KEY (dni)
+) ENGINE = InnoDB;
+
+CREATE TABLE nominas
+(
+    id      BIGINT NOT NULL,
+    salario FLOAT(53),
+    dni     VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_nominas_dni UNIQUE (dni),
+    CONSTRAINT fk_nominas_empleados FOREIGN KEY (dni) REFERENCES empleados (dni)
+) ENGINE = InnoDB;
+
+INSERT INTO empleados (dni, anyos, categoria, estado_empleado, nombre, sexo)
+VALUES ('00000001A', 3, 2, TRUE, 'Ana', 'F'),
+       ('00000002A', 0, 1, TRUE, 'Luis', 'M'),
+       ('00000003A', 1, 1, FALSE, 'Eva', 'F'),
+       ('00000004B', NULL, NULL, TRUE, NULL, NULL);
+
+INSERT INTO nominas (id, salario, dni)
+VALUES (1, 85000, '00000001A'),
+       (51, 50000, '00000002A'),
+       (101, 55000, '00000003A'),
+       (151, 30000, '00000004B');
+
+INSERT INTO administradores (dni, contrasenya, email)
+VALUES ('00000000T', 'clave', 'admin@nominas.com');